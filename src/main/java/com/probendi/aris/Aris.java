@@ -1,11 +1,13 @@
 package com.probendi.aris;
 
+import com.probendi.aris.cache.ResultCache;
 import com.probendi.aris.exception.ArisException;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * {@code Aris} is a quantifier logic interpreter.
@@ -14,7 +16,27 @@ import java.nio.file.Path;
  */
 public class Aris {
 
-    private static final String USAGE = "Usage: java -jar aris-ql-1.0.jar file";
+    private static final String USAGE = "Usage: java [-Daris.parallelism=n] [-Daris.cache=file [-Daris.cache.capacity=n]] [-Daris.verbose=true] -jar aris-ql-1.0.jar file";
+
+    /**
+     * The system property which sets the number of workers of the parallel validations.
+     */
+    public static final String PARALLELISM = "aris.parallelism";
+
+    /**
+     * The system property which sets the file of the persistent cache of the validations and assertions.
+     */
+    public static final String CACHE = "aris.cache";
+
+    /**
+     * The system property which sets the maximum number of results of the persistent cache.
+     */
+    public static final String CACHE_CAPACITY = "aris.cache.capacity";
+
+    /**
+     * The system property which makes the validations print their statistics.
+     */
+    public static final String VERBOSE = "aris.verbose";
 
     /**
      * Runs {@code aris-ql}.
@@ -28,10 +50,24 @@ public class Aris {
         try (final Reader reader = Files.newBufferedReader(Path.of(args[0]))) {
             final LexicalAnalyzer lexer = new LexicalAnalyzer(reader);
             lexer.tokenize();
-            final Parser parser = new Parser();
-            parser.parse(lexer.getTokens());
+            final Integer parallelism = Integer.getInteger(PARALLELISM);
+            final ForkJoinPool pool = parallelism == null ? ForkJoinPool.commonPool() : new ForkJoinPool(parallelism);
+            final String cache = System.getProperty(CACHE);
+            if (cache == null) {
+                parse(new Parser(pool), lexer);
+            } else {
+                try (final ResultCache results = new ResultCache(Path.of(cache),
+                        Integer.getInteger(CACHE_CAPACITY, ResultCache.DEFAULT_CAPACITY))) {
+                    parse(new Parser(pool, results), lexer);
+                }
+            }
         } catch (final ArisException | IOException e) {
             e.printStackTrace();
         }
     }
+
+    private static void parse(final Parser parser, final LexicalAnalyzer lexer) throws ArisException {
+        parser.setVerbose(Boolean.getBoolean(VERBOSE));
+        parser.parse(lexer.getTokens());
+    }
 }
@@ -52,6 +52,7 @@ public class LexicalAnalyzer {
             "print", Print.class,
             "therefore", Therefore.class,
             "true", True.class,
+            "using", Using.class,
             "validate", Validate.class,
             "valuate", Valuate.class
     );
@@ -1,11 +1,20 @@
 package com.probendi.aris;
 
+import com.probendi.aris.cache.ResultCache;
 import com.probendi.aris.exception.ArisException;
 import com.probendi.aris.exception.ParserException;
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.exception.UndecidedException;
 import com.probendi.aris.exception.UnexpectedSymbolException;
 import com.probendi.aris.formula.Argument;
+import com.probendi.aris.formula.BddEncoder;
+import com.probendi.aris.formula.FormulaFactory;
 import com.probendi.aris.formula.KPredicate;
+import com.probendi.aris.formula.ModelFinder;
+import com.probendi.aris.formula.MonadicDecider;
 import com.probendi.aris.formula.Quantifier;
+import com.probendi.aris.formula.Strategy;
+import com.probendi.aris.formula.Tableau;
 import com.probendi.aris.formula.WellFormedFormula;
 import com.probendi.aris.token.*;
 
@@ -13,6 +22,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * {@code Parser} parses and interprets a list of tokens.
@@ -26,13 +36,66 @@ public class Parser {
     private final Map<KPredicate, Boolean> values = new HashMap<>();
     private final Map<String, Boolean> valuations = new HashMap<>();
     private final Map<String, Boolean> validations = new HashMap<>();
+    private final BddEncoder bdds = new BddEncoder();
+    private final FormulaFactory formulae = new FormulaFactory();
+    private final ForkJoinPool pool;
+    private final ResultCache cache;
+    private boolean verbose;
 
     private static final String ARGUMENT_INVALID = "argument \"%s\" is invalid\n";
     private static final String ARGUMENT_IS_NOT_TAUTOLOGY = "argument \"%s\" is not a tautology\n";
     private static final String ARGUMENT_IS_TAUTOLOGY = "argument \"%s\" is a tautology\n";
+    private static final String ARGUMENT_UNDECIDED = "argument \"%s\" is undecided\n";
     private static final String ARGUMENT_VALID = "argument \"%s\" is valid\n";
+    private static final String UNKNOWN_STRATEGY = "Unknown strategy '%s'";
     private static final String VALUATION = "argument \"%s\" is %b\n";
 
+    /**
+     * Creates a new parser, whose parallel validations run in the common fork-join pool.
+     */
+    public Parser() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new parser, whose parallel validations run in the given pool.
+     *
+     * @param pool the pool
+     * @throws IllegalArgumentException if pool is {@code null}
+     */
+    public Parser(final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        this.pool = pool;
+        this.cache = null;
+    }
+
+    /**
+     * Creates a new parser, whose parallel validations run in the given pool, and whose validations and assertions
+     * are looked up in the given cache before being computed.
+     *
+     * @param pool  the pool
+     * @param cache the cache
+     * @throws IllegalArgumentException if pool or cache is {@code null}
+     */
+    public Parser(final ForkJoinPool pool, final ResultCache cache) {
+        if (pool == null || cache == null) {
+            throw new IllegalArgumentException("pool and cache cannot be null");
+        }
+        this.pool = pool;
+        this.cache = cache;
+    }
+
+    /**
+     * Sets whether the statistics of the validations are printed after their results.
+     *
+     * @param verbose {@code true} if the statistics should be printed
+     */
+    public void setVerbose(final boolean verbose) {
+        this.verbose = verbose;
+    }
+
     /**
      * Parses and interprets the given queue.
      *
@@ -69,15 +132,17 @@ public class Parser {
                     final Identifier identifier = (Identifier) nextToken;
                     tokens.remove();
                     final Argument argument = new Argument();
+                    argument.setSymbols(formulae.getSymbols());
+                    argument.setPool(pool);
                     while (!tokens.isEmpty()) {
-                        final WellFormedFormula formula = WellFormedFormula.parse(tokens);
+                        final WellFormedFormula formula = WellFormedFormula.parse(tokens, formulae);
                         if (formula == null) {
                             final Token t = tokens.remove();
                             if (!(t instanceof RBracket) && argument.getConclusion() != null) {
                                 throw new UnexpectedSymbolException();
                             }
                             if (t instanceof Therefore) {
-                                argument.setConclusion(WellFormedFormula.parse(tokens));
+                                argument.setConclusion(WellFormedFormula.parse(tokens, formulae));
                             }
                         } else if (formula instanceof final Quantifier quantifier) {
                             quantifier.validate();
@@ -89,15 +154,21 @@ public class Parser {
                     arguments.put(identifier.getValue(), argument);
                 } else if (token instanceof Assert) {
                     final String id = nextToken.getValue();
-                    final boolean b = arguments.get(id).isTautology();
+                    final boolean b = isTautology(arguments.get(id));
                     assertions.put(id, b);
                     System.out.printf(b ?
                             ARGUMENT_IS_TAUTOLOGY : ARGUMENT_IS_NOT_TAUTOLOGY, arguments.get(id).getPremises().get(0));
                 } else if (token instanceof Validate) {
                     final String id = nextToken.getValue();
-                    final boolean b = arguments.get(id).isValid();
-                    validations.put(id, b);
-                    System.out.printf(b ? ARGUMENT_VALID : ARGUMENT_INVALID, arguments.get(id));
+                    final Argument argument = arguments.get(id);
+                    try {
+                        final boolean b = isValid(argument, parseStrategy(tokens));
+                        validations.put(id, b);
+                        System.out.printf(b ? ARGUMENT_VALID : ARGUMENT_INVALID, argument);
+                    } catch (final UndecidedException e) {
+                        // an undecided argument is neither recorded nor cached
+                        System.out.printf(ARGUMENT_UNDECIDED, argument);
+                    }
                 } else if (token instanceof Valuate) {
                     final String id = nextToken.getValue();
                     final boolean b = arguments.get(id).valuate(values); // FIXME
@@ -110,6 +181,99 @@ public class Parser {
         }
     }
 
+    // looks up the assertion of an argument in the cache, if any, before deciding it
+    private boolean isTautology(final Argument argument) {
+        if (cache == null) {
+            return argument.isTautology(bdds);
+        }
+        final ResultCache.Key key = ResultCache.key("assert " + argument.getFingerprint());
+        final Boolean cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final boolean b = argument.isTautology(bdds);
+        cache.put(key, b);
+        return b;
+    }
+
+    // looks up the validation of an argument in the cache, if any, before searching for a countervaluation
+    // the strategies do not agree on all the arguments, so the strategy is part of the key
+    private boolean isValid(final Argument argument, final Strategy strategy)
+            throws MissingSymbolException, UndecidedException {
+        if (cache == null) {
+            return decide(argument, strategy);
+        }
+        final ResultCache.Key key = ResultCache.key("validate " + strategy + " " + argument.getFingerprint());
+        final Boolean cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final boolean b = decide(argument, strategy);
+        cache.put(key, b);
+        return b;
+    }
+
+    // validates an argument, printing the statistics of the validation if requested
+    private boolean decide(final Argument argument, final Strategy strategy)
+            throws MissingSymbolException, UndecidedException {
+        try {
+            return argument.isValid(strategy);
+        } finally {
+            if (verbose) {
+                printStatistics(argument);
+            }
+        }
+    }
+
+    // prints the statistics of the last validation of an argument
+    private static void printStatistics(final Argument argument) {
+        if (argument.isDecidedBySimplification()) {
+            System.out.printf("simplified: %s\n", argument.simplify());
+        }
+        if (argument.isRevalidated()) {
+            System.out.printf("incremental: %d new premises, outcome kept\n", argument.getAddedPremises());
+        } else if (argument.getAddedPremises() >= 0) {
+            System.out.printf("incremental: %d new premises, %d learned clauses kept\n", argument.getAddedPremises(),
+                    argument.getKeptLearnts());
+        }
+        final Tableau tableau = argument.getTableau();
+        if (tableau != null) {
+            System.out.printf("tableau:    %d branches, %d nodes%s\n", tableau.getBranches(), tableau.getNodes(),
+                    tableau.isBounded() ? ", bounded" : "");
+        }
+        final MonadicDecider decider = argument.getMonadicDecider();
+        if (decider != null) {
+            System.out.printf("monadic:    %d predicates, %d types\n", decider.getPredicates().size(),
+                    Long.bitCount(decider.getCandidates()));
+        }
+        if (argument.getSharedSubformulae() >= 0) {
+            System.out.printf("shared:     %d subformulae, sharing ratio %.2f\n", argument.getSharedSubformulae(),
+                    argument.getSharingRatio());
+        }
+        final ModelFinder finder = argument.getModelFinder();
+        if (finder != null) {
+            if (finder.getSize() > 0) {
+                System.out.printf("countermodel: %d individuals\n", finder.getSize());
+            } else {
+                System.out.printf("countermodel: none up to %d individuals\n", finder.getMaxSize());
+            }
+        }
+    }
+
+    // parses the optional 'using strategy' clause of a statement
+    private Strategy parseStrategy(final Queue<Token> tokens) throws ParserException {
+        if (!(tokens.peek() instanceof Using)) {
+            return Argument.DEFAULT_STRATEGY;
+        }
+        tokens.remove();
+        final String name = tokens.remove().getValue();
+        try {
+            return Strategy.valueOf(name.toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            throw new ParserException(String.format(UNKNOWN_STRATEGY, name));
+        }
+    }
+
     /**
      * Returns the arguments.
      *
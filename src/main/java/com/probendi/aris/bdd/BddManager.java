@@ -0,0 +1,357 @@
+package com.probendi.aris.bdd;
+
+import java.util.Arrays;
+
+/**
+ * A manager of reduced ordered binary decision diagrams (BDDs).
+ * <p>
+ * A BDD is identified by the index of its root node, {@link #FALSE} and {@link #TRUE} being the two terminal nodes.
+ * The variables are ordered by their number, i.e., variable {@code 0} is tested first. The nodes are hash-consed in a
+ * unique table, hence two BDDs represent the same boolean function if and only if they are the same node, and the
+ * results of {@link #ite(int, int, int)} are cached in a computed table.
+ * <p>
+ * The nodes which are not reachable from a referenced node, see {@link #ref(int)}, are reclaimed by a mark and sweep
+ * garbage collector, which runs before an operation when the number of nodes exceeds a threshold.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class BddManager {
+
+    /**
+     * The constant false BDD.
+     */
+    public static final int FALSE = 0;
+    /**
+     * The constant true BDD.
+     */
+    public static final int TRUE = 1;
+
+    private static final int TERMINAL = Integer.MAX_VALUE;
+    private static final int FREE = -1;
+    private static final int CACHE_SIZE = 1 << 14;
+
+    // indexed by node
+    private int[] variables;
+    private int[] lows;
+    private int[] highs;
+    private int[] refs;
+    private int[] next;
+
+    private int[] buckets;
+    private int size = 2;
+    private int free = -1;
+    private int nodes = 2;
+    private int threshold;
+
+    private final int[] cacheF = new int[CACHE_SIZE];
+    private final int[] cacheG = new int[CACHE_SIZE];
+    private final int[] cacheH = new int[CACHE_SIZE];
+    private final int[] cacheR = new int[CACHE_SIZE];
+
+    private long collections;
+
+    /**
+     * Creates a new manager.
+     */
+    public BddManager() {
+        this(1 << 12);
+    }
+
+    /**
+     * Creates a new manager with the given initial capacity.
+     *
+     * @param capacity the number of nodes which can be allocated before the first garbage collection
+     * @throws IllegalArgumentException if capacity is less than 2
+     */
+    public BddManager(final int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity cannot be less than 2");
+        }
+        variables = new int[capacity];
+        lows = new int[capacity];
+        highs = new int[capacity];
+        refs = new int[capacity];
+        next = new int[capacity];
+        buckets = new int[Integer.highestOneBit(capacity - 1) << 1];
+        Arrays.fill(buckets, -1);
+        Arrays.fill(cacheF, -1);
+        threshold = capacity;
+        variables[FALSE] = variables[TRUE] = TERMINAL;
+        lows[TRUE] = highs[TRUE] = TRUE;
+    }
+
+    /**
+     * Returns the number of live nodes, including the terminal nodes.
+     *
+     * @return the number of nodes
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of garbage collections.
+     *
+     * @return the number of garbage collections
+     */
+    public long getCollections() {
+        return collections;
+    }
+
+    /**
+     * Returns the BDD of the given variable.
+     *
+     * @param variable the variable
+     * @return the BDD which is true if and only if the variable is true
+     * @throws IllegalArgumentException if variable is negative
+     */
+    public int variable(final int variable) {
+        if (variable < 0) {
+            throw new IllegalArgumentException("variable cannot be negative");
+        }
+        collect();
+        return make(variable, FALSE, TRUE);
+    }
+
+    /**
+     * Returns the variable tested by the root of the given BDD.
+     *
+     * @param f the BDD
+     * @return the variable, or {@code -1} if f is a terminal node
+     */
+    public int getVariable(final int f) {
+        return variables[f] == TERMINAL ? -1 : variables[f];
+    }
+
+    /**
+     * Returns the negation of the given BDD.
+     *
+     * @param f the BDD
+     * @return the negation
+     */
+    public int not(final int f) {
+        return ite(f, FALSE, TRUE);
+    }
+
+    /**
+     * Returns the conjunction of the given BDDs.
+     *
+     * @param f the first BDD
+     * @param g the second BDD
+     * @return the conjunction
+     */
+    public int and(final int f, final int g) {
+        return ite(f, g, FALSE);
+    }
+
+    /**
+     * Returns the disjunction of the given BDDs.
+     *
+     * @param f the first BDD
+     * @param g the second BDD
+     * @return the disjunction
+     */
+    public int or(final int f, final int g) {
+        return ite(f, TRUE, g);
+    }
+
+    /**
+     * Returns the material implication of the given BDDs.
+     *
+     * @param f the antecedent
+     * @param g the consequent
+     * @return the material implication
+     */
+    public int implies(final int f, final int g) {
+        return ite(f, g, TRUE);
+    }
+
+    /**
+     * Returns the if-then-else of the given BDDs, i.e., {@code (f ∧ g) ∨ (¬f ∧ h)}.
+     *
+     * @param f the condition
+     * @param g the BDD if f is true
+     * @param h the BDD if f is false
+     * @return the if-then-else
+     */
+    public int ite(final int f, final int g, final int h) {
+        ref(f);
+        ref(g);
+        ref(h);
+        collect();
+        deref(f);
+        deref(g);
+        deref(h);
+        return apply(f, g, h);
+    }
+
+    /**
+     * Protects the given BDD from garbage collection.
+     *
+     * @param f the BDD
+     * @return the BDD
+     */
+    public int ref(final int f) {
+        refs[f]++;
+        return f;
+    }
+
+    /**
+     * Releases the given BDD, which was protected by {@link #ref(int)}.
+     *
+     * @param f the BDD
+     * @throws IllegalStateException if f is not referenced
+     */
+    public void deref(final int f) {
+        if (refs[f] == 0) {
+            throw new IllegalStateException("node " + f + " is not referenced");
+        }
+        refs[f]--;
+    }
+
+    /**
+     * Reclaims the nodes which are not reachable from a referenced node.
+     */
+    public void gc() {
+        collections++;
+        final boolean[] marked = new boolean[size];
+        marked[FALSE] = marked[TRUE] = true;
+        final int[] stack = new int[size];
+        for (int i = 2; i < size; i++) {
+            if (refs[i] > 0 && !marked[i]) {
+                int top = 0;
+                stack[top++] = i;
+                marked[i] = true;
+                while (top > 0) {
+                    final int n = stack[--top];
+                    if (!marked[lows[n]]) {
+                        marked[lows[n]] = true;
+                        stack[top++] = lows[n];
+                    }
+                    if (!marked[highs[n]]) {
+                        marked[highs[n]] = true;
+                        stack[top++] = highs[n];
+                    }
+                }
+            }
+        }
+        Arrays.fill(buckets, -1);
+        free = -1;
+        nodes = 2;
+        for (int i = size - 1; i >= 2; i--) {
+            if (marked[i]) {
+                final int b = hash(variables[i], lows[i], highs[i]) & (buckets.length - 1);
+                next[i] = buckets[b];
+                buckets[b] = i;
+                nodes++;
+            } else {
+                variables[i] = FREE;
+                next[i] = free;
+                free = i;
+            }
+        }
+        Arrays.fill(cacheF, -1);
+    }
+
+    // collects the garbage if there are too many nodes, and raises the threshold if that did not help enough
+    private void collect() {
+        if (nodes >= threshold) {
+            gc();
+            if (nodes >= threshold / 2) {
+                threshold *= 2;
+            }
+        }
+    }
+
+    private int apply(final int f, final int g, final int h) {
+        if (f == TRUE) {
+            return g;
+        }
+        if (f == FALSE) {
+            return h;
+        }
+        if (g == h) {
+            return g;
+        }
+        if (g == TRUE && h == FALSE) {
+            return f;
+        }
+        final int c = (hash(f, g, h) & 0x7fffffff) % CACHE_SIZE;
+        if (cacheF[c] == f && cacheG[c] == g && cacheH[c] == h) {
+            return cacheR[c];
+        }
+        final int v = Math.min(variables[f], Math.min(variables[g], variables[h]));
+        final int t = apply(cofactor(f, v, true), cofactor(g, v, true), cofactor(h, v, true));
+        final int e = apply(cofactor(f, v, false), cofactor(g, v, false), cofactor(h, v, false));
+        final int r = make(v, e, t);
+        cacheF[c] = f;
+        cacheG[c] = g;
+        cacheH[c] = h;
+        cacheR[c] = r;
+        return r;
+    }
+
+    private int cofactor(final int f, final int v, final boolean value) {
+        if (variables[f] != v) {
+            return f;
+        }
+        return value ? highs[f] : lows[f];
+    }
+
+    // returns the unique node with the given variable and children
+    private int make(final int variable, final int low, final int high) {
+        if (low == high) {
+            return low;
+        }
+        final int b = hash(variable, low, high) & (buckets.length - 1);
+        for (int n = buckets[b]; n != -1; n = next[n]) {
+            if (variables[n] == variable && lows[n] == low && highs[n] == high) {
+                return n;
+            }
+        }
+        final int n;
+        if (free != -1) {
+            n = free;
+            free = next[n];
+        } else {
+            if (size == variables.length) {
+                grow();
+            }
+            n = size++;
+        }
+        variables[n] = variable;
+        lows[n] = low;
+        highs[n] = high;
+        refs[n] = 0;
+        final int bucket = hash(variable, low, high) & (buckets.length - 1);
+        next[n] = buckets[bucket];
+        buckets[bucket] = n;
+        nodes++;
+        return n;
+    }
+
+    private void grow() {
+        final int capacity = 2 * variables.length;
+        variables = Arrays.copyOf(variables, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        refs = Arrays.copyOf(refs, capacity);
+        next = Arrays.copyOf(next, capacity);
+        buckets = new int[2 * buckets.length];
+        Arrays.fill(buckets, -1);
+        for (int i = 2; i < size; i++) {
+            if (variables[i] != FREE) {
+                final int b = hash(variables[i], lows[i], highs[i]) & (buckets.length - 1);
+                next[i] = buckets[b];
+                buckets[b] = i;
+            }
+        }
+    }
+
+    private static int hash(final int a, final int b, final int c) {
+        int h = a * 0x9E3779B1;
+        h = (h ^ b) * 0x85EBCA6B;
+        h = (h ^ c) * 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
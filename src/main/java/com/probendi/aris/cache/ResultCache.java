@@ -0,0 +1,308 @@
+package com.probendi.aris.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A persistent cache of results, e.g., of validations and assertions, which survives from one run to the next.
+ * <p>
+ * The results are stored in a memory-mapped file of fixed size, as a table of slots of {@value #SLOT} bytes each. A
+ * slot holds the 128-bit key of a result, the tick of its last access and the result. The size of the file is capped
+ * by the capacity of the cache: once all the slots are in use, a new result evicts the least recently used one. The
+ * ticks are stored with the results, so the order of the evictions is preserved across runs. The cache is
+ * thread-safe, and the file is locked while the cache is open, so the processes which share it open it in turn.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class ResultCache implements Closeable {
+
+    /**
+     * The default number of results.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The maximum number of results, which caps the file to 32 MiB.
+     */
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    /**
+     * The size of a slot in bytes.
+     */
+    public static final int SLOT = 32;
+
+    private static final int MAGIC = 0x41524953; // ARIS
+    private static final int VERSION = 1;
+    private static final int HEADER = 32;
+
+    // the offsets of the fields of a slot
+    private static final int HIGH = 0;
+    private static final int LOW = 8;
+    private static final int TICK = 16;
+    private static final int RESULT = 24;
+
+    // the values of the result of a slot
+    private static final byte EMPTY = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    // the slots of the keys, from the least recently used one
+    private final LinkedHashMap<Key, Integer> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private long clock;
+    private int hits;
+    private int misses;
+
+    /**
+     * Opens the cache stored in the given file with the default capacity.
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be opened
+     */
+    public ResultCache(final Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Opens the cache stored in the given file, creating it if it does not exist, and waiting until no other process
+     * has it open. If the file is not a cache with the given capacity, its results are discarded, and the file is
+     * resized to the capacity.
+     *
+     * @param file     the file
+     * @param capacity the maximum number of results
+     * @throws IllegalArgumentException if file is {@code null}, or capacity is not between {@code 1} and
+     *                                  {@link #MAX_CAPACITY}
+     * @throws IOException              if the file cannot be opened
+     */
+    public ResultCache(final Path file, final int capacity) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            // another process assigning the slots of the same file would overwrite the results of this one
+            this.lock = channel.lock();
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        final long size = HEADER + (long) capacity * SLOT;
+        final boolean compatible = channel.size() == size;
+        if (!compatible) {
+            // a larger file would never be compatible again, and its results would be discarded at every opening
+            channel.truncate(size);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (compatible && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION && buffer.getInt(8) == capacity) {
+            load();
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * Returns the key of the given text, i.e., the first 128 bits of its SHA-256 digest.
+     *
+     * @param text the text, e.g., the canonical form of an argument
+     * @return the key
+     * @throws IllegalArgumentException if text is {@code null}
+     */
+    public static Key key(final String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("text cannot be null");
+        }
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = high << 8 | (digest[i] & 0xff);
+                low = low << 8 | (digest[i + 8] & 0xff);
+            }
+            return new Key(high, low);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // this should never happen
+        }
+    }
+
+    /**
+     * Returns the result of the given key.
+     *
+     * @param key the key
+     * @return the result, or {@code null} if the cache has no result for the key
+     * @throws IllegalArgumentException if key is {@code null}
+     */
+    public synchronized Boolean get(final Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        final Integer slot = slots.get(key);
+        if (slot == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        touch(slot);
+        return buffer.get(offset(slot) + RESULT) == TRUE;
+    }
+
+    /**
+     * Puts the result of the given key, evicting the least recently used result if the cache is full.
+     *
+     * @param key    the key
+     * @param result the result
+     * @throws IllegalArgumentException if key is {@code null}
+     */
+    public synchronized void put(final Key key, final boolean result) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            if (slots.size() < capacity) {
+                slot = slots.size();
+            } else {
+                final Iterator<Integer> eldest = slots.values().iterator();
+                slot = eldest.next();
+                eldest.remove();
+            }
+            slots.put(key, slot);
+            buffer.putLong(offset(slot) + HIGH, key.high());
+            buffer.putLong(offset(slot) + LOW, key.low());
+        }
+        buffer.put(offset(slot) + RESULT, result ? TRUE : FALSE);
+        touch(slot);
+    }
+
+    /**
+     * Removes all the results.
+     */
+    public synchronized void clear() {
+        final byte[] zeros = new byte[SLOT * 1024];
+        final int size = HEADER + capacity * SLOT;
+        for (int i = 0; i < size; i += zeros.length) {
+            buffer.put(i, zeros, 0, Math.min(zeros.length, size - i));
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, capacity);
+        slots.clear();
+        clock = 0;
+    }
+
+    /**
+     * Returns the number of results.
+     *
+     * @return the number of results
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Returns the maximum number of results.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of lookups which found a result since the cache was opened.
+     *
+     * @return the number of hits
+     */
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups which found no result since the cache was opened.
+     *
+     * @return the number of misses
+     */
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Writes the results to the file and closes it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        lock.release();
+        channel.close();
+    }
+
+    // reads the slots in use, from the least recently used one
+    private void load() {
+        final List<Integer> used = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (buffer.get(offset(slot) + RESULT) != EMPTY) {
+                used.add(slot);
+            }
+        }
+        used.sort(Comparator.comparingLong(slot -> buffer.getLong(offset(slot) + TICK)));
+        for (final int slot : used) {
+            slots.put(new Key(buffer.getLong(offset(slot) + HIGH), buffer.getLong(offset(slot) + LOW)), slot);
+            clock = Math.max(clock, buffer.getLong(offset(slot) + TICK));
+        }
+        // the slots in use must be the first ones, so that a new result takes the next slot
+        if (!used.isEmpty() && used.size() != used.stream().mapToInt(Integer::intValue).max().getAsInt() + 1) {
+            compact();
+        }
+    }
+
+    // moves the slots in use to the beginning of the table, preserving their order
+    private void compact() {
+        final Map<Key, Boolean> results = new LinkedHashMap<>();
+        for (final Map.Entry<Key, Integer> entry : slots.entrySet()) {
+            results.put(entry.getKey(), buffer.get(offset(entry.getValue()) + RESULT) == TRUE);
+        }
+        clear();
+        results.forEach(this::put);
+    }
+
+    private void touch(final int slot) {
+        buffer.putLong(offset(slot) + TICK, ++clock);
+    }
+
+    private static int offset(final int slot) {
+        return HEADER + slot * SLOT;
+    }
+
+    /**
+     * The 128-bit key of a result.
+     *
+     * @param high the upper 64 bits
+     * @param low  the lower 64 bits
+     */
+    public record Key(long high, long low) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.probendi.aris.exception;
+
+/**
+ * An {@code UndecidedException} is thrown when a strategy can neither prove nor refute the validity of an argument,
+ * e.g., because its search was bounded.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+@SuppressWarnings("unused")
+public class UndecidedException extends ArisException {
+
+    /**
+     * Creates a new UndecidedException.
+     */
+    public UndecidedException() {
+        super();
+    }
+
+    /**
+     * Creates a new UndecidedException with the given message.
+     *
+     * @param message the message
+     */
+    public UndecidedException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a new UndecidedException with the given message and cause.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public UndecidedException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Creates a new UndecidedException with the given cause.
+     *
+     * @param cause the cause
+     */
+    public UndecidedException(final Throwable cause) {
+        super(cause);
+    }
+}
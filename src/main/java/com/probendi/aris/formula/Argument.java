@@ -1,8 +1,15 @@
 package com.probendi.aris.formula;
 
 import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.exception.UndecidedException;
+import com.probendi.aris.sat.Solver;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A quantifier logic argument.
@@ -11,8 +18,53 @@ import java.util.*;
  */
 public class Argument implements WellFormedFormula {
 
+    /**
+     * The strategy used by {@link #isValid()}.
+     */
+    public static final Strategy DEFAULT_STRATEGY = Strategy.BIT_PARALLEL;
+
+    // the number of words below which the parallel search does not split the work
+    private static final long GRAIN = 256;
+
+    // the truth-values of the first six predicates across the 64 valuations of a word
+    private static final long[] LANES = {
+            0xAAAAAAAAAAAAAAAAL,
+            0xCCCCCCCCCCCCCCCCL,
+            0xF0F0F0F0F0F0F0F0L,
+            0xFF00FF00FF00FF00L,
+            0xFFFF0000FFFF0000L,
+            0xFFFFFFFF00000000L
+    };
+
     final private List<WellFormedFormula> premises = new LinkedList<>();
     private WellFormedFormula conclusion;
+    private SymbolTable symbols;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    // the negation of the conclusion followed by the premises, compiled on demand
+    private CommonSubexpressions programs;
+    // the simplified argument, which is validated in place of this one
+    private Argument simplified;
+    // the validation with each strategy, which the premises added afterwards revalidate
+    private final Map<Strategy, Validation> validations = new EnumMap<>(Strategy.class);
+    // the countervaluation, or the countermodel, found by the last validation of this argument, if any
+    private Map<KPredicate, Boolean> countervaluation;
+    private Interpretation countermodel;
+    // the engines used by the last validation of this argument, if any
+    private Tableau tableau;
+    private ModelFinder finder;
+    private MonadicDecider decider;
+    // the argument decided by the last validation of this one, i.e., its simplification, if it was not trivial
+    private Argument decided;
+    // true if the last validation of this argument was decided by the constants of its simplification
+    private boolean trivial;
+    // the premises added since the validation which the last one built on, or -1, and whether its outcome was kept
+    private int added = -1;
+    private boolean revalidated;
+    private int learnts;
+    // the number of reorderings of the formulae by the planners of the last search for a countervaluation
+    private int reorders;
+    // the signature of the premises and the conclusion, collected on demand
+    private Signature signature;
 
     /**
      * Creates a new argument.
@@ -66,10 +118,79 @@ public class Argument implements WellFormedFormula {
             throw new IllegalArgumentException("conclusion cannot be null");
         }
         this.conclusion = conclusion;
+        programs = null;
+        simplified = null;
+        signature = null;
+        validations.clear();
+    }
+
+    /**
+     * Returns the signature of this argument, i.e., of its premises and its conclusion. The signature is collected
+     * once, and reused until the argument changes.
+     *
+     * @return the signature
+     */
+    public Signature getSignature() {
+        if (signature == null) {
+            final List<WellFormedFormula> formulae = new ArrayList<>(premises);
+            if (conclusion != null) {
+                formulae.add(conclusion);
+            }
+            signature = Signature.of(formulae);
+        }
+        return signature;
+    }
+
+    /**
+     * Returns the symbol table of this argument.
+     *
+     * @return the symbol table, or {@code null} if the argument has none yet
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Sets the symbol table of this argument, e.g., the table shared by all the arguments of a program.
+     *
+     * @param symbols the symbol table
+     * @throws IllegalArgumentException if symbols is {@code null}
+     */
+    public void setSymbols(final SymbolTable symbols) {
+        if (symbols == null) {
+            throw new IllegalArgumentException("symbols cannot be null");
+        }
+        this.symbols = symbols;
+        programs = null;
+        simplified = null;
+        validations.clear();
+    }
+
+    /**
+     * Returns the pool used by the {@link Strategy#PARALLEL} strategy.
+     *
+     * @return the pool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets the pool used by the {@link Strategy#PARALLEL} strategy, e.g., a pool with a given parallelism.
+     *
+     * @param pool the pool
+     * @throws IllegalArgumentException if pool is {@code null}
+     */
+    public void setPool(final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        this.pool = pool;
     }
 
     /**
-     * Adds the given premise to this argument.
+     * Adds the given premise to this argument. The validations of this argument are kept, so that the next ones only
+     * check the added premises against their outcome, whenever possible.
      *
      * @param premise the premise to be added
      */
@@ -78,15 +199,41 @@ public class Argument implements WellFormedFormula {
             throw new IllegalArgumentException("premise cannot be null");
         }
         premises.add(premise);
+        programs = null;
+        simplified = null;
+        signature = null;
     }
 
     /**
-     * Returns {@code true} if this argument is a tautology.
+     * Returns {@code true} if this argument is a tautology, i.e., if the conjunction of the premises implies the
+     * conclusion under all the valuations, or, if there is no conclusion, if the conjunction of the premises is true
+     * under all the valuations.
      *
      * @return {@code true} if the given well-formed formula is a tautology
      */
     public boolean isTautology() {
-        throw new UnsupportedOperationException(); // todo implement me
+        return isTautology(new BddEncoder());
+    }
+
+    /**
+     * Returns {@code true} if this argument is a tautology, deciding it with the binary decision diagrams of the given
+     * encoder, which can be shared among related arguments.
+     *
+     * @param encoder the encoder
+     * @return {@code true} if the given well-formed formula is a tautology
+     * @throws IllegalArgumentException if encoder is {@code null}
+     */
+    public boolean isTautology(final BddEncoder encoder) {
+        if (encoder == null) {
+            throw new IllegalArgumentException("encoder cannot be null");
+        }
+        final Argument argument = simplify();
+        final Boolean trivial = argument.decideTrivially();
+        if (trivial != null) {
+            return trivial;
+        }
+        final Argument reduced = argument.withoutConstants();
+        return encoder.entails(reduced.premises, reduced.conclusion);
     }
 
     /**
@@ -95,8 +242,304 @@ public class Argument implements WellFormedFormula {
      *
      * @return {@code true} if this argument is valid
      * @throws MissingSymbolException if a symbol is not found in the values lookup table
+     * @throws UndecidedException     if the strategy can neither prove nor refute the validity of this argument
+     */
+    public boolean isValid() throws MissingSymbolException, UndecidedException {
+        return isValid(DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Returns {@code true} if this argument is valid, searching for a countervaluation with the given strategy.
+     *
+     * @param strategy the strategy
+     * @return {@code true} if this argument is valid
+     * @throws IllegalArgumentException if strategy is {@code null}
+     * @throws MissingSymbolException   if a symbol is not found in the values lookup table
+     * @throws UndecidedException       if the strategy can neither prove nor refute the validity of this argument
+     */
+    public boolean isValid(final Strategy strategy) throws MissingSymbolException, UndecidedException {
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy cannot be null");
+        }
+        if (symbols == null) {
+            symbols = new SymbolTable();
+        }
+        decided = null;
+        trivial = false;
+        added = -1;
+        revalidated = false;
+        learnts = 0;
+        final Argument argument = simplify();
+        final boolean usual = switch (strategy) {
+            case SAT, BDD -> !argument.hasQuantifiers();
+            case TABLEAU, COUNTERMODEL, MONADIC -> true;
+            case TRUTH_TABLE, BIT_PARALLEL, PARALLEL, INCREMENTAL -> false;
+        };
+        if (usual) {
+            final Boolean trivial = argument.decideTrivially();
+            if (trivial != null) {
+                this.trivial = true;
+                return trivial;
+            }
+            final Validation validation = validation(strategy, true, null);
+            final Boolean known = revalidate(validation, argument.premises);
+            if (known != null) {
+                return known;
+            }
+            if (strategy == Strategy.SAT) {
+                if (validation.getPremises() >= 0) {
+                    added = premises.size() - validation.getPremises();
+                    learnts = validation.getLearnts();
+                }
+                return validation.solve(argument.premises, argument.conclusion);
+            }
+            return decide(validation, argument.withoutConstants(), strategy);
+        }
+        // the truth tables ignore the quantifiers, and draw the domain from the shape of the quantified formulae, which
+        // the simplification changes, so a quantified argument is validated with its original formulae
+        final Argument quirky = hasQuantifiers() ? this : argument;
+        // a countervaluation makes all the formulae false, so a formula which is always true rules them all out
+        if (quirky.conclusion == Constant.FALSE || quirky.premises.contains(Constant.TRUE)) {
+            trivial = true;
+            return true;
+        }
+        final Argument decided = quirky == this ? this : argument.withOriginals(this);
+        final Validation validation = validation(strategy, false, decided.domain().names());
+        final Boolean known = revalidate(validation, decided.premises);
+        if (known != null) {
+            return known;
+        }
+        return decide(validation, decided, strategy);
+    }
+
+    // the validation of this argument with the given strategy, if it still holds, or a new one
+    private Validation validation(final Strategy strategy, final boolean usual, final Set<String> domain) {
+        Validation validation = validations.get(strategy);
+        if (validation == null || !validation.isFor(usual, domain, premises.size())) {
+            validation = new Validation(usual, domain);
+            validations.put(strategy, validation);
+        }
+        return validation;
+    }
+
+    private Boolean revalidate(final Validation validation, final List<WellFormedFormula> premises) {
+        final int validated = validation.getPremises();
+        final Boolean known = validation.revalidate(premises);
+        if (known != null) {
+            added = premises.size() - validated;
+            revalidated = true;
+        }
+        return known;
+    }
+
+    // decides the given simplified argument from scratch, and records the outcome
+    private boolean decide(final Validation validation, final Argument argument, final Strategy strategy)
+            throws MissingSymbolException, UndecidedException {
+        argument.countervaluation = null;
+        argument.countermodel = null;
+        argument.tableau = null;
+        argument.finder = null;
+        argument.decider = null;
+        argument.reorders = 0;
+        decided = argument;
+        final boolean valid = argument.decide(strategy);
+        validation.record(valid, premises.size(), argument.countervaluation, argument.countermodel);
+        return valid;
+    }
+
+    /**
+     * Returns the tableau built by the last validation of this argument, e.g., to report its branches and nodes.
+     *
+     * @return the tableau, or {@code null} if the last validation built none
+     */
+    public Tableau getTableau() {
+        return decided == null ? null : decided.tableau;
+    }
+
+    /**
+     * Returns {@code true} if the last validation of this argument was decided by the constants of its simplification,
+     * without searching for a countervaluation.
+     *
+     * @return {@code true} if the last validation was decided by the simplification
+     */
+    public boolean isDecidedBySimplification() {
+        return trivial;
+    }
+
+    /**
+     * Returns {@code true} if the last validation of this argument kept the outcome of the previous one, since the
+     * premises added since, if any, did not change it.
+     *
+     * @return {@code true} if the last validation was decided by the previous one
+     */
+    public boolean isRevalidated() {
+        return revalidated;
+    }
+
+    /**
+     * Returns the number of premises added since the validation which the last validation of this argument built on,
+     * either by keeping its outcome or by keeping the clauses of its solver.
+     *
+     * @return the number of added premises, or {@code -1} if the last validation started from scratch
+     */
+    public int getAddedPremises() {
+        return added;
+    }
+
+    /**
+     * Returns the number of learned clauses which the solver of the last validation of this argument kept from the
+     * previous one.
+     *
+     * @return the number of kept learned clauses
+     */
+    public int getKeptLearnts() {
+        return learnts;
+    }
+
+    /**
+     * Returns the model finder used by the last validation of this argument, e.g., to report the size of the
+     * countermodel it found, or up to which size it searched in vain.
+     *
+     * @return the model finder, or {@code null} if the last validation used none
+     */
+    public ModelFinder getModelFinder() {
+        return decided == null ? null : decided.finder;
+    }
+
+    /**
+     * Returns the number of subformulae shared among the formulae compiled by the last validation of this argument,
+     * which evaluates each of them once per valuation.
+     *
+     * @return the number of shared subformulae, or {@code -1} if the last validation compiled no formulae
+     */
+    public int getSharedSubformulae() {
+        return decided == null || decided.programs == null ? -1 : decided.programs.getShared().length;
+    }
+
+    /**
+     * Returns the fraction of the instructions of the formulae compiled by the last validation of this argument which
+     * is saved by evaluating their shared subformulae once.
+     *
+     * @return the sharing ratio, or {@code 0} if the last validation compiled no formulae
+     */
+    public double getSharingRatio() {
+        return decided == null || decided.programs == null ? 0 : decided.programs.getSharingRatio();
+    }
+
+    /**
+     * Returns the monadic decider used by the last validation of this argument, e.g., to report its predicates and
+     * the types of individuals it considered.
+     *
+     * @return the monadic decider, or {@code null} if the last validation used none
+     */
+    public MonadicDecider getMonadicDecider() {
+        return decided == null ? null : decided.decider;
+    }
+
+    /**
+     * Returns the simplification of this argument, whose premises and conclusion are simplified by a
+     * {@link Simplifier}, so each of them is either a constant or a formula in negation normal form without
+     * constants. The simplification is computed once, and reused until the argument changes.
+     *
+     * @return the simplified argument
+     */
+    public Argument simplify() {
+        if (simplified == null) {
+            final Simplifier simplifier = new Simplifier();
+            final Argument argument = new Argument();
+            for (final WellFormedFormula premise : premises) {
+                argument.premises.add(simplifier.simplify(premise));
+            }
+            if (conclusion != null) {
+                argument.conclusion = simplifier.simplify(conclusion);
+            }
+            argument.symbols = symbols;
+            simplified = argument;
+        }
+        simplified.pool = pool;
+        return simplified;
+    }
+
+    // the validity of a simplified argument which is decided by its constants, or null
+    private Boolean decideTrivially() {
+        if (conclusion == null) {
+            return premises.contains(Constant.FALSE) ? Boolean.FALSE :
+                    premises.stream().allMatch(Constant.TRUE::equals) ? Boolean.TRUE : null;
+        }
+        if (premises.contains(Constant.FALSE) || conclusion == Constant.TRUE) {
+            return true;
+        }
+        return conclusion == Constant.FALSE && premises.stream().allMatch(Constant.TRUE::equals) ? false : null;
+    }
+
+    /*
+     * Returns a simplified argument, which is not decided by its constants, without its constants: the premises which
+     * are always true are dropped, and a conclusion which is always false is replaced by the negation of a premise,
+     * which the premises entail if and only if they are inconsistent.
      */
-    public boolean isValid() throws MissingSymbolException {
+    private Argument withoutConstants() {
+        if (!hasConstants()) {
+            return this;
+        }
+        final Argument argument = derive();
+        for (final WellFormedFormula premise : premises) {
+            if (premise != Constant.TRUE) {
+                argument.premises.add(premise);
+            }
+        }
+        argument.conclusion = conclusion != Constant.FALSE ? conclusion :
+                new Simplifier().simplify(new Negation(argument.premises.get(0)));
+        return argument;
+    }
+
+    // a simplified argument whose constants are replaced by the original formulae, which the valuations can evaluate
+    private Argument withOriginals(final Argument original) {
+        if (!hasConstants()) {
+            return this;
+        }
+        final Argument argument = derive();
+        final Iterator<WellFormedFormula> originals = original.premises.iterator();
+        for (final WellFormedFormula premise : premises) {
+            final WellFormedFormula wff = originals.next();
+            argument.premises.add(premise instanceof Constant ? wff : premise);
+        }
+        argument.conclusion = conclusion instanceof Constant ? original.conclusion : conclusion;
+        return argument;
+    }
+
+    private boolean hasConstants() {
+        return conclusion instanceof Constant || premises.stream().anyMatch(Constant.class::isInstance);
+    }
+
+    private Argument derive() {
+        final Argument argument = new Argument();
+        argument.symbols = symbols;
+        argument.pool = pool;
+        return argument;
+    }
+
+    // searches for a countervaluation of this argument, which has no constants
+    private boolean decide(final Strategy strategy) throws MissingSymbolException, UndecidedException {
+        if (strategy == Strategy.SAT && !hasQuantifiers()) {
+            return isValidSat();
+        }
+        if (strategy == Strategy.BDD && !hasQuantifiers()) {
+            return isTautology();
+        }
+        if (strategy == Strategy.TABLEAU) {
+            return isValidTableau();
+        }
+        // the signature rules out the arguments which are not monadic without walking their formulae again
+        if (strategy == Strategy.MONADIC && getSignature().predicates().values().stream().allMatch(n -> n == 1)) {
+            final MonadicDecider decider = new MonadicDecider(pool);
+            if (decider.isDecidable(premises, conclusion)) {
+                this.decider = decider;
+                return !decider.findCountermodel(premises, conclusion);
+            }
+        }
+        if (strategy == Strategy.COUNTERMODEL || strategy == Strategy.MONADIC) {
+            return isValidCountermodel();
+        }
         final List<WellFormedFormula> formulae = new LinkedList<>();
         if (conclusion instanceof ExistentialQuantifier) {
             final Quantifier q = (ExistentialQuantifier) conclusion;
@@ -107,75 +550,94 @@ public class Argument implements WellFormedFormula {
         formulae.addAll(premises);
 
         // determine the domain
-        final Set<String> dummyNames = new HashSet<>();
-        final Set<String> properNames = new HashSet<>();
-        final Set<String> unknowns = new HashSet<>();
-
-        int j = 0;
-        final String s = this.toString();
-        for (int i = 0; i < s.length(); i++) {
-            final char c = s.charAt(i);
-            if (c >= 'm' && c <= 'w') {
-                properNames.add(String.valueOf(c));
-            } else if (c == '∃') {
-                final char c2 = s.charAt(i + 2);
-                if (c2 >= 'A' && c2 <= 'Z' || c2 == '∃' || c2 == '∀') {
-                    dummyNames.add(String.valueOf((char) ('a' + j++)));
-                }
-            } else if (c == '∀') {
-                unknowns.add(String.valueOf(s.charAt(++i)));
-            }
+        final Domain d = domain();
+        System.out.printf("domain:     %s\n", d.properNames());
+        System.out.printf("dummyNames: %s\n", d.dummyNames());
+        System.out.printf("unknowns:   %s\n", d.unknowns());
+
+        final Set<String> domain = d.names();
+        if (symbols == null) {
+            symbols = new SymbolTable();
         }
+        domain.forEach(symbols::addName);
 
-        // add as many names to the domain as the number of unknowns
-        if (properNames.isEmpty()) {
-            for (int i = 0; i < unknowns.size(); i++) {
-                properNames.add(String.valueOf((char) ('m' + i)));
+        // the predicates do not depend on the name, so they are extracted once
+        final Set<KPredicate> vars = new HashSet<>();
+        final Set<Condition> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final WellFormedFormula wff : formulae) {
+            for (final Condition condition : wff.determineTruthnessConditions()) {
+                collectPredicates(condition, vars, visited);
             }
         }
 
-        System.out.printf("domain:     %s\n", properNames);
-        System.out.printf("dummyNames: %s\n", dummyNames);
-        System.out.printf("unknowns:   %s\n", unknowns);
-
-        final Set<String> domain = new HashSet<>(properNames);
-        domain.addAll(dummyNames);
-
-        // iterate over the domain
-        for (final String name : domain) {
+        // iterate over the domain, in alphabetical order
+        final List<String> names = new ArrayList<>(new TreeSet<>(domain));
+        if (strategy != Strategy.INCREMENTAL) {
+            compile();
+        }
+        if (strategy == Strategy.PARALLEL && names.size() > 1) {
+            names.forEach(name -> System.out.printf("name: %s\n", name));
+            return !findCountervaluations(vars, names);
+        }
+        for (final String name : names) {
             System.out.printf("name: %s\n", name);
-            final Set<KPredicate> vars = new HashSet<>();
-            for (final WellFormedFormula wff : formulae) {
-                for (final Condition condition : wff.determineTruthnessConditions()) {
-                    for (final Condition atomicCondition : getAtomicConditions(condition)) {
-                        vars.add(((AtomicCondition) atomicCondition).getPredicate());
-                    }
-                }
-            }
-
-            // iterate over all possible input variables configurations
-            for (final Map<KPredicate, Boolean> values : generateTruthTable(vars, name)) {
-                System.out.printf("values: %s\n", values);
-                boolean valid = true;
-                for (final WellFormedFormula wff : formulae) {
-                    // if one formula is false, then move on to the next input variables configuration
-                    final boolean b = wff.valuate(values);
-                    System.out.printf("%s: %s\n", wff, b);
-                    if (b) {
-                        valid = false;
-                        break;
-                    }
-                }
-                // an input variables configuration which makes the premises and the negated conclusion all true was found
-                if (valid) {
-                    return false;
-                }
+            final boolean found = switch (strategy) {
+                case TRUTH_TABLE -> findCountervaluation(vars, name);
+                case BIT_PARALLEL, SAT, BDD, TABLEAU, COUNTERMODEL, MONADIC ->
+                        findCountervaluation64(vars, name, false, new AtomicBoolean());
+                case PARALLEL -> findCountervaluation64(vars, name, true, new AtomicBoolean());
+                case INCREMENTAL -> findCountervaluationIncrementally(formulae, vars, name);
+            };
+            if (found) {
+                return false;
             }
         }
         // no configuration was found, hence the argument is valid
         return true;
     }
 
+    /**
+     * Returns the canonical form of this argument, which is the same for all the arguments that differ only in the
+     * order of their premises, in the letters of their variables, and in the order of the operands of their
+     * conjunctions and disjunctions.
+     * <p>
+     * The variables are not renamed formula by formula, as by {@link Canonicalizer}, since the validation shares the
+     * atoms of a variable among all the formulae of an argument. Instead, the premises are sorted by their
+     * fingerprints, once their variables are renamed in order of appearance. Then, the letters of the variables are
+     * renamed to {@code x}, {@code y} and {@code z}, in order of appearance in the conclusion and in the sorted
+     * premises. The primes of a variable are kept, since the validation tells apart the variables by their letters.
+     *
+     * @return the canonical form
+     */
+    public String toCanonicalString() {
+        final List<Canonicalizer.Canonical> formulae = canonicalize();
+        final StringBuilder sb = new StringBuilder();
+        for (final Canonicalizer.Canonical premise : formulae.subList(0, premises.size())) {
+            sb.append(premise.wff()).append(", ");
+        }
+        sb.append("∴");
+        if (conclusion != null) {
+            sb.append(' ').append(formulae.get(premises.size()).wff());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the fingerprint of the canonical form of this argument, e.g., to look up its validation in a cache.
+     *
+     * @return the fingerprint
+     * @see #toCanonicalString()
+     */
+    public Fingerprint getFingerprint() {
+        final List<Fingerprint> fingerprints = new ArrayList<>();
+        // the shape of the argument, so that a conclusion is not taken for a premise
+        fingerprints.add(new Fingerprint(premises.size(), conclusion == null ? 0 : 1));
+        for (final Canonicalizer.Canonical wff : canonicalize()) {
+            fingerprints.add(wff.fingerprint());
+        }
+        return Canonicalizer.combine(fingerprints);
+    }
+
     @Override
     public List<Condition> determineFalsehoodConditions() {
         throw new UnsupportedOperationException(); // todo: implement me
@@ -186,9 +648,107 @@ public class Argument implements WellFormedFormula {
         throw new UnsupportedOperationException(); // todo: implement me
     }
 
+    /**
+     * Valuates this argument, i.e., returns {@code false} if the given valuation makes the premises true and the
+     * conclusion false. The formulae are compiled once, and the compiled programs are reused by the following
+     * valuations and validations, until the argument changes.
+     *
+     * @param values a map containing the symbols' truth-values
+     * @return {@code false} if the valuation is a countervaluation
+     * @throws IllegalArgumentException if values is {@code null}
+     * @throws MissingSymbolException   if a symbol has no value
+     */
     @Override
     public boolean valuate(final Map<KPredicate, Boolean> values) throws MissingSymbolException {
-        throw new UnsupportedOperationException(); // todo implement me
+        if (values == null) {
+            throw new IllegalArgumentException("values cannot be null");
+        }
+        final CommonSubexpressions compiled = compile();
+        final boolean[] v = new boolean[compiled.getSize()];
+        for (final int atom : compiled.getAtoms()) {
+            final KPredicate k = symbols.getAtom(atom);
+            final Boolean b = values.get(k);
+            if (b == null) {
+                throw new MissingSymbolException(k.toString());
+            }
+            v[atom] = b;
+        }
+        final boolean[] stack = new boolean[compiled.getDepth()];
+        compiled.evaluate(v, stack);
+        for (final Program program : compiled.getPrograms()) {
+            if (!program.evaluate(v, stack)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Valuates this argument under the given q-valuation, with the usual semantics of the quantifiers.
+     *
+     * @param interpretation the q-valuation
+     * @param assignment     the individuals assigned to the free variables
+     * @return {@code false} if the q-valuation makes the premises true and the conclusion false
+     * @throws IllegalArgumentException if interpretation or assignment is {@code null}
+     * @throws MissingSymbolException   if a predicate has no extension or a term denotes no individual
+     */
+    @Override
+    public boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        if (interpretation == null || assignment == null) {
+            throw new IllegalArgumentException("interpretation and assignment cannot be null");
+        }
+        for (final WellFormedFormula premise : premises) {
+            if (!premise.valuate(interpretation, assignment)) {
+                return true;
+            }
+        }
+        return conclusion != null && conclusion.valuate(interpretation, assignment);
+    }
+
+    /**
+     * Valuates this argument under 64 valuations at once, i.e., clears the bits of the valuations which make the
+     * premises true and the conclusion false.
+     *
+     * @param index the index of each predicate's word
+     * @param words the predicates' truth-values, a word each and a bit per valuation
+     * @return a bit per valuation, cleared if the valuation is a countervaluation
+     * @throws IllegalArgumentException if index or words is {@code null}
+     * @throws MissingSymbolException   if a predicate has no word
+     */
+    @Override
+    public long valuate(final Map<KPredicate, Integer> index, final long[] words) throws MissingSymbolException {
+        if (index == null || words == null) {
+            throw new IllegalArgumentException("index and words cannot be null");
+        }
+        long countervaluations = conclusion == null ? -1L : ~conclusion.valuate(index, words);
+        for (final WellFormedFormula premise : premises) {
+            countervaluations &= premise.valuate(index, words);
+        }
+        return ~countervaluations;
+    }
+
+    /**
+     * Valuates this argument under the given valuation, whose truth-values are indexed by the ids of the atoms of the
+     * given symbol table.
+     *
+     * @param symbols the symbol table
+     * @param values  the truth-value of each atom
+     * @return {@code false} if the valuation makes the premises true and the conclusion false
+     * @throws IllegalArgumentException if symbols or values is {@code null}
+     * @throws MissingSymbolException   if a predicate has no atom, or no value
+     */
+    @Override
+    public boolean valuate(final SymbolTable symbols, final boolean[] values) throws MissingSymbolException {
+        if (symbols == null || values == null) {
+            throw new IllegalArgumentException("symbols and values cannot be null");
+        }
+        for (final WellFormedFormula premise : premises) {
+            if (!premise.valuate(symbols, values)) {
+                return true;
+            }
+        }
+        return conclusion != null && conclusion.valuate(symbols, values);
     }
 
     @Override
@@ -216,47 +776,476 @@ public class Argument implements WellFormedFormula {
         return sb.isEmpty() ? "" : String.format("%s ∴ %s", sb.substring(0, sb.length() - 2), conclusion);
     }
 
-    private List<Map<KPredicate, Boolean>> generateTruthTable(final Set<KPredicate> vars, final String name) {
-        final List<KPredicate> varsList = new LinkedList<>(vars);
-        final List<Map<KPredicate, Boolean>> result = new LinkedList<>();
-        final int n = varsList.size();
-        for (int i = 0; n > 0 && i != (1 << n); i++) {
-            final StringBuilder sb = new StringBuilder(Integer.toBinaryString(i));
-            while (sb.length() != n) {
-                sb.insert(0, '0');
-            }
-            final Map<KPredicate, Boolean> map = new HashMap<>();
-            for (int j = 0; j < n; j++) {
-                map.put(varsList.get(j), sb.charAt(j) == '1');
-            }
-
-            // iterate over the map
-            // assuming that 'name' is 'n', and a predicate 'Fn' is in the map
-            // the assign to the predicate of variable, e.g., 'Fx', the value of 'Fn'
-            final Map<KPredicate, Boolean> map2 = new HashMap<>();
-            for (final KPredicate k : map.keySet()) {
-                if (k.hasVariable()) {
-                    final Boolean v = map.get(new KPredicate(k.getValue(), name));
-                    map2.put(k, v == null ? map.get(k) : v);
-                } else {
-                    map2.put(k, k.hasVariable() ? map.get(new KPredicate(k.getValue(), name)) : map.get(k));
+    // the names of the domain, i.e., the proper names, or as many names as the unknowns, and the dummy names
+    private Domain domain() {
+        final Signature signature = getSignature();
+        final Set<String> properNames = new HashSet<>();
+        for (final String name : signature.names()) {
+            for (final char c : name.toCharArray()) {
+                if (c >= 'm' && c <= 'w') {
+                    properNames.add(String.valueOf(c));
+                }
+            }
+        }
+        final Set<String> dummyNames = new HashSet<>();
+        for (int j = 0; j < signature.existentials(); j++) {
+            dummyNames.add(String.valueOf((char) ('a' + j)));
+        }
+        final Set<String> unknowns = signature.universals();
+
+        // add as many names to the domain as the number of unknowns
+        if (properNames.isEmpty()) {
+            for (int i = 0; i < unknowns.size(); i++) {
+                properNames.add(String.valueOf((char) ('m' + i)));
+            }
+        }
+        return new Domain(properNames, dummyNames, unknowns);
+    }
+
+    /**
+     * The domain of an argument with the semantics of the truth tables.
+     *
+     * @param properNames the proper names
+     * @param dummyNames  the dummy names of the existential quantifiers
+     * @param unknowns    the variables of the universal quantifiers
+     */
+    private record Domain(Set<String> properNames, Set<String> dummyNames, Set<String> unknowns) {
+
+        Set<String> names() {
+            final Set<String> names = new HashSet<>(properNames);
+            names.addAll(dummyNames);
+            return names;
+        }
+    }
+
+    private boolean findCountervaluation(final Set<KPredicate> vars, final String name) {
+        final Map<KPredicate, Integer> index = index(vars, name);
+        final int n = new HashSet<>(index.values()).size();
+        if (n == 0) {
+            return false;
+        }
+        final int[][] atoms = atoms(index, n);
+        final CommonSubexpressions compiled = compile();
+        final Program[] programs = compiled.getPrograms();
+        final boolean[] values = new boolean[compiled.getSize()];
+        final boolean[] stack = new boolean[compiled.getDepth()];
+
+        // iterate over all possible input variables configurations, changing one value at a time
+        final ValuationEnumerator enumerator = new ValuationEnumerator(n);
+        final Planner planner = new Planner(programs);
+        while (true) {
+            boolean valid = true;
+            compiled.evaluate(values, stack);
+            for (final int p : planner.getOrder()) {
+                // if one formula is true, then move on to the next input variables configuration
+                final boolean b = programs[p].evaluate(values, stack);
+                planner.record(p, b ? 1 : 0, 1);
+                if (b) {
+                    valid = false;
+                    break;
+                }
+            }
+            planner.tick();
+            // an input variables configuration which makes all the formulae false was found
+            if (valid) {
+                final Map<KPredicate, Boolean> countervaluation = new HashMap<>();
+                for (final int atom : compiled.getAtoms()) {
+                    countervaluation.put(symbols.getAtom(atom), values[atom]);
                 }
+                found(countervaluation);
+                reordered(planner.getReorders());
+                return true;
             }
+            final int i = enumerator.next();
+            if (i == -1) {
+                reordered(planner.getReorders());
+                return false;
+            }
+            final boolean b = enumerator.getValues()[i];
+            for (final int atom : atoms[i]) {
+                values[atom] = b;
+            }
+        }
+    }
+
+    // searches the names at once, a task per name, until a countervaluation is found under one of them
+    // each name has its own slot in the results, so the outcome does not depend on the order of completion
+    private boolean findCountervaluations(final Set<KPredicate> vars, final List<String> names) {
+        compile();
+        final AtomicBoolean found = new AtomicBoolean();
+        final boolean[] results = new boolean[names.size()];
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            final int k = i;
+            tasks.add(ForkJoinTask.adapt(() -> results[k] = findCountervaluation64(vars, names.get(k), true, found)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        for (final boolean result : results) {
+            if (result) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-            result.add(map2);
+    private boolean findCountervaluation64(final Set<KPredicate> vars, final String name, final boolean parallel,
+                                           final AtomicBoolean found) {
+        final Map<KPredicate, Integer> index = index(vars, name);
+        final int n = new HashSet<>(index.values()).size();
+        if (n == 0) {
+            return false;
+        }
+        if (n - LANES.length >= Long.SIZE - 1) {
+            throw new IllegalStateException("too many predicates: " + n);
         }
+        final CommonSubexpressions programs = compile();
+        final int[][] atoms = atoms(index, n);
+        final long count = n > LANES.length ? 1L << (n - LANES.length) : 1L;
+        if (parallel && count > GRAIN) {
+            // each worker carries its planner across the parts of the search it is given
+            final Map<Thread, Planner> planners = new ConcurrentHashMap<>();
+            // a search within the task of a name forks into the pool of that task
+            final Search search = new Search(programs, atoms, 0, count, found, planners);
+            if (ForkJoinTask.inForkJoinPool()) {
+                search.invoke();
+            } else {
+                pool.invoke(search);
+            }
+            planners.values().forEach(planner -> reordered(planner.getReorders()));
+            return found.get();
+        }
+        final Planner planner = new Planner(programs.getPrograms());
+        final boolean result = search(programs, atoms, 0, count, found, planner);
+        reordered(planner.getReorders());
         return result;
     }
 
-    private List<Condition> getAtomicConditions(final Condition condition) {
-        final List<Condition> atomicConditions = new LinkedList<>();
-        if (condition instanceof AtomicCondition) {
-            atomicConditions.add(condition);
+    // searches the words from 'from' to 'to', excluded, until a countervaluation is found here or elsewhere
+    private boolean search(final CommonSubexpressions compiled, final int[][] atoms, final long from, final long to,
+                           final AtomicBoolean found, final Planner planner) {
+        final int n = atoms.length;
+        final Program[] programs = compiled.getPrograms();
+        final long[] words = new long[compiled.getSize()];
+        final long[] stack = new long[compiled.getDepth()];
+
+        // the first predicates vary within a word, the others from one word to the next
+        for (int i = 0; i < Math.min(n, LANES.length); i++) {
+            for (final int atom : atoms[i]) {
+                words[atom] = LANES[i];
+            }
+        }
+        final long mask = n < LANES.length ? (1L << (1 << n)) - 1 : -1L;
+        for (long w = from; w < to && !found.get(); w++) {
+            for (int i = LANES.length; i < n; i++) {
+                final long word = ((w >>> (i - LANES.length)) & 1) == 0 ? 0L : -1L;
+                for (final int atom : atoms[i]) {
+                    words[atom] = word;
+                }
+            }
+            compiled.evaluate(words, stack);
+            // the bits still set are the valuations which make all the formulae false
+            long countervaluations = mask;
+            for (final int p : planner.getOrder()) {
+                final int live = Long.bitCount(countervaluations);
+                countervaluations &= ~programs[p].evaluate(words, stack);
+                planner.record(p, live - Long.bitCount(countervaluations), live);
+                if (countervaluations == 0) {
+                    break;
+                }
+            }
+            planner.tick();
+            if (countervaluations != 0) {
+                final int bit = Long.numberOfTrailingZeros(countervaluations);
+                final Map<KPredicate, Boolean> countervaluation = new HashMap<>();
+                for (final int atom : compiled.getAtoms()) {
+                    countervaluation.put(symbols.getAtom(atom), (words[atom] >>> bit & 1) == 1);
+                }
+                found(countervaluation);
+                found.set(true);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the parallel searches of the names report their reorderings at once
+    private synchronized void reordered(final int reorders) {
+        this.reorders += reorders;
+    }
+
+    /**
+     * Returns the number of times the planners of the last validation of this argument reordered its formulae with
+     * the statistics of the search.
+     *
+     * @return the number of reorderings
+     */
+    int getReorders() {
+        return decided == null ? 0 : decided.reorders;
+    }
+
+    // keeps the first countervaluation found, since the parallel searches may find several
+    private synchronized void found(final Map<KPredicate, Boolean> countervaluation) {
+        if (this.countervaluation == null) {
+            this.countervaluation = countervaluation;
+        }
+    }
+
+    // splits the words into halves until they are few enough to be searched by a single worker
+    private class Search extends RecursiveAction {
+
+        private final CommonSubexpressions programs;
+        private final int[][] atoms;
+        private final long from;
+        private final long to;
+        private final AtomicBoolean found;
+        private final Map<Thread, Planner> planners;
+
+        Search(final CommonSubexpressions programs, final int[][] atoms, final long from, final long to,
+               final AtomicBoolean found, final Map<Thread, Planner> planners) {
+            this.programs = programs;
+            this.atoms = atoms;
+            this.from = from;
+            this.to = to;
+            this.found = found;
+            this.planners = planners;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get()) {
+                return;
+            }
+            if (to - from <= GRAIN) {
+                // a worker searches one part at a time, so its planner is never shared
+                final Planner planner = planners.computeIfAbsent(Thread.currentThread(),
+                        thread -> new Planner(programs.getPrograms()));
+                search(programs, atoms, from, to, found, planner);
+            } else {
+                final long middle = (from + to) >>> 1;
+                invokeAll(new Search(programs, atoms, from, middle, found, planners),
+                        new Search(programs, atoms, middle, to, found, planners));
+            }
+        }
+    }
+
+    private boolean findCountervaluationIncrementally(final List<WellFormedFormula> formulae,
+                                                      final Set<KPredicate> vars, final String name)
+            throws MissingSymbolException {
+        final Map<KPredicate, Integer> index = index(vars, name);
+        final int n = new HashSet<>(index.values()).size();
+        if (n == 0) {
+            return false;
+        }
+        final IncrementalValuation valuation = new IncrementalValuation(formulae, index, n);
+        final ValuationEnumerator enumerator = new ValuationEnumerator(n);
+        int i;
+        do {
+            if (valuation.getTrueFormulae() == 0) {
+                return true;
+            }
+            i = enumerator.next();
+            if (i != -1) {
+                valuation.flip(i);
+            }
+        } while (i != -1);
+        return false;
+    }
+
+    private boolean hasQuantifiers() {
+        return getSignature().hasQuantifiers();
+    }
+
+    // a closed tableau proves that this argument is valid, and an open one which was not bounded that it is invalid
+    private boolean isValidTableau() throws UndecidedException {
+        tableau = new Tableau();
+        final boolean valid = tableau.proves(premises, conclusion);
+        if (valid || !tableau.isBounded()) {
+            return valid;
+        }
+        // a bounded tableau proves nothing, while a countermodel proves that the argument is invalid
+        if (finder == null && findCountermodel()) {
+            return false;
+        }
+        throw new UndecidedException(String.format("neither a proof nor a countermodel of \"%s\" was found", this));
+    }
+
+    // a countermodel proves that this argument is invalid
+    private boolean isValidCountermodel() throws UndecidedException {
+        if (findCountermodel()) {
+            return false;
+        }
+        // there may be larger countermodels, so only a closed tableau proves that the argument is valid
+        return isValidTableau();
+    }
+
+    // searches for a finite countermodel, which proves that this argument is invalid
+    private boolean findCountermodel() {
+        finder = new ModelFinder();
+        final boolean found = finder.findCountermodel(premises, conclusion);
+        if (found) {
+            countermodel = finder.getCountermodel();
+        }
+        return found;
+    }
+
+    private boolean isValidSat() {
+        final CnfEncoder encoder = new CnfEncoder();
+        for (final WellFormedFormula premise : premises) {
+            encoder.assertTrue(premise);
+        }
+        encoder.assertFalse(conclusion);
+        final Solver solver = new Solver();
+        return !encoder.getClauses().addTo(solver) || !solver.solve();
+    }
+
+    // the compiled formulae, i.e., the negation of the conclusion followed by the premises
+    // the subformulae shared among them are evaluated once per valuation
+    private CommonSubexpressions compile() {
+        if (symbols == null) {
+            symbols = new SymbolTable();
+        }
+        if (programs == null) {
+            final List<WellFormedFormula> formulae = new ArrayList<>();
+            formulae.add(new Negation(conclusion));
+            formulae.addAll(premises);
+            programs = new CommonSubexpressions(formulae, symbols);
+        }
+        return programs;
+    }
+
+    // the ids of the atoms of each position
+    private int[][] atoms(final Map<KPredicate, Integer> index, final int n) {
+        final int[][] atoms = new int[n][];
+        final int[] sizes = new int[n];
+        for (final int i : index.values()) {
+            sizes[i]++;
+        }
+        for (int i = 0; i < n; i++) {
+            atoms[i] = new int[sizes[i]];
+            sizes[i] = 0;
+        }
+        for (final Map.Entry<KPredicate, Integer> entry : index.entrySet()) {
+            final int i = entry.getValue();
+            atoms[i][sizes[i]++] = symbols.addAtom(entry.getKey());
+        }
+        return atoms;
+    }
+
+    // assigns a position to each predicate
+    // assuming that 'name' is 'n', and a predicate 'Fn' is in the set
+    // the predicate of a variable, e.g., 'Fx', shares the position of 'Fn'
+    private Map<KPredicate, Integer> index(final Set<KPredicate> vars, final String name) {
+        final Map<KPredicate, Integer> index = new HashMap<>();
+        int n = 0;
+        for (final KPredicate k : vars) {
+            if (!k.hasVariable() || !vars.contains(new KPredicate(k.getValue(), name))) {
+                index.put(k, n++);
+            }
+        }
+        for (final KPredicate k : vars) {
+            if (!index.containsKey(k)) {
+                index.put(k, index.get(new KPredicate(k.getValue(), name)));
+            }
+        }
+        return index;
+    }
+
+    // the canonical forms of the sorted premises followed by the canonical form of the conclusion, if any
+    private List<Canonicalizer.Canonical> canonicalize() {
+        final Map<WellFormedFormula, Fingerprint> keys = new HashMap<>();
+        for (final WellFormedFormula premise : premises) {
+            keys.computeIfAbsent(premise,
+                    p -> Canonicalizer.canonical(rename(p, letters(List.of(p))), false).fingerprint());
+        }
+        final List<WellFormedFormula> formulae = new ArrayList<>(premises);
+        formulae.sort(Comparator.comparing(keys::get));
+        if (conclusion != null) {
+            formulae.add(0, conclusion);
+        }
+        final Map<Character, Character> letters = letters(formulae);
+        if (conclusion != null) {
+            formulae.add(formulae.remove(0));
+        }
+        final List<Canonicalizer.Canonical> canonical = new ArrayList<>();
+        for (final WellFormedFormula wff : formulae) {
+            canonical.add(Canonicalizer.canonical(rename(wff, letters), false));
+        }
+        return canonical;
+    }
+
+    // assigns x, y and z to the letters of the variables, in order of appearance
+    private static Map<Character, Character> letters(final List<WellFormedFormula> formulae) {
+        final Map<Character, Character> letters = new HashMap<>();
+        for (final WellFormedFormula wff : formulae) {
+            letters(wff, letters);
+        }
+        return letters;
+    }
+
+    private static void letters(final WellFormedFormula wff, final Map<Character, Character> letters) {
+        if (wff instanceof final KPredicate predicate) {
+            for (final String term : predicate.getTerms()) {
+                if (term.charAt(0) >= 'x') {
+                    letters.putIfAbsent(term.charAt(0), (char) ('x' + letters.size()));
+                }
+            }
+        } else if (wff instanceof final Negation negation) {
+            letters(negation.wff(), letters);
+        } else if (wff instanceof final Conjunction conjunction) {
+            letters(conjunction.wff1(), letters);
+            letters(conjunction.wff2(), letters);
+        } else if (wff instanceof final Disjunction disjunction) {
+            letters(disjunction.wff1(), letters);
+            letters(disjunction.wff2(), letters);
+        } else if (wff instanceof final Conditional conditional) {
+            letters(conditional.wff1(), letters);
+            letters(conditional.wff2(), letters);
+        } else if (wff instanceof final Quantifier quantifier) {
+            letters.putIfAbsent(quantifier.variable.charAt(0), (char) ('x' + letters.size()));
+            letters(quantifier.wff, letters);
+        }
+    }
+
+    // renames the letters of the variables of a formula
+    private static WellFormedFormula rename(final WellFormedFormula wff, final Map<Character, Character> letters) {
+        if (wff instanceof final KPredicate predicate) {
+            final List<String> terms = new ArrayList<>();
+            for (final String term : predicate.getTerms()) {
+                terms.add(term.charAt(0) >= 'x' ? rename(term, letters) : term);
+            }
+            return new KPredicate(predicate.getValue(), terms);
+        } else if (wff instanceof final Negation negation) {
+            return new Negation(rename(negation.wff(), letters));
+        } else if (wff instanceof final Conjunction conjunction) {
+            return new Conjunction(rename(conjunction.wff1(), letters), rename(conjunction.wff2(), letters));
+        } else if (wff instanceof final Disjunction disjunction) {
+            return new Disjunction(rename(disjunction.wff1(), letters), rename(disjunction.wff2(), letters));
+        } else if (wff instanceof final Conditional conditional) {
+            return new Conditional(rename(conditional.wff1(), letters), rename(conditional.wff2(), letters));
+        } else if (wff instanceof final UniversalQuantifier quantifier) {
+            return new UniversalQuantifier(rename(quantifier.variable, letters), rename(quantifier.wff, letters));
+        } else if (wff instanceof final ExistentialQuantifier quantifier) {
+            return new ExistentialQuantifier(rename(quantifier.variable, letters), rename(quantifier.wff, letters));
+        }
+        return wff;
+    }
+
+    private static String rename(final String variable, final Map<Character, Character> letters) {
+        return letters.get(variable.charAt(0)) + variable.substring(1);
+    }
+
+    // collects the predicates of a condition, visiting each shared node of the condition once
+    private static void collectPredicates(final Condition condition, final Set<KPredicate> predicates,
+                                          final Set<Condition> visited) {
+        if (!visited.add(condition)) {
+            return;
+        }
+        if (condition instanceof final AtomicCondition atomic) {
+            predicates.add(atomic.getPredicate());
         } else {
             final BinaryCondition b = (BinaryCondition) condition;
-            atomicConditions.addAll(getAtomicConditions(b.c1()));
-            atomicConditions.addAll(getAtomicConditions(b.c2()));
+            collectPredicates(b.c1(), predicates, visited);
+            collectPredicates(b.c2(), predicates, visited);
         }
-        return atomicConditions;
     }
 }
@@ -7,61 +7,74 @@ import java.util.Map;
 import java.util.Objects;
 
 /**
- * An atomic condition.
+ * An atomic condition, i.e., a predicate with or without a truth-value.
+ * <p>
+ * The atomic conditions with a truth-value are the literals of the truth and falsehood conditions, and they are
+ * interned by their predicate, so that all the conditions of a formula share the same two literals per predicate.
  * <p>
  * {@code @Copyright}, 2023 Daniele Di Salvo
  */
-public class AtomicCondition implements Condition, WellFormedFormula {
+public final class AtomicCondition implements Condition, WellFormedFormula {
 
     private final KPredicate predicate;
-    private Boolean boolValue;
+    private final Boolean boolValue;
 
     /**
-     * Creates a new atomic condition with the given predicate.
+     * Creates a new atomic condition with the given predicate and without a truth-value.
      *
      * @param predicate the predicate
      */
     public AtomicCondition(final KPredicate predicate) {
+        this(predicate, null);
+    }
+
+    // creates a literal of a predicate
+    AtomicCondition(final KPredicate predicate, final Boolean boolValue) {
         this.predicate = predicate;
+        this.boolValue = boolValue;
     }
 
     /**
-     * Returns the predicate.
+     * Returns the literal of the given predicate with the given truth-value.
      *
-     * @return the predicate
+     * @param predicate the predicate
+     * @param value     the truth-value
+     * @return the interned literal
+     * @throws IllegalArgumentException if predicate is {@code null}
      */
-    public KPredicate getPredicate() {
-        return predicate;
+    public static AtomicCondition valueOf(final KPredicate predicate, final boolean value) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("predicate cannot be null");
+        }
+        return predicate.literal(value);
     }
 
     /**
-     * Sets this atomic condition to {@code false}.
+     * Returns the predicate.
      *
-     * @return this atomic condition.
+     * @return the predicate
      */
-    public AtomicCondition setFalse() {
-        boolValue = false;
-        return this;
+    public KPredicate getPredicate() {
+        return predicate;
     }
 
     /**
-     * Sets this atomic condition to {@code true}.
+     * Returns the truth-value.
      *
-     * @return this atomic condition.
+     * @return the truth-value, or {@code null} if this atomic condition has none
      */
-    public AtomicCondition setTrue() {
-        boolValue = true;
-        return this;
+    public Boolean getValue() {
+        return boolValue;
     }
 
     @Override
     public List<Condition> determineFalsehoodConditions() {
-        return List.of(new AtomicCondition(predicate).setFalse());
+        return predicate.determineFalsehoodConditions();
     }
 
     @Override
     public List<Condition> determineTruthnessConditions() {
-        return List.of(new AtomicCondition(predicate).setTrue());
+        return predicate.determineTruthnessConditions();
     }
 
     @Override
@@ -75,11 +88,34 @@ public class AtomicCondition implements Condition, WellFormedFormula {
         return values.get(predicate);
     }
 
+    @Override
+    public long valuate(final Map<KPredicate, Integer> index, final long[] words) throws MissingSymbolException {
+        if (index == null || words == null) {
+            throw new IllegalArgumentException("index and words cannot be null");
+        }
+        final Integer i = index.get(predicate);
+        if (i == null) {
+            throw new MissingSymbolException(predicate.toString());
+        }
+        return words[i];
+    }
+
+    @Override
+    public boolean valuate(final SymbolTable symbols, final boolean[] values) throws MissingSymbolException {
+        return predicate.valuate(symbols, values);
+    }
+
+    @Override
+    public boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        return predicate.valuate(interpretation, assignment);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof AtomicCondition that)) return false;
-        return getPredicate().equals(that.getPredicate()) && boolValue.equals(that.boolValue);
+        return getPredicate().equals(that.getPredicate()) && Objects.equals(boolValue, that.boolValue);
     }
 
     @Override
@@ -0,0 +1,188 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.bdd.BddManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts well-formed formulae into reduced ordered binary decision diagrams.
+ * <p>
+ * Each predicate is given a variable the first time it is met, and the formulae are ordered depth-first before being
+ * converted, so the predicates which occur in the same subformula are given adjacent variables. The BDD of each
+ * subformula is remembered and protected from garbage collection, hence an encoder which is shared among related
+ * formulae converts each common subformula only once. Quantifiers are transparent, as in
+ * {@link WellFormedFormula#valuate(Map)}.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class BddEncoder {
+
+    private final BddManager manager;
+    private final Map<KPredicate, Integer> atoms = new LinkedHashMap<>();
+    private final Map<WellFormedFormula, Integer> bdds = new HashMap<>();
+
+    /**
+     * Creates a new encoder, with a new manager.
+     */
+    public BddEncoder() {
+        this(new BddManager());
+    }
+
+    /**
+     * Creates a new encoder with the given manager.
+     *
+     * @param manager the manager
+     * @throws IllegalArgumentException if manager is {@code null}
+     */
+    public BddEncoder(final BddManager manager) {
+        if (manager == null) {
+            throw new IllegalArgumentException("manager cannot be null");
+        }
+        this.manager = manager;
+    }
+
+    /**
+     * Returns the manager.
+     *
+     * @return the manager
+     */
+    public BddManager getManager() {
+        return manager;
+    }
+
+    /**
+     * Returns the variables of the predicates.
+     *
+     * @return the variables of the predicates, in order of encoding
+     */
+    public Map<KPredicate, Integer> getAtoms() {
+        return Collections.unmodifiableMap(atoms);
+    }
+
+    /**
+     * Returns the BDD of the given formula.
+     * <p>
+     * The BDD remains protected from garbage collection as long as this encoder is in use.
+     *
+     * @param wff the formula
+     * @return the BDD
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public int encode(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        order(wff);
+        return bdd(wff);
+    }
+
+    /**
+     * Returns {@code true} if the given formula is true under all the valuations.
+     *
+     * @param wff the formula
+     * @return {@code true} if the formula is a tautology
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public boolean isTautology(final WellFormedFormula wff) {
+        return encode(wff) == BddManager.TRUE;
+    }
+
+    /**
+     * Returns {@code true} if the given formulae have the same truth-value under all the valuations.
+     *
+     * @param wff1 the first formula
+     * @param wff2 the second formula
+     * @return {@code true} if the formulae are equivalent
+     * @throws IllegalArgumentException if wff1 or wff2 is {@code null}
+     */
+    public boolean areEquivalent(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        return encode(wff1) == encode(wff2);
+    }
+
+    /**
+     * Returns {@code true} if the conclusion is true under all the valuations which make all the premises true, or, if
+     * the conclusion is {@code null}, if the conjunction of the premises is a tautology.
+     *
+     * @param premises   the premises
+     * @param conclusion the conclusion, or {@code null}
+     * @return {@code true} if the premises entail the conclusion
+     * @throws IllegalArgumentException if premises is {@code null}
+     */
+    public boolean entails(final List<WellFormedFormula> premises, final WellFormedFormula conclusion) {
+        if (premises == null) {
+            throw new IllegalArgumentException("premises cannot be null");
+        }
+        premises.forEach(this::order);
+        if (conclusion != null) {
+            order(conclusion);
+        }
+        int f = manager.ref(BddManager.TRUE);
+        for (final WellFormedFormula premise : premises) {
+            final int g = manager.ref(manager.and(f, bdd(premise)));
+            manager.deref(f);
+            f = g;
+            if (f == BddManager.FALSE) {
+                break;
+            }
+        }
+        final int result = conclusion == null ? f : manager.implies(f, bdd(conclusion));
+        manager.deref(f);
+        return result == BddManager.TRUE;
+    }
+
+    // gives the predicates their variables in depth-first order
+    private void order(final WellFormedFormula wff) {
+        if (wff instanceof final KPredicate predicate) {
+            atoms.computeIfAbsent(predicate, k -> atoms.size());
+        } else if (wff instanceof final AtomicCondition condition) {
+            order(condition.getPredicate());
+        } else if (wff instanceof final Negation negation) {
+            order(negation.wff());
+        } else if (wff instanceof final Quantifier quantifier) {
+            order(quantifier.wff);
+        } else if (wff instanceof final Conjunction conjunction) {
+            order(conjunction.wff1());
+            order(conjunction.wff2());
+        } else if (wff instanceof final Disjunction disjunction) {
+            order(disjunction.wff1());
+            order(disjunction.wff2());
+        } else if (wff instanceof final Conditional conditional) {
+            order(conditional.wff1());
+            order(conditional.wff2());
+        } else {
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+    }
+
+    private int bdd(final WellFormedFormula wff) {
+        if (wff instanceof final AtomicCondition condition) {
+            return bdd(condition.getPredicate());
+        } else if (wff instanceof final Quantifier quantifier) {
+            return bdd(quantifier.wff);
+        }
+        final Integer known = bdds.get(wff);
+        if (known != null) {
+            return known;
+        }
+        final int f;
+        if (wff instanceof final KPredicate predicate) {
+            f = manager.variable(atoms.get(predicate));
+        } else if (wff instanceof final Negation negation) {
+            f = manager.not(bdd(negation.wff()));
+        } else if (wff instanceof final Conjunction conjunction) {
+            f = manager.and(bdd(conjunction.wff1()), bdd(conjunction.wff2()));
+        } else if (wff instanceof final Disjunction disjunction) {
+            f = manager.or(bdd(disjunction.wff1()), bdd(disjunction.wff2()));
+        } else if (wff instanceof final Conditional conditional) {
+            f = manager.implies(bdd(conditional.wff1()), bdd(conditional.wff2()));
+        } else {
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+        bdds.put(wff, manager.ref(f));
+        return f;
+    }
+}
@@ -0,0 +1,250 @@
+package com.probendi.aris.formula;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a hidden class which implements {@link CompiledFormula} with the straight-line JVM bytecode of a
+ * {@link Program}, so the JIT compiler can inline the whole formula.
+ * <p>
+ * Each load of the program becomes an array load, and each connective becomes a single {@code long} instruction. A
+ * negation is a xor with all ones, and a conditional {@code a → b} is computed as {@code ¬(a ∧ ¬b)}, since its
+ * consequent is on top of the stack.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+final class BytecodeGenerator {
+
+    private static final String NAME = "com/probendi/aris/formula/GeneratedFormula";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String INTERFACE = "com/probendi/aris/formula/CompiledFormula";
+    private static final int MAX_CODE_LENGTH = 65535;
+
+    // the opcodes of the JVM
+    private static final int ICONST_0 = 0x03;
+    private static final int LCONST_1 = 0x0a;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int LALOAD = 0x2f;
+    private static final int LNEG = 0x75;
+    private static final int LUSHR = 0x7d;
+    private static final int LAND = 0x7f;
+    private static final int LOR = 0x81;
+    private static final int LXOR = 0x83;
+    private static final int L2I = 0x88;
+    private static final int IRETURN = 0xac;
+    private static final int LRETURN = 0xad;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+
+    // the constant pool
+    private final List<byte[]> constants = new ArrayList<>();
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private BytecodeGenerator() {
+    }
+
+    /**
+     * Generates and instantiates the hidden class of the given program.
+     *
+     * @param code  the program's opcodes and operands
+     * @param depth the program's stack depth
+     * @return the compiled formula, or {@code null} if the program is too large for a JVM method
+     */
+    static CompiledFormula generate(final int[] code, final int depth) {
+        final byte[] bytes = new BytecodeGenerator().toClassFile(code, depth);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return (CompiledFormula) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (final Throwable e) {
+            throw new IllegalStateException("cannot define the class of a compiled formula", e);
+        }
+    }
+
+    private byte[] toClassFile(final int[] program, final int depth) {
+        final int thisClass = classRef(NAME);
+        final int superClass = classRef(OBJECT);
+        final int anInterface = classRef(INTERFACE);
+        final int init = methodRef(OBJECT, "<init>", "()V");
+        final int codeName = utf8("Code");
+
+        final ByteArrayOutputStream constructor = new ByteArrayOutputStream();
+        constructor.write(ALOAD_0);
+        constructor.write(INVOKESPECIAL);
+        writeShort(constructor, init);
+        constructor.write(RETURN);
+
+        final ByteArrayOutputStream bits = new ByteArrayOutputStream();
+        final ByteArrayOutputStream words = new ByteArrayOutputStream();
+        for (int pc = 0; pc < program.length; pc++) {
+            switch (program[pc]) {
+                case Program.LOAD -> {
+                    final int atom = program[++pc];
+                    bits.write(ALOAD_1);
+                    pushInt(bits, atom >>> 6);
+                    bits.write(LALOAD);
+                    pushInt(bits, atom & 63);
+                    bits.write(LUSHR);
+                    bits.write(LCONST_1);
+                    bits.write(LAND);
+                    words.write(ALOAD_1);
+                    pushInt(words, atom);
+                    words.write(LALOAD);
+                }
+                case Program.NOT -> {
+                    not(bits, false);
+                    not(words, true);
+                }
+                case Program.AND -> {
+                    bits.write(LAND);
+                    words.write(LAND);
+                }
+                case Program.OR -> {
+                    bits.write(LOR);
+                    words.write(LOR);
+                }
+                default -> {
+                    for (final ByteArrayOutputStream out : List.of(bits, words)) {
+                        not(out, out == words);
+                        out.write(LAND);
+                        not(out, out == words);
+                    }
+                }
+            }
+        }
+        bits.write(L2I);
+        bits.write(IRETURN);
+        words.write(LRETURN);
+        if (words.size() > MAX_CODE_LENGTH || bits.size() > MAX_CODE_LENGTH) {
+            return null;
+        }
+        final int eval = utf8("eval");
+        final int evalDescriptor = utf8("([J)Z");
+        final int evalWords = utf8("evalWords");
+        final int evalWordsDescriptor = utf8("([J)J");
+        final int initName = utf8("<init>");
+        final int initDescriptor = utf8("()V");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(constants.size() + 1);
+            for (final byte[] constant : constants) {
+                out.write(constant);
+            }
+            out.writeShort(0x0031); // public final super
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(anInterface);
+            out.writeShort(0);
+            out.writeShort(3);
+            writeMethod(out, initName, initDescriptor, codeName, 1, 1, constructor.toByteArray());
+            // a long takes two slots, and a load of a bit pushes a reference, an int and a long
+            writeMethod(out, eval, evalDescriptor, codeName, 2 * depth + 4, 2, bits.toByteArray());
+            writeMethod(out, evalWords, evalWordsDescriptor, codeName, 2 * depth + 2, 2, words.toByteArray());
+            out.writeShort(0);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e); // this should never happen
+        }
+        return bytes.toByteArray();
+    }
+
+    // xors the long on top of the stack with all ones, or with one if it is a single bit
+    private static void not(final ByteArrayOutputStream out, final boolean word) {
+        out.write(LCONST_1);
+        if (word) {
+            out.write(LNEG);
+        }
+        out.write(LXOR);
+    }
+
+    private void pushInt(final ByteArrayOutputStream out, final int i) {
+        if (i <= 5) {
+            out.write(ICONST_0 + i);
+        } else if (i <= Byte.MAX_VALUE) {
+            out.write(BIPUSH);
+            out.write(i);
+        } else if (i <= Short.MAX_VALUE) {
+            out.write(SIPUSH);
+            writeShort(out, i);
+        } else {
+            out.write(LDC_W);
+            writeShort(out, integer(i));
+        }
+    }
+
+    private static void writeMethod(final DataOutputStream out, final int name, final int descriptor, final int codeName,
+                                    final int maxStack, final int maxLocals, final byte[] code) throws IOException {
+        out.writeShort(0x0001); // public
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private static void writeShort(final ByteArrayOutputStream out, final int i) {
+        out.write(i >>> 8);
+        out.write(i);
+    }
+
+    private int utf8(final String s) {
+        final ByteArrayOutputStream constant = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(constant)) {
+            out.writeByte(1);
+            out.writeUTF(s);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e); // this should never happen
+        }
+        return constant("U" + s, constant.toByteArray());
+    }
+
+    private int integer(final int i) {
+        return constant("I" + i, new byte[]{3, (byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i});
+    }
+
+    private int classRef(final String name) {
+        final int utf8 = utf8(name);
+        return constant("C" + name, new byte[]{7, (byte) (utf8 >>> 8), (byte) utf8});
+    }
+
+    private int methodRef(final String owner, final String name, final String descriptor) {
+        final int aClass = classRef(owner);
+        final int n = utf8(name);
+        final int d = utf8(descriptor);
+        final int nameAndType = constant("N" + name + descriptor,
+                new byte[]{12, (byte) (n >>> 8), (byte) n, (byte) (d >>> 8), (byte) d});
+        return constant("M" + owner + name + descriptor,
+                new byte[]{10, (byte) (aClass >>> 8), (byte) aClass, (byte) (nameAndType >>> 8), (byte) nameAndType});
+    }
+
+    private int constant(final String key, final byte[] constant) {
+        return indexes.computeIfAbsent(key, k -> {
+            constants.add(constant);
+            return constants.size();
+        });
+    }
+}
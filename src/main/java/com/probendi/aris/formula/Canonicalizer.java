@@ -0,0 +1,258 @@
+package com.probendi.aris.formula;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Puts well-formed formulae into a canonical form, which is the same for all the formulae that differ only in the
+ * variables of their quantifiers and in the order of the operands of their conjunctions and disjunctions, e.g.,
+ * {@code ∀x(Fx ∧ Gx)} and {@code ∀y(Gy ∧ Fy)}.
+ * <p>
+ * The bound variables are renamed in De Bruijn style, i.e., after the number of quantifiers which enclose their own
+ * quantifier: the outermost variable becomes {@code x}, the next one {@code y}, then {@code z}, {@code x'} and so on,
+ * skipping the free variables of the formula. The formulae are put into their canonical form bottom-up, and the
+ * operands of each conjunction and disjunction are ordered by their fingerprints.
+ * <p>
+ * The fingerprint of a formula is a 128-bit hash of its canonical form, which does not depend on the JVM, so it can be
+ * used as the key of a formula in caches, unique tables and deduplications, also across runs.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public final class Canonicalizer {
+
+    private static final long SEED_HIGH = 0x243F6A8885A308D3L;
+    private static final long SEED_LOW = 0x13198A2E03707344L;
+
+    // the tags of the nodes
+    private static final int PREDICATE = 1;
+    private static final int NEGATION = 2;
+    private static final int CONJUNCTION = 3;
+    private static final int DISJUNCTION = 4;
+    private static final int CONDITIONAL = 5;
+    private static final int UNIVERSAL = 6;
+    private static final int EXISTENTIAL = 7;
+    private static final int SEQUENCE = 8;
+    private static final int CONSTANT = 9;
+
+    private Canonicalizer() {
+    }
+
+    /**
+     * Returns the canonical form of the given formula.
+     *
+     * @param wff the formula
+     * @return the canonical form
+     * @throws IllegalArgumentException      if wff is {@code null}
+     * @throws UnsupportedOperationException if the formula contains a node which is neither a predicate, nor a
+     *                                       connective, nor a quantifier
+     */
+    public static WellFormedFormula canonicalize(final WellFormedFormula wff) {
+        return canonical(wff, true).wff();
+    }
+
+    /**
+     * Returns the fingerprint of the canonical form of the given formula.
+     *
+     * @param wff the formula
+     * @return the fingerprint
+     * @throws IllegalArgumentException      if wff is {@code null}
+     * @throws UnsupportedOperationException if the formula contains a node which is neither a predicate, nor a
+     *                                       connective, nor a quantifier
+     */
+    public static Fingerprint fingerprint(final WellFormedFormula wff) {
+        return canonical(wff, true).fingerprint();
+    }
+
+    /**
+     * Returns {@code true} if the given formulae have the same canonical form.
+     *
+     * @param wff1 the first formula
+     * @param wff2 the second formula
+     * @return {@code true} if the formulae have the same canonical form
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public static boolean areEquivalent(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        return fingerprint(wff1).equals(fingerprint(wff2));
+    }
+
+    /**
+     * Returns the given formulae without those which have the same canonical form as a previous one.
+     *
+     * @param formulae the formulae
+     * @return the first formula of each canonical form, in the given order
+     * @throws IllegalArgumentException if formulae is {@code null} or contains {@code null}
+     */
+    public static List<WellFormedFormula> distinct(final Collection<? extends WellFormedFormula> formulae) {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        final Map<Fingerprint, WellFormedFormula> distinct = new LinkedHashMap<>();
+        for (final WellFormedFormula wff : formulae) {
+            distinct.putIfAbsent(fingerprint(wff), wff);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    // orders the operands of the conjunctions and disjunctions, and renames the bound variables if requested
+    static Canonical canonical(final WellFormedFormula wff, final boolean rename) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        final Set<String> free = rename ? wff.getVariables().free() : Set.of();
+        return new Pass(rename, free).canonical(wff, new HashMap<>(), 0);
+    }
+
+    // the fingerprint of a sequence of fingerprints, e.g., of the formulae of an argument
+    static Fingerprint combine(final List<Fingerprint> fingerprints) {
+        final Hasher hasher = new Hasher(SEQUENCE);
+        hasher.add(fingerprints.size());
+        for (final Fingerprint fingerprint : fingerprints) {
+            hasher.add(fingerprint);
+        }
+        return hasher.fingerprint();
+    }
+
+    /**
+     * A formula in canonical form together with its fingerprint.
+     *
+     * @param wff         the formula
+     * @param fingerprint the fingerprint
+     */
+    record Canonical(WellFormedFormula wff, Fingerprint fingerprint) {
+    }
+
+    // a single pass over a formula, which knows the free variables to be skipped by the renaming
+    private static class Pass {
+
+        private final boolean rename;
+        private final Set<String> free;
+        private final List<String> levels = new ArrayList<>();
+        private int next;
+
+        Pass(final boolean rename, final Set<String> free) {
+            this.rename = rename;
+            this.free = free;
+        }
+
+        Canonical canonical(final WellFormedFormula wff, final Map<String, String> scope, final int depth) {
+            if (wff instanceof final KPredicate predicate) {
+                final List<String> terms = new ArrayList<>();
+                final Hasher hasher = new Hasher(PREDICATE).add(predicate.getValue());
+                for (final String term : predicate.getTerms()) {
+                    final String t = scope.getOrDefault(term, term);
+                    terms.add(t);
+                    hasher.add(t);
+                }
+                final WellFormedFormula k = terms.equals(predicate.getTerms()) ? predicate :
+                        new KPredicate(predicate.getValue(), terms);
+                return new Canonical(k, hasher.fingerprint());
+            } else if (wff instanceof final Negation negation) {
+                final Canonical c = canonical(negation.wff(), scope, depth);
+                return new Canonical(c.wff() == negation.wff() ? negation : new Negation(c.wff()),
+                        new Hasher(NEGATION).add(c.fingerprint()).fingerprint());
+            } else if (wff instanceof final Conjunction conjunction) {
+                final Canonical[] c = ordered(canonical(conjunction.wff1(), scope, depth),
+                        canonical(conjunction.wff2(), scope, depth));
+                return new Canonical(c[0].wff() == conjunction.wff1() && c[1].wff() == conjunction.wff2() ?
+                        conjunction : new Conjunction(c[0].wff(), c[1].wff()), fingerprint(CONJUNCTION, c));
+            } else if (wff instanceof final Disjunction disjunction) {
+                final Canonical[] c = ordered(canonical(disjunction.wff1(), scope, depth),
+                        canonical(disjunction.wff2(), scope, depth));
+                return new Canonical(c[0].wff() == disjunction.wff1() && c[1].wff() == disjunction.wff2() ?
+                        disjunction : new Disjunction(c[0].wff(), c[1].wff()), fingerprint(DISJUNCTION, c));
+            } else if (wff instanceof final Conditional conditional) {
+                final Canonical[] c = {canonical(conditional.wff1(), scope, depth),
+                        canonical(conditional.wff2(), scope, depth)};
+                return new Canonical(c[0].wff() == conditional.wff1() && c[1].wff() == conditional.wff2() ?
+                        conditional : new Conditional(c[0].wff(), c[1].wff()), fingerprint(CONDITIONAL, c));
+            } else if (wff instanceof final Quantifier quantifier) {
+                final String variable = rename ? level(depth) : quantifier.variable;
+                final Map<String, String> inner = new HashMap<>(scope);
+                inner.put(quantifier.variable, variable);
+                final Canonical c = canonical(quantifier.wff, inner, depth + 1);
+                final boolean universal = quantifier instanceof UniversalQuantifier;
+                final Fingerprint fingerprint = new Hasher(universal ? UNIVERSAL : EXISTENTIAL)
+                        .add(variable).add(c.fingerprint()).fingerprint();
+                if (variable.equals(quantifier.variable) && c.wff() == quantifier.wff) {
+                    return new Canonical(quantifier, fingerprint);
+                }
+                return new Canonical(universal ? new UniversalQuantifier(variable, c.wff()) :
+                        new ExistentialQuantifier(variable, c.wff()), fingerprint);
+            } else if (wff instanceof final Constant constant) {
+                return new Canonical(constant, new Hasher(CONSTANT).add(constant.toString()).fingerprint());
+            } else if (wff == null) {
+                throw new IllegalArgumentException("wff cannot be null");
+            }
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+
+        // the variable of the quantifiers enclosed by 'depth' quantifiers: x, y, z, x', y', z', x'', ...
+        private String level(final int depth) {
+            while (levels.size() <= depth) {
+                final String variable = variable(next++);
+                if (!free.contains(variable)) {
+                    levels.add(variable);
+                }
+            }
+            return levels.get(depth);
+        }
+
+        private static String variable(final int i) {
+            return (char) ('x' + i % 3) + "'".repeat(i / 3);
+        }
+
+        private static Canonical[] ordered(final Canonical c1, final Canonical c2) {
+            return c1.fingerprint().compareTo(c2.fingerprint()) <= 0 ? new Canonical[]{c1, c2} :
+                    new Canonical[]{c2, c1};
+        }
+
+        private static Fingerprint fingerprint(final int tag, final Canonical[] c) {
+            return new Hasher(tag).add(c[0].fingerprint()).add(c[1].fingerprint()).fingerprint();
+        }
+    }
+
+    // two independent 64-bit lanes, each mixing its input with the finalizer of SplitMix64
+    private static class Hasher {
+
+        private long high = SEED_HIGH;
+        private long low = SEED_LOW;
+
+        Hasher(final int tag) {
+            add(tag);
+        }
+
+        Hasher add(final long v) {
+            high = mix(high, v);
+            low = mix(low, Long.rotateLeft(v, 32));
+            return this;
+        }
+
+        Hasher add(final String s) {
+            add(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                add(s.charAt(i));
+            }
+            return this;
+        }
+
+        Hasher add(final Fingerprint fingerprint) {
+            return add(fingerprint.high()).add(fingerprint.low());
+        }
+
+        Fingerprint fingerprint() {
+            return new Fingerprint(high, low);
+        }
+
+        private static long mix(final long h, final long v) {
+            long z = (h ^ v) * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.sat.ClauseStore;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts well-formed formulae into clauses in conjunctive normal form with the Tseitin transformation.
+ * <p>
+ * Each predicate is given a variable, and each conjunction, disjunction and conditional is given a fresh definition
+ * variable together with the clauses which make it equivalent to its subformulae, so the clauses grow linearly with
+ * the formulae. A negation is the negated literal of its subformula. Identical subformulae share the same definition,
+ * also across formulae encoded by the same encoder. Quantifiers are transparent, as in
+ * {@link WellFormedFormula#valuate(Map)}.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class CnfEncoder {
+
+    private static final int AND = 1;
+    private static final int OR = 2;
+    private static final int IMPLIES = 3;
+
+    private final ClauseStore clauses;
+    private final Map<KPredicate, Integer> atoms = new LinkedHashMap<>();
+    private final Map<WellFormedFormula, Integer> definitions = new HashMap<>();
+
+    // the definitions' operators and operands, indexed by variable
+    private int[] operators = new int[16];
+    private int[] operands1 = new int[16];
+    private int[] operands2 = new int[16];
+    private int variables;
+    private int shared;
+
+    /**
+     * Creates a new encoder, which adds the clauses to a new store.
+     */
+    public CnfEncoder() {
+        this(new ClauseStore());
+    }
+
+    /**
+     * Creates a new encoder, which adds the clauses to the given store.
+     *
+     * @param clauses the store
+     * @throws IllegalArgumentException if clauses is {@code null}
+     */
+    public CnfEncoder(final ClauseStore clauses) {
+        if (clauses == null) {
+            throw new IllegalArgumentException("clauses cannot be null");
+        }
+        this.clauses = clauses;
+    }
+
+    /**
+     * Returns the clauses.
+     *
+     * @return the clauses
+     */
+    public ClauseStore getClauses() {
+        return clauses;
+    }
+
+    /**
+     * Returns the variables of the predicates.
+     *
+     * @return the variables of the predicates, in order of encoding
+     */
+    public Map<KPredicate, Integer> getAtoms() {
+        return Collections.unmodifiableMap(atoms);
+    }
+
+    /**
+     * Returns the number of variables, i.e., of predicates and definitions.
+     *
+     * @return the number of variables
+     */
+    public int getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the number of times a definition was reused for an identical subformula.
+     *
+     * @return the number of shared definitions
+     */
+    public int getShared() {
+        return shared;
+    }
+
+    /**
+     * Returns a new variable, which is neither a predicate nor a definition.
+     *
+     * @return the new variable
+     */
+    public int newVariable() {
+        return define(0, 0, 0);
+    }
+
+    /**
+     * Adds the clauses which make the given formula true.
+     *
+     * @param wff the formula
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public void assertTrue(final WellFormedFormula wff) {
+        clauses.add(encode(wff));
+    }
+
+    /**
+     * Adds the clauses which make the given formula false.
+     *
+     * @param wff the formula
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public void assertFalse(final WellFormedFormula wff) {
+        clauses.add(-encode(wff));
+    }
+
+    /**
+     * Returns a literal which is equivalent to the given formula, adding the clauses which define it.
+     *
+     * @param wff the formula
+     * @return the literal
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public int encode(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        if (wff instanceof final KPredicate predicate) {
+            final Integer v = atoms.get(predicate);
+            if (v != null) {
+                return v;
+            }
+            final int atom = newVariable();
+            atoms.put(predicate, atom);
+            return atom;
+        } else if (wff instanceof final AtomicCondition condition) {
+            return encode(condition.getPredicate());
+        } else if (wff instanceof final Negation negation) {
+            return -encode(negation.wff());
+        } else if (wff instanceof final Quantifier quantifier) {
+            return encode(quantifier.wff);
+        }
+        final Integer definition = definitions.get(wff);
+        if (definition != null) {
+            shared++;
+            return definition;
+        }
+        final int v;
+        if (wff instanceof final Conjunction conjunction) {
+            final int a = encode(conjunction.wff1());
+            final int b = encode(conjunction.wff2());
+            v = define(AND, a, b);
+            clauses.add(-v, a);
+            clauses.add(-v, b);
+            clauses.add(v, -a, -b);
+        } else if (wff instanceof final Disjunction disjunction) {
+            final int a = encode(disjunction.wff1());
+            final int b = encode(disjunction.wff2());
+            v = define(OR, a, b);
+            clauses.add(-v, a, b);
+            clauses.add(v, -a);
+            clauses.add(v, -b);
+        } else if (wff instanceof final Conditional conditional) {
+            final int a = encode(conditional.wff1());
+            final int b = encode(conditional.wff2());
+            v = define(IMPLIES, a, b);
+            clauses.add(-v, -a, b);
+            clauses.add(v, a);
+            clauses.add(v, -b);
+        } else {
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+        definitions.put(wff, v);
+        return v;
+    }
+
+    /**
+     * Extends the given truth-values of the predicates to an assignment of all the variables, which satisfies the
+     * definitions.
+     *
+     * @param values a map containing the predicates' truth-values
+     * @return the assignment, where the value of variable {@code v} is at index {@code v - 1}
+     * @throws IllegalArgumentException if values is {@code null}
+     * @throws MissingSymbolException   if a predicate has no value
+     */
+    public boolean[] assign(final Map<KPredicate, Boolean> values) throws MissingSymbolException {
+        if (values == null) {
+            throw new IllegalArgumentException("values cannot be null");
+        }
+        final boolean[] assignment = new boolean[variables];
+        for (final Map.Entry<KPredicate, Integer> entry : atoms.entrySet()) {
+            final Boolean b = values.get(entry.getKey());
+            if (b == null) {
+                throw new MissingSymbolException(entry.getKey().toString());
+            }
+            assignment[entry.getValue() - 1] = b;
+        }
+        // a definition's operands are always encoded before the definition
+        for (int v = 1; v <= variables; v++) {
+            final boolean a = operators[v] != 0 && valueOf(operands1[v], assignment);
+            final boolean b = operators[v] != 0 && valueOf(operands2[v], assignment);
+            switch (operators[v]) {
+                case AND -> assignment[v - 1] = a && b;
+                case OR -> assignment[v - 1] = a || b;
+                case IMPLIES -> assignment[v - 1] = !a || b;
+                default -> {
+                }
+            }
+        }
+        return assignment;
+    }
+
+    private int define(final int operator, final int a, final int b) {
+        final int v = ++variables;
+        if (v >= operators.length) {
+            operators = Arrays.copyOf(operators, 2 * v);
+            operands1 = Arrays.copyOf(operands1, 2 * v);
+            operands2 = Arrays.copyOf(operands2, 2 * v);
+        }
+        operators[v] = operator;
+        operands1[v] = a;
+        operands2[v] = b;
+        return v;
+    }
+
+    private static boolean valueOf(final int literal, final boolean[] assignment) {
+        return assignment[Math.abs(literal) - 1] == literal > 0;
+    }
+}
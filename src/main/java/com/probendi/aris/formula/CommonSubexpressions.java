@@ -0,0 +1,215 @@
+package com.probendi.aris.formula;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The formulae of an argument compiled with common subexpression elimination, i.e., the subformulae which occur more
+ * than once among all the formulae are compiled to programs of their own, which are evaluated once per valuation,
+ * before the formulae, and whose results are loaded by the programs of the formulae, and of the larger shared
+ * subformulae, as if they were atoms.
+ * <p>
+ * The result of each shared subformula is stored in a slot of the values, or of the words, of the valuations, and the
+ * slots follow the ids of the atoms of the symbol table at the time of the compilation. Quantifiers are transparent,
+ * as in {@link Program}, so {@code ∀x(Fx → Gx)} and {@code ¬∀x(Fx → Gx)} share their conditional. The predicates and
+ * their negations are never shared, since loading them costs about as much as loading a slot.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+final class CommonSubexpressions {
+
+    private final Program[] programs;
+    private final Program[] shared;
+    private final int[] slots;
+    private final int[] atoms;
+    private final int size;
+    private final int depth;
+    private final double sharingRatio;
+
+    /**
+     * Compiles the given formulae, adding their atoms to the given symbol table.
+     *
+     * @param formulae the formulae
+     * @param symbols  the symbol table
+     */
+    CommonSubexpressions(final List<WellFormedFormula> formulae, final SymbolTable symbols) {
+        // the number of parents of each subformula, counting each shared subformula as a single node
+        final Map<WellFormedFormula, Integer> parents = new LinkedHashMap<>();
+        final Map<WellFormedFormula, Long> lengths = new HashMap<>();
+        long length = 0;
+        for (final WellFormedFormula wff : formulae) {
+            symbols.addAll(wff);
+            count(wff, parents);
+            length += length(wff, lengths);
+        }
+        final int base = symbols.getAtomCount();
+        // the map is in post-order, so a shared subformula follows the ones it contains
+        final Map<WellFormedFormula, Integer> slotOf = new HashMap<>();
+        parents.forEach((wff, n) -> {
+            if (n > 1 && length(wff, lengths) > 3) {
+                slotOf.put(wff, base + slotOf.size());
+            }
+        });
+        this.shared = new Program[slotOf.size()];
+        this.slots = new int[slotOf.size()];
+        for (final Map.Entry<WellFormedFormula, Integer> entry : slotOf.entrySet()) {
+            final int i = entry.getValue() - base;
+            shared[i] = Program.compile(entry.getKey(), symbols, Program.DEFAULT_THRESHOLD, slotOf);
+            slots[i] = entry.getValue();
+        }
+        this.programs = new Program[formulae.size()];
+        for (int i = 0; i < programs.length; i++) {
+            programs[i] = Program.compile(formulae.get(i), symbols, Program.DEFAULT_THRESHOLD, slotOf);
+        }
+        this.size = base + slots.length;
+        final BitSet loaded = new BitSet();
+        int depth = 0;
+        long compiled = 0;
+        for (final Program[] ps : List.of(shared, programs)) {
+            for (final Program program : ps) {
+                for (final int atom : program.getAtoms()) {
+                    if (atom < base) {
+                        loaded.set(atom);
+                    }
+                }
+                depth = Math.max(depth, program.getDepth());
+                compiled += program.getCode().length;
+            }
+        }
+        this.atoms = loaded.stream().toArray();
+        this.depth = depth;
+        this.sharingRatio = length == 0 ? 0 : 1 - (double) compiled / length;
+    }
+
+    /**
+     * Returns the programs of the formulae, in the order of the formulae.
+     *
+     * @return the programs
+     */
+    Program[] getPrograms() {
+        return programs;
+    }
+
+    /**
+     * Returns the programs of the shared subformulae, in the order in which they are evaluated.
+     *
+     * @return the programs
+     */
+    Program[] getShared() {
+        return shared;
+    }
+
+    /**
+     * Returns the ids of the atoms loaded by the programs, without the slots.
+     *
+     * @return the ids of the atoms, in ascending order
+     */
+    int[] getAtoms() {
+        return atoms;
+    }
+
+    /**
+     * Returns the number of values, or of words, of a valuation, i.e., the number of atoms and slots.
+     *
+     * @return the number of values
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the size of the stack needed by the evaluation of all the programs.
+     *
+     * @return the size of the stack
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the fraction of the instructions of the formulae which is saved by evaluating the shared subformulae
+     * once, e.g., {@code 0.5} if the programs are half as long as the formulae compiled one by one.
+     *
+     * @return the sharing ratio
+     */
+    double getSharingRatio() {
+        return sharingRatio;
+    }
+
+    /**
+     * Evaluates the shared subformulae, storing their results in their slots.
+     *
+     * @param values the atoms' truth-values, followed by the slots
+     * @param stack  the stack, at least {@link #getDepth()} long
+     */
+    void evaluate(final boolean[] values, final boolean[] stack) {
+        for (int i = 0; i < shared.length; i++) {
+            values[slots[i]] = shared[i].evaluate(values, stack);
+        }
+    }
+
+    /**
+     * Evaluates the shared subformulae under 64 valuations at once, storing their results in their slots.
+     *
+     * @param words the atoms' truth-values, followed by the slots, a word each and a bit per valuation
+     * @param stack the stack, at least {@link #getDepth()} long
+     */
+    void evaluate(final long[] words, final long[] stack) {
+        for (int i = 0; i < shared.length; i++) {
+            words[slots[i]] = shared[i].evaluate(words, stack);
+        }
+    }
+
+    // counts the parents of the subformulae, visiting the subformulae of each one once
+    private static void count(final WellFormedFormula wff, final Map<WellFormedFormula, Integer> parents) {
+        if (wff instanceof final Quantifier quantifier) {
+            count(quantifier.wff, parents);
+            return;
+        }
+        final Integer n = parents.get(wff);
+        if (n != null) {
+            parents.put(wff, n + 1);
+            return;
+        }
+        if (wff instanceof final Negation negation) {
+            count(negation.wff(), parents);
+        } else if (wff instanceof final Conjunction conjunction) {
+            count(conjunction.wff1(), parents);
+            count(conjunction.wff2(), parents);
+        } else if (wff instanceof final Disjunction disjunction) {
+            count(disjunction.wff1(), parents);
+            count(disjunction.wff2(), parents);
+        } else if (wff instanceof final Conditional conditional) {
+            count(conditional.wff1(), parents);
+            count(conditional.wff2(), parents);
+        }
+        parents.put(wff, 1);
+    }
+
+    // the length of the code of a formula compiled on its own
+    private static long length(final WellFormedFormula wff, final Map<WellFormedFormula, Long> lengths) {
+        final Long length = lengths.get(wff);
+        if (length != null) {
+            return length;
+        }
+        final long l;
+        if (wff instanceof final Quantifier quantifier) {
+            l = length(quantifier.wff, lengths);
+        } else if (wff instanceof final Negation negation) {
+            l = length(negation.wff(), lengths) + 1;
+        } else if (wff instanceof final Conjunction conjunction) {
+            l = length(conjunction.wff1(), lengths) + length(conjunction.wff2(), lengths) + 1;
+        } else if (wff instanceof final Disjunction disjunction) {
+            l = length(disjunction.wff1(), lengths) + length(disjunction.wff2(), lengths) + 1;
+        } else if (wff instanceof final Conditional conditional) {
+            l = length(conditional.wff1(), lengths) + length(conditional.wff2(), lengths) + 1;
+        } else {
+            l = 2;
+        }
+        lengths.put(wff, l);
+        return l;
+    }
+}
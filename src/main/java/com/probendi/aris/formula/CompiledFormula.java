@@ -0,0 +1,27 @@
+package com.probendi.aris.formula;
+
+/**
+ * A well-formed formula compiled for fast evaluation, whose atoms are identified by their ids in a
+ * {@link SymbolTable}.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public interface CompiledFormula {
+
+    /**
+     * Evaluates this formula under a single valuation.
+     *
+     * @param bits the atoms' truth-values, where the value of the atom with id {@code i} is the bit
+     *             {@code i % 64} of {@code bits[i / 64]}
+     * @return the truth-value of the formula
+     */
+    boolean eval(long[] bits);
+
+    /**
+     * Evaluates this formula under 64 valuations at once, one valuation per bit.
+     *
+     * @param words the atoms' truth-values, a word per atom indexed by its id, and a bit per valuation
+     * @return a word whose bits are the truth-values of the formula under each valuation
+     */
+    long evalWords(long[] words);
+}
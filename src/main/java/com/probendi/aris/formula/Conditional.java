@@ -8,13 +8,20 @@ import java.util.Objects;
 
 /**
  * Represents a conditional (also known as material conditional or material implication) operation.
- *
- * @param wff1 the first argument
- * @param wff2 the second argument
- *             <p>
- *             {@code @Copyright}, 2023 Daniele Di Salvo
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
  */
-public record Conditional(WellFormedFormula wff1, WellFormedFormula wff2) implements WellFormedFormula {
+public final class Conditional implements WellFormedFormula {
+
+    private final WellFormedFormula wff1;
+    private final WellFormedFormula wff2;
+    private final int hash;
+    private final long id;
+    // the variables and the conditions, cached on demand without locking (see WellFormedFormula); the conditions
+    // share the conditions of the operands
+    private Variables variables;
+    private List<Condition> truthness;
+    private List<Condition> falsehood;
 
     /**
      * Creates a new conditional of the given well-formed formulae.
@@ -23,29 +30,80 @@ public record Conditional(WellFormedFormula wff1, WellFormedFormula wff2) implem
      * @param wff2 the right argument as a well-formed formula
      * @throws IllegalArgumentException if a wff is null
      */
-    public Conditional {
+    public Conditional(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        this(wff1, wff2, 0);
+    }
+
+    // creates a node of a formula factory
+    Conditional(final WellFormedFormula wff1, final WellFormedFormula wff2, final long id) {
         if (wff1 == null) {
             throw new IllegalArgumentException("wff1 cannot be null");
         }
         if (wff2 == null) {
             throw new IllegalArgumentException("wff2 cannot be null");
         }
+        this.wff1 = wff1;
+        this.wff2 = wff2;
+        this.hash = Objects.hash("→", wff1, wff2);
+        this.id = id;
+    }
+
+    /**
+     * Returns the first argument.
+     *
+     * @return the first argument
+     */
+    public WellFormedFormula wff1() {
+        return wff1;
+    }
+
+    /**
+     * Returns the second argument.
+     *
+     * @return the second argument
+     */
+    public WellFormedFormula wff2() {
+        return wff2;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public Variables getVariables() {
+        Variables v = variables;
+        if (v == null) {
+            v = Variables.of(this);
+            variables = v;
+        }
+        return v;
     }
 
     @Override
     public List<Condition> determineFalsehoodConditions() {
-        return List.of(
-                new BinaryCondition(wff1.determineTruthnessConditions().get(0), wff2.determineFalsehoodConditions().get(0))
-        );
+        List<Condition> f = falsehood;
+        if (f == null) {
+            f = List.of(new BinaryCondition(wff1.determineTruthnessConditions().get(0),
+                    wff2.determineFalsehoodConditions().get(0)));
+            falsehood = f;
+        }
+        return f;
     }
 
     @Override
     public List<Condition> determineTruthnessConditions() {
-        return List.of(
-                new BinaryCondition(wff1.determineFalsehoodConditions().get(0), wff2.determineFalsehoodConditions().get(0)),
-                new BinaryCondition(wff1.determineFalsehoodConditions().get(0), wff2.determineTruthnessConditions().get(0)),
-                new BinaryCondition(wff1.determineTruthnessConditions().get(0), wff2.determineTruthnessConditions().get(0))
-        );
+        List<Condition> t = truthness;
+        if (t == null) {
+            final Condition t1 = wff1.determineTruthnessConditions().get(0);
+            final Condition f1 = wff1.determineFalsehoodConditions().get(0);
+            final Condition t2 = wff2.determineTruthnessConditions().get(0);
+            final Condition f2 = wff2.determineFalsehoodConditions().get(0);
+            t = List.of(new BinaryCondition(f1, f2), new BinaryCondition(f1, t2), new BinaryCondition(t1, t2));
+            truthness = t;
+        }
+        return t;
     }
 
     @Override
@@ -53,20 +111,36 @@ public record Conditional(WellFormedFormula wff1, WellFormedFormula wff2) implem
         return !wff1.valuate(values) || wff2.valuate(values);
     }
 
+    @Override
+    public long valuate(final Map<KPredicate, Integer> index, final long[] words) throws MissingSymbolException {
+        return ~wff1.valuate(index, words) | wff2.valuate(index, words);
+    }
+
+    @Override
+    public boolean valuate(final SymbolTable symbols, final boolean[] values) throws MissingSymbolException {
+        return !wff1.valuate(symbols, values) || wff2.valuate(symbols, values);
+    }
+
+    @Override
+    public boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        return !wff1.valuate(interpretation, assignment) || wff2.valuate(interpretation, assignment);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof Conditional that)) {
+        if (!(o instanceof Conditional that) || hash != that.hash || FormulaFactory.areDistinct(id, that.id)) {
             return false;
         }
-        return wff1().equals(that.wff1()) && wff2().equals(that.wff2());
+        return wff1.equals(that.wff1) && wff2.equals(that.wff2);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(wff1(), wff2());
+        return hash;
     }
 
     @Override
@@ -0,0 +1,88 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a truth-value constant, i.e., {@code true} ({@code ⊤}) or {@code false} ({@code ⊥}).
+ * <p>
+ * The constants are folded away by the {@link Simplifier}, so they have no truth and falsehood conditions, and the
+ * validity engines never see them.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public final class Constant implements WellFormedFormula {
+
+    /**
+     * The constant which is true under all the valuations.
+     */
+    public static final Constant TRUE = new Constant(true);
+
+    /**
+     * The constant which is false under all the valuations.
+     */
+    public static final Constant FALSE = new Constant(false);
+
+    private final boolean value;
+
+    private Constant(final boolean value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the constant with the given truth-value.
+     *
+     * @param value the truth-value
+     * @return the constant
+     */
+    public static Constant valueOf(final boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Returns the truth-value.
+     *
+     * @return the truth-value
+     */
+    public boolean getValue() {
+        return value;
+    }
+
+    @Override
+    public List<Condition> determineFalsehoodConditions() {
+        throw new UnsupportedOperationException("constants have no conditions");
+    }
+
+    @Override
+    public List<Condition> determineTruthnessConditions() {
+        throw new UnsupportedOperationException("constants have no conditions");
+    }
+
+    @Override
+    public boolean valuate(final Map<KPredicate, Boolean> values) {
+        return value;
+    }
+
+    @Override
+    public long valuate(final Map<KPredicate, Integer> index, final long[] words) {
+        return value ? -1L : 0L;
+    }
+
+    @Override
+    public boolean valuate(final SymbolTable symbols, final boolean[] values) {
+        return value;
+    }
+
+    @Override
+    public boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value ? "⊤" : "⊥";
+    }
+}
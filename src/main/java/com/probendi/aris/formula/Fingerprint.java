@@ -0,0 +1,24 @@
+package com.probendi.aris.formula;
+
+/**
+ * The 128-bit fingerprint of a well-formed formula or of an argument, which does not depend on the JVM, so it can be
+ * stored and compared across runs.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ *
+ * @param high the upper 64 bits
+ * @param low  the lower 64 bits
+ */
+public record Fingerprint(long high, long low) implements Comparable<Fingerprint> {
+
+    @Override
+    public int compareTo(final Fingerprint other) {
+        final int c = Long.compareUnsigned(high, other.high);
+        return c != 0 ? c : Long.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,233 @@
+package com.probendi.aris.formula;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Creates well-formed formulae, interning the structurally equal ones into a unique table.
+ * <p>
+ * Each formula created by a factory is interned together with all its subformulae, and carries a unique id whose
+ * upper half identifies the factory. Hence, two formulae created by the same factory are equal if and only if they are
+ * the same object, and identical subformulae are shared among all the formulae of the factory. The unique table is a
+ * {@link ConcurrentHashMap}, so a factory can be used by several threads at once.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class FormulaFactory {
+
+    private static final AtomicInteger FACTORIES = new AtomicInteger();
+
+    private final long factory = (long) FACTORIES.incrementAndGet() << 32;
+    private final AtomicLong ids = new AtomicLong();
+    private final ConcurrentMap<WellFormedFormula, WellFormedFormula> table = new ConcurrentHashMap<>();
+    private final SymbolTable symbols = new SymbolTable();
+
+    /**
+     * Creates a new factory with an empty unique table.
+     */
+    public FormulaFactory() {
+    }
+
+    /**
+     * Returns the symbol table, which contains the predicate letters, the names and the atoms of the predicates
+     * created by this factory.
+     *
+     * @return the symbol table
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the number of formulae in the unique table.
+     *
+     * @return the number of formulae
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Returns {@code true} if the given formula was interned by this factory.
+     *
+     * @param wff the formula
+     * @return {@code true} if the formula was interned by this factory
+     */
+    public boolean isInterned(final WellFormedFormula wff) {
+        return wff != null && wff.getId() != 0 && (wff.getId() & 0xffffffff00000000L) == factory;
+    }
+
+    /**
+     * Returns the interned k-ary predicate with the given symbol and terms.
+     *
+     * @param value the predicate's symbol
+     * @param terms the terms
+     * @return the interned predicate
+     * @throws IllegalArgumentException if value or terms is {@code null} or empty
+     */
+    public KPredicate predicate(final String value, final List<String> terms) {
+        final KPredicate key = new KPredicate(value, terms);
+        return (KPredicate) intern(key, () -> symbols.newAtom(value, key.getTerms(), nextId()));
+    }
+
+    /**
+     * Returns the interned negation of the given formula.
+     *
+     * @param wff the formula
+     * @return the interned negation
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public Negation negation(final WellFormedFormula wff) {
+        final WellFormedFormula w = internOrNull(wff);
+        return (Negation) intern(new Negation(w), () -> new Negation(w, nextId()));
+    }
+
+    /**
+     * Returns the interned conjunction of the given formulae.
+     *
+     * @param wff1 the first formula
+     * @param wff2 the second formula
+     * @return the interned conjunction
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public Conjunction conjunction(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        final WellFormedFormula w1 = internOrNull(wff1);
+        final WellFormedFormula w2 = internOrNull(wff2);
+        return (Conjunction) intern(new Conjunction(w1, w2), () -> new Conjunction(w1, w2, nextId()));
+    }
+
+    /**
+     * Returns the interned disjunction of the given formulae.
+     *
+     * @param wff1 the first formula
+     * @param wff2 the second formula
+     * @return the interned disjunction
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public Disjunction disjunction(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        final WellFormedFormula w1 = internOrNull(wff1);
+        final WellFormedFormula w2 = internOrNull(wff2);
+        return (Disjunction) intern(new Disjunction(w1, w2), () -> new Disjunction(w1, w2, nextId()));
+    }
+
+    /**
+     * Returns the interned conditional of the given formulae.
+     *
+     * @param wff1 the antecedent
+     * @param wff2 the consequent
+     * @return the interned conditional
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public Conditional conditional(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        final WellFormedFormula w1 = internOrNull(wff1);
+        final WellFormedFormula w2 = internOrNull(wff2);
+        return (Conditional) intern(new Conditional(w1, w2), () -> new Conditional(w1, w2, nextId()));
+    }
+
+    /**
+     * Returns the interned universal quantifier of the given formula.
+     *
+     * @param variable the variable
+     * @param wff      the formula
+     * @return the interned universal quantifier
+     * @throws IllegalArgumentException if wff is null or variable is null or empty
+     */
+    public UniversalQuantifier universal(final String variable, final WellFormedFormula wff) {
+        final WellFormedFormula w = internOrNull(wff);
+        return (UniversalQuantifier) intern(new UniversalQuantifier(variable, w),
+                () -> new UniversalQuantifier(variable, w, nextId()));
+    }
+
+    /**
+     * Returns the interned existential quantifier of the given formula.
+     *
+     * @param variable the variable
+     * @param wff      the formula
+     * @return the interned existential quantifier
+     * @throws IllegalArgumentException if wff is null or variable is null or empty
+     */
+    public ExistentialQuantifier existential(final String variable, final WellFormedFormula wff) {
+        final WellFormedFormula w = internOrNull(wff);
+        return (ExistentialQuantifier) intern(new ExistentialQuantifier(variable, w),
+                () -> new ExistentialQuantifier(variable, w, nextId()));
+    }
+
+    /**
+     * Returns the interned formula which is equal to the given one.
+     * <p>
+     * The formulae which are neither predicates, nor connectives, nor quantifiers are returned as they are.
+     *
+     * @param wff the formula
+     * @return the interned formula
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public WellFormedFormula intern(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        if (isInterned(wff)) {
+            return wff;
+        }
+        if (wff instanceof final KPredicate predicate) {
+            return predicate(predicate.getValue(), predicate.getTerms());
+        } else if (wff instanceof final Negation negation) {
+            return negation(negation.wff());
+        } else if (wff instanceof final Conjunction conjunction) {
+            return conjunction(conjunction.wff1(), conjunction.wff2());
+        } else if (wff instanceof final Disjunction disjunction) {
+            return disjunction(disjunction.wff1(), disjunction.wff2());
+        } else if (wff instanceof final Conditional conditional) {
+            return conditional(conditional.wff1(), conditional.wff2());
+        } else if (wff instanceof final UniversalQuantifier quantifier) {
+            return universal(quantifier.variable, quantifier.wff);
+        } else if (wff instanceof final ExistentialQuantifier quantifier) {
+            return existential(quantifier.variable, quantifier.wff);
+        }
+        return wff;
+    }
+
+    /**
+     * Returns the interned canonical form of the given formula, so that the formulae which differ only in the variables
+     * of their quantifiers and in the order of the operands of their conjunctions and disjunctions are interned as the
+     * same object.
+     *
+     * @param wff the formula
+     * @return the interned canonical form
+     * @throws IllegalArgumentException if wff is {@code null}
+     * @see Canonicalizer
+     */
+    public WellFormedFormula canonical(final WellFormedFormula wff) {
+        return intern(Canonicalizer.canonicalize(wff));
+    }
+
+    /**
+     * Returns {@code true} if the given ids were given by the same factory to two different formulae, which are
+     * therefore not equal.
+     *
+     * @param id1 the first id
+     * @param id2 the second id
+     * @return {@code true} if the ids identify two different formulae of the same factory
+     */
+    static boolean areDistinct(final long id1, final long id2) {
+        return id1 != id2 && id1 != 0 && id2 != 0 && (id1 ^ id2) >>> 32 == 0;
+    }
+
+    private WellFormedFormula internOrNull(final WellFormedFormula wff) {
+        return wff == null ? null : intern(wff);
+    }
+
+    // the key's subformulae are already interned, so looking it up compares them by reference
+    // a node is created at most once per key, so neither ids nor atoms are wasted
+    private WellFormedFormula intern(final WellFormedFormula key, final Supplier<WellFormedFormula> node) {
+        final WellFormedFormula wff = table.get(key);
+        return wff != null ? wff : table.computeIfAbsent(key, k -> node.get());
+    }
+
+    private long nextId() {
+        return factory | ids.incrementAndGet();
+    }
+}
@@ -0,0 +1,185 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A valuation of a list of formulae which is updated incrementally when the truth-value of one symbol changes.
+ * <p>
+ * Each subformula is represented by a node which caches its last truth-value and knows its parents. When a symbol
+ * changes, only the nodes on the paths from that symbol to the formulae are recomputed, in order of height, and the
+ * propagation stops at the nodes whose truth-value did not change. Identical subformulae share the same node.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class IncrementalValuation {
+
+    private static final int SYMBOL = 0;
+    private static final int NOT = 1;
+    private static final int AND = 2;
+    private static final int OR = 3;
+    private static final int IMPLIES = 4;
+
+    private final Node[] symbols;
+    private final Map<WellFormedFormula, Node> nodes = new HashMap<>();
+    private final List<List<Node>> dirty = new ArrayList<>();
+
+    private int trueFormulae;
+
+    /**
+     * Creates a new incremental valuation of the given formulae, in which all the symbols are false.
+     *
+     * @param formulae the formulae
+     * @param index    a map containing the position of the symbols
+     * @param n        the number of positions
+     * @throws IllegalArgumentException if formulae or index is {@code null}
+     * @throws MissingSymbolException   if a symbol of a formula has no position
+     */
+    public IncrementalValuation(final List<WellFormedFormula> formulae, final Map<KPredicate, Integer> index,
+                                final int n) throws MissingSymbolException {
+        if (formulae == null || index == null) {
+            throw new IllegalArgumentException("formulae and index cannot be null");
+        }
+        symbols = new Node[n];
+        for (int i = 0; i < n; i++) {
+            symbols[i] = new Node(SYMBOL, null, null);
+        }
+        for (final WellFormedFormula wff : formulae) {
+            final Node node = build(wff, index);
+            node.formulae++;
+            if (node.value) {
+                trueFormulae++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of formulae which are true under the current valuation.
+     *
+     * @return the number of formulae which are true
+     */
+    public int getTrueFormulae() {
+        return trueFormulae;
+    }
+
+    /**
+     * Changes the truth-value of the symbol at the given position, and updates the truth-values of the formulae.
+     *
+     * @param i the position of the symbol
+     * @throws IndexOutOfBoundsException if there is no symbol at the given position
+     */
+    public void flip(final int i) {
+        final Node symbol = symbols[i];
+        symbol.value = !symbol.value;
+        changed(symbol);
+        for (int h = 1; h < dirty.size(); h++) {
+            final List<Node> level = dirty.get(h);
+            for (int j = 0; j < level.size(); j++) {
+                final Node node = level.get(j);
+                node.dirty = false;
+                if (node.update()) {
+                    changed(node);
+                }
+            }
+            level.clear();
+        }
+    }
+
+    private void changed(final Node node) {
+        if (node.formulae != 0) {
+            trueFormulae += node.value ? node.formulae : -node.formulae;
+        }
+        for (final Node parent : node.parents) {
+            if (!parent.dirty) {
+                parent.dirty = true;
+                dirty.get(parent.height).add(parent);
+            }
+        }
+    }
+
+    private Node build(final WellFormedFormula wff, final Map<KPredicate, Integer> index)
+            throws MissingSymbolException {
+        if (wff instanceof final Quantifier quantifier) {
+            return build(quantifier.wff, index);
+        }
+        if (wff instanceof final AtomicCondition condition) {
+            return build(condition.getPredicate(), index);
+        }
+        Node node = nodes.get(wff);
+        if (node != null) {
+            return node;
+        }
+        if (wff instanceof KPredicate) {
+            final Integer i = index.get(wff);
+            if (i == null) {
+                throw new MissingSymbolException(wff.toString());
+            }
+            node = symbols[i];
+        } else if (wff instanceof final Negation negation) {
+            node = new Node(NOT, build(negation.wff(), index), null);
+        } else if (wff instanceof final Conjunction conjunction) {
+            node = new Node(AND, build(conjunction.wff1(), index), build(conjunction.wff2(), index));
+        } else if (wff instanceof final Disjunction disjunction) {
+            node = new Node(OR, build(disjunction.wff1(), index), build(disjunction.wff2(), index));
+        } else if (wff instanceof final Conditional conditional) {
+            node = new Node(IMPLIES, build(conditional.wff1(), index), build(conditional.wff2(), index));
+        } else {
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+        while (dirty.size() <= node.height) {
+            dirty.add(new ArrayList<>());
+        }
+        nodes.put(wff, node);
+        return node;
+    }
+
+    private static class Node {
+
+        private final int operator;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final List<Node> parents = new ArrayList<>(2);
+
+        private boolean value;
+        private boolean dirty;
+        private int formulae;
+
+        private Node(final int operator, final Node left, final Node right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+            int h = 0;
+            if (left != null) {
+                left.parents.add(this);
+                h = left.height;
+            }
+            if (right != null) {
+                right.parents.add(this);
+                h = Math.max(h, right.height);
+            }
+            height = operator == SYMBOL ? 0 : h + 1;
+            update();
+        }
+
+        // recomputes the truth-value from the children's, and returns true if it changed
+        private boolean update() {
+            final boolean b = switch (operator) {
+                case NOT -> !left.value;
+                case AND -> left.value && right.value;
+                case OR -> left.value || right.value;
+                case IMPLIES -> !left.value || right.value;
+                default -> value;
+            };
+            if (b == value) {
+                return false;
+            }
+            value = b;
+            return true;
+        }
+    }
+}
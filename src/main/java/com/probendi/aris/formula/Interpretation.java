@@ -0,0 +1,231 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An interpretation of a quantifier logic language, i.e., a q-valuation, which is made of a finite domain of
+ * individuals, numbered from {@code 0}, of the individuals denoted by the names, and of the extension of each
+ * predicate.
+ * <p>
+ * The extension of a predicate is a bitset, whose bit {@code i} is set if the predicate is true of the tuple of
+ * individuals of index {@code i}, i.e., {@code d0 + d1 * n + d2 * n * n + ...}, where {@code n} is the size of the
+ * domain. So, the extension of a predicate with a single term has a bit per individual, and the formulae which apply
+ * such predicates to a variable are valuated for all the individuals at once, e.g., {@code ∀x(Fx → Gx)} is true if
+ * {@code ~F | G} has all its bits set.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Interpretation {
+
+    private final int size;
+    private final Map<String, Integer> names = new HashMap<>();
+    private final Map<String, Integer> arities = new HashMap<>();
+    private final Map<String, BitSet> extensions = new HashMap<>();
+
+    /**
+     * Creates a new interpretation over a domain of the given size, where no name denotes an individual and no
+     * predicate has an extension.
+     *
+     * @param size the number of individuals
+     * @throws IllegalArgumentException if size is less than {@code 1}
+     */
+    public Interpretation(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of individuals of the domain.
+     *
+     * @return the number of individuals
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Makes the given name denote the given individual.
+     *
+     * @param name       the name
+     * @param individual the individual
+     * @return this interpretation
+     * @throws IllegalArgumentException if name is {@code null} or empty, or if individual is not in the domain
+     */
+    public Interpretation setName(final String name, final int individual) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name cannot be null or empty");
+        }
+        checkIndividual(individual);
+        names.put(name, individual);
+        return this;
+    }
+
+    /**
+     * Sets the truth-value of the given predicate for the given individuals, giving the predicate an empty extension
+     * if it has none.
+     *
+     * @param predicate   the predicate's symbol
+     * @param value       the truth-value
+     * @param individuals the individuals, one per term
+     * @return this interpretation
+     * @throws IllegalArgumentException if predicate is {@code null} or empty, if there are no individuals or an
+     *                                  individual is not in the domain, or if the predicate has another number of
+     *                                  terms
+     */
+    public Interpretation set(final String predicate, final boolean value, final int... individuals) {
+        if (predicate == null || predicate.isBlank()) {
+            throw new IllegalArgumentException("predicate cannot be null or empty");
+        }
+        if (individuals == null || individuals.length == 0) {
+            throw new IllegalArgumentException("individuals cannot be null or empty");
+        }
+        final int arity = arities.computeIfAbsent(predicate, k -> individuals.length);
+        if (arity != individuals.length) {
+            throw new IllegalArgumentException(String.format("%s has %d terms", predicate, arity));
+        }
+        for (final int individual : individuals) {
+            checkIndividual(individual);
+        }
+        extensions.computeIfAbsent(predicate, k -> new BitSet()).set(tuple(individuals), value);
+        return this;
+    }
+
+    /**
+     * Sets the extension of the given predicate with a single term.
+     *
+     * @param predicate  the predicate's symbol
+     * @param extension  the individuals of which the predicate is true
+     * @return this interpretation
+     * @throws IllegalArgumentException if predicate is {@code null} or empty, if extension is {@code null} or has an
+     *                                  individual which is not in the domain, or if the predicate has more terms
+     */
+    public Interpretation setExtension(final String predicate, final BitSet extension) {
+        if (predicate == null || predicate.isBlank()) {
+            throw new IllegalArgumentException("predicate cannot be null or empty");
+        }
+        if (extension == null) {
+            throw new IllegalArgumentException("extension cannot be null");
+        }
+        if (extension.length() > size) {
+            throw new IllegalArgumentException("extension cannot exceed the domain");
+        }
+        if (arities.computeIfAbsent(predicate, k -> 1) != 1) {
+            throw new IllegalArgumentException(String.format("%s has %d terms", predicate, arities.get(predicate)));
+        }
+        extensions.put(predicate, (BitSet) extension.clone());
+        return this;
+    }
+
+    /**
+     * Returns the extension of the given predicate.
+     *
+     * @param predicate the predicate's symbol
+     * @return a copy of the extension, or {@code null} if the predicate has no extension
+     */
+    public BitSet getExtension(final String predicate) {
+        final BitSet extension = extensions.get(predicate);
+        return extension == null ? null : (BitSet) extension.clone();
+    }
+
+    // the truth-value of a predicate, whose variables are bound to the individuals of the assignment
+    boolean valuate(final KPredicate predicate, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        final List<String> terms = predicate.getTerms();
+        final BitSet extension = extensions.get(predicate.getValue());
+        if (extension == null || arities.get(predicate.getValue()) != terms.size()) {
+            throw new MissingSymbolException(predicate.toString());
+        }
+        final int[] individuals = new int[terms.size()];
+        for (int i = 0; i < individuals.length; i++) {
+            Integer d = assignment.get(terms.get(i));
+            if (d == null && (d = names.get(terms.get(i))) == null) {
+                throw new MissingSymbolException(terms.get(i));
+            }
+            individuals[i] = d;
+        }
+        return extension.get(tuple(individuals));
+    }
+
+    /*
+     * Returns the individuals which satisfy a formula when they are assigned to the given variable, or null if the
+     * formula cannot be valuated for all of them at once, i.e., if it applies a predicate with more terms to the
+     * variable, or has a quantifier of another variable.
+     */
+    BitSet extension(final WellFormedFormula wff, final String variable, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        if (wff instanceof final KPredicate predicate) {
+            if (predicate.getTerms().size() == 1 && predicate.getTerms().get(0).equals(variable)) {
+                final BitSet extension = extensions.get(predicate.getValue());
+                if (extension == null || arities.get(predicate.getValue()) != 1) {
+                    throw new MissingSymbolException(predicate.toString());
+                }
+                return (BitSet) extension.clone();
+            }
+            return predicate.getTerms().contains(variable) ? null : constant(valuate(predicate, assignment));
+        } else if (wff instanceof final Negation negation) {
+            final BitSet a = extension(negation.wff(), variable, assignment);
+            if (a != null) {
+                a.flip(0, size);
+            }
+            return a;
+        } else if (wff instanceof final Conjunction conjunction) {
+            final BitSet a = extension(conjunction.wff1(), variable, assignment);
+            final BitSet b = a == null ? null : extension(conjunction.wff2(), variable, assignment);
+            if (b != null) {
+                a.and(b);
+            }
+            return b == null ? null : a;
+        } else if (wff instanceof final Disjunction disjunction) {
+            final BitSet a = extension(disjunction.wff1(), variable, assignment);
+            final BitSet b = a == null ? null : extension(disjunction.wff2(), variable, assignment);
+            if (b != null) {
+                a.or(b);
+            }
+            return b == null ? null : a;
+        } else if (wff instanceof final Conditional conditional) {
+            final BitSet a = extension(conditional.wff1(), variable, assignment);
+            final BitSet b = a == null ? null : extension(conditional.wff2(), variable, assignment);
+            if (b != null) {
+                a.flip(0, size);
+                a.or(b);
+            }
+            return b == null ? null : a;
+        } else if (wff instanceof final Quantifier quantifier && quantifier.variable.equals(variable)) {
+            // the variable is bound again, so the formula is the same for all the individuals
+            return constant(quantifier.valuate(this, assignment));
+        }
+        return null;
+    }
+
+    private BitSet constant(final boolean value) {
+        final BitSet bits = new BitSet(size);
+        if (value) {
+            bits.set(0, size);
+        }
+        return bits;
+    }
+
+    private int tuple(final int[] individuals) {
+        long index = 0;
+        for (int i = individuals.length - 1; i >= 0; i--) {
+            index = index * size + individuals[i];
+            if (index > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many tuples");
+            }
+        }
+        return (int) index;
+    }
+
+    private void checkIndividual(final int individual) {
+        if (individual < 0 || individual >= size) {
+            throw new IllegalArgumentException("individual must be in the domain");
+        }
+    }
+}
@@ -12,11 +12,19 @@ import java.util.*;
  * <p>
  * {@code @Copyright}, 2023 Daniele Di Salvo
  */
-public class KPredicate implements WellFormedFormula {
+public final class KPredicate implements WellFormedFormula {
 
-    private final List<String> terms = new LinkedList<>();
+    private final List<String> terms;
 
     private final String value;
+    private final int hash;
+    private final long id;
+    private final int atom;
+    // the interned literals of this predicate
+    private final List<Condition> truthness;
+    private final List<Condition> falsehood;
+    // cached on demand without locking (see WellFormedFormula)
+    private Variables variables;
 
     /**
      * Creates a new k-ary predicate with the given symbol and term.
@@ -26,14 +34,7 @@ public class KPredicate implements WellFormedFormula {
      * @throws IllegalArgumentException if value or terms is {@code null} or empty
      */
     public KPredicate(final String value, final String term) {
-        if (value == null || value.isBlank()) {
-            throw new IllegalArgumentException("value cannot be null or empty");
-        }
-        if (term == null || term.isBlank()) {
-            throw new IllegalArgumentException("term cannot be null or empty");
-        }
-        this.value = value;
-        this.terms.add(term);
+        this(value, List.of(checkTerm(term)));
     }
 
     /**
@@ -44,6 +45,11 @@ public class KPredicate implements WellFormedFormula {
      * @throws IllegalArgumentException if value or terms is {@code null} or empty
      */
     public KPredicate(final String value, final List<String> terms) {
+        this(value, terms, 0, -1);
+    }
+
+    // creates an atom of a formula factory and of its symbol table
+    KPredicate(final String value, final List<String> terms, final long id, final int atom) {
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("value cannot be null or empty");
         }
@@ -51,7 +57,19 @@ public class KPredicate implements WellFormedFormula {
             throw new IllegalArgumentException("terms cannot be null or empty");
         }
         this.value = value;
-        this.terms.addAll(terms);
+        this.terms = List.copyOf(terms);
+        this.hash = Objects.hash(this.terms, value);
+        this.id = id;
+        this.atom = atom;
+        this.truthness = List.of(new AtomicCondition(this, true));
+        this.falsehood = List.of(new AtomicCondition(this, false));
+    }
+
+    private static String checkTerm(final String term) {
+        if (term == null || term.isBlank()) {
+            throw new IllegalArgumentException("term cannot be null or empty");
+        }
+        return term;
     }
 
     String getValue() {
@@ -62,18 +80,47 @@ public class KPredicate implements WellFormedFormula {
         return terms;
     }
 
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public Variables getVariables() {
+        Variables v = variables;
+        if (v == null) {
+            v = Variables.of(this);
+            variables = v;
+        }
+        return v;
+    }
+
+    /**
+     * Returns the id of this atom in the symbol table of its formula factory.
+     *
+     * @return the id, or {@code -1} if this atom was not created by a formula factory
+     */
+    public int getAtom() {
+        return atom;
+    }
+
     boolean hasVariable() {
         return getTerms().size() == 1 && getTerms().get(0).charAt(0) >= 'x';
     }
 
+    // the literal of this predicate with the given truth-value
+    AtomicCondition literal(final boolean value) {
+        return (AtomicCondition) (value ? truthness : falsehood).get(0);
+    }
+
     @Override
     public List<Condition> determineFalsehoodConditions() {
-        return List.of(new AtomicCondition(this).setFalse());
+        return falsehood;
     }
 
     @Override
     public List<Condition> determineTruthnessConditions() {
-        return List.of(new AtomicCondition(this).setTrue());
+        return truthness;
     }
 
     @Override
@@ -87,12 +134,45 @@ public class KPredicate implements WellFormedFormula {
         return values.get(this);
     }
 
+    @Override
+    public long valuate(final Map<KPredicate, Integer> index, final long[] words) throws MissingSymbolException {
+        if (index == null || words == null) {
+            throw new IllegalArgumentException("index and words cannot be null");
+        }
+        final Integer i = index.get(this);
+        if (i == null) {
+            throw new MissingSymbolException(this.toString());
+        }
+        return words[i];
+    }
+
+    @Override
+    public boolean valuate(final SymbolTable symbols, final boolean[] values) throws MissingSymbolException {
+        if (symbols == null || values == null) {
+            throw new IllegalArgumentException("symbols and values cannot be null");
+        }
+        final int i = symbols.getAtomId(this);
+        if (i == -1 || i >= values.length) {
+            throw new MissingSymbolException(this.toString());
+        }
+        return values[i];
+    }
+
+    @Override
+    public boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        if (interpretation == null || assignment == null) {
+            throw new IllegalArgumentException("interpretation and assignment cannot be null");
+        }
+        return interpretation.valuate(this, assignment);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof KPredicate that)) {
+        if (!(o instanceof KPredicate that) || hash != that.hash || FormulaFactory.areDistinct(id, that.id)) {
             return false;
         }
         return terms.equals(that.terms) && value.equals(that.value);
@@ -100,7 +180,7 @@ public class KPredicate implements WellFormedFormula {
 
     @Override
     public int hashCode() {
-        return Objects.hash(terms, value);
+        return hash;
     }
 
     @Override
@@ -116,10 +196,22 @@ public class KPredicate implements WellFormedFormula {
      * @return the parsed k-predicate
      */
     public static KPredicate parse(final String symbol, final Queue<Token> tokens) {
+        return parse(symbol, tokens, new FormulaFactory());
+    }
+
+    /**
+     * Parses the given tokens and creates a new k-ary predicate with the given symbol, interned by the given factory.
+     *
+     * @param symbol  the predicate's symbol
+     * @param tokens  the tokens to be parsed
+     * @param factory the formula factory
+     * @return the parsed k-predicate
+     */
+    public static KPredicate parse(final String symbol, final Queue<Token> tokens, final FormulaFactory factory) {
         final List<String> terms = new LinkedList<>();
         while (tokens.peek() instanceof ProperName || tokens.peek() instanceof Variable) {
             terms.add(tokens.remove().getValue());
         }
-        return new KPredicate(symbol, terms);
+        return factory.predicate(symbol, terms);
     }
 }
@@ -0,0 +1,479 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.sat.Solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Searches for a finite countermodel of an argument, i.e., for a domain and an interpretation of its names and
+ * predicates which make its premises true and its conclusion false, with the usual semantics of the quantifiers.
+ * <p>
+ * The formulae are put into negation normal form, and the existential quantifiers which are not within a universal
+ * quantifier are replaced by new constants. Then, the domains of size 1, 2, 3, ... are tried in turn, up to a limit,
+ * grounding the formulae into the clauses of a single {@link Solver}. When the domain grows, only the instances of the
+ * new individual are added, and the solver keeps the clauses it learned. The clauses which only hold for a given size,
+ * i.e., that an existential quantifier has a witness and that a constant denotes an individual among those of the
+ * domain, are guarded by a literal which is assumed only while that size is tried.
+ * <p>
+ * The individuals are interchangeable, so the constants are made to denote them in order: the first constant denotes
+ * the first individual, and any other constant denotes either an individual of a previous constant or the next one.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class ModelFinder {
+
+    /**
+     * The default maximum size of a domain.
+     */
+    public static final int DEFAULT_MAX_SIZE = 8;
+
+    private final int maxSize;
+    private Solver solver;
+    private int size;
+    private int activation;
+    // the constants, in order of appearance, and the variables which make them denote each individual
+    private final List<String> constants = new ArrayList<>();
+    private final Map<String, Integer> constantIds = new HashMap<>();
+    private final List<List<Integer>> denotations = new ArrayList<>();
+    private final Map<Atom, Integer> atoms = new LinkedHashMap<>();
+    private final Map<Instance, Integer> definitions = new HashMap<>();
+    private final List<Instance> universals = new ArrayList<>();
+    private final List<Instance> existentials = new ArrayList<>();
+    private final List<Instance> literals = new ArrayList<>();
+    private final Map<Instance, Integer> variables = new HashMap<>();
+    private Map<KPredicate, Boolean> model;
+    private Map<String, Integer> interpretation;
+
+    /**
+     * Creates a new model finder with the default maximum size of a domain.
+     */
+    public ModelFinder() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new model finder with the given maximum size of a domain.
+     *
+     * @param maxSize the maximum size of a domain
+     * @throws IllegalArgumentException if maxSize is less than {@code 1}
+     */
+    public ModelFinder(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the maximum size of a domain.
+     *
+     * @return the maximum size of a domain
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns {@code true} if there is a countermodel of the given argument whose domain is not larger than the
+     * maximum size, i.e., a model of the premises and of the negation of the conclusion.
+     *
+     * @param premises   the premises
+     * @param conclusion the conclusion, or {@code null} if only the premises should be satisfied
+     * @return {@code true} if a countermodel was found
+     * @throws IllegalArgumentException      if premises is {@code null} or contains {@code null}
+     * @throws UnsupportedOperationException if a formula is neither a predicate, nor a connective, nor a quantifier
+     */
+    public boolean findCountermodel(final List<WellFormedFormula> premises, final WellFormedFormula conclusion) {
+        if (premises == null) {
+            throw new IllegalArgumentException("premises cannot be null");
+        }
+        reset();
+        final List<WellFormedFormula> formulae = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (final WellFormedFormula premise : premises) {
+            if (premise == null) {
+                throw new IllegalArgumentException("premises cannot contain null");
+            }
+            formulae.add(premise);
+        }
+        if (conclusion != null) {
+            formulae.add(new Negation(conclusion));
+        }
+        for (final WellFormedFormula wff : formulae) {
+            names.addAll(wff.getVariables().names());
+        }
+        final List<WellFormedFormula> normal = new ArrayList<>();
+        for (final WellFormedFormula wff : formulae) {
+            normal.add(normalize(wff, true, false, names));
+        }
+        for (final WellFormedFormula wff : normal) {
+            collectConstants(wff, new HashSet<>());
+        }
+        for (int i = 0; i < constants.size(); i++) {
+            denotations.add(new ArrayList<>());
+        }
+
+        grow();
+        for (final WellFormedFormula wff : normal) {
+            solver.addClause(encode(wff, Map.of()));
+        }
+        while (true) {
+            if (solver.solve(activation)) {
+                extractModel();
+                return true;
+            }
+            if (size == maxSize) {
+                return false;
+            }
+            grow();
+        }
+    }
+
+    /**
+     * Returns the size of the domain of the last countermodel.
+     *
+     * @return the size of the domain, or {@code 0} if no countermodel was found
+     */
+    public int getSize() {
+        return model == null ? 0 : size;
+    }
+
+    /**
+     * Returns the predicates of the last countermodel, whose terms are the indexes of the individuals of the domain,
+     * e.g., {@code L[0, 1]}.
+     *
+     * @return the truth-values of the predicates, or {@code null} if no countermodel was found
+     */
+    public Map<KPredicate, Boolean> getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the individuals denoted by the names of the last countermodel, including the names which replaced the
+     * existential quantifiers.
+     *
+     * @return the index of the individual of each name, or {@code null} if no countermodel was found
+     */
+    public Map<String, Integer> getInterpretation() {
+        return interpretation;
+    }
+
+    /**
+     * Returns the last countermodel as a q-valuation, e.g., to valuate other formulae under it. The predicates without
+     * terms have no extension.
+     *
+     * @return the q-valuation, or {@code null} if no countermodel was found
+     */
+    public Interpretation getCountermodel() {
+        if (model == null) {
+            return null;
+        }
+        final Interpretation countermodel = new Interpretation(size);
+        interpretation.forEach(countermodel::setName);
+        model.forEach((predicate, value) -> {
+            final List<String> terms = predicate.getTerms();
+            if (!terms.isEmpty()) {
+                countermodel.set(predicate.getValue(), value, terms.stream().mapToInt(Integer::parseInt).toArray());
+            }
+        });
+        return countermodel;
+    }
+
+    private void reset() {
+        solver = new Solver();
+        size = 0;
+        constants.clear();
+        constantIds.clear();
+        denotations.clear();
+        atoms.clear();
+        definitions.clear();
+        universals.clear();
+        existentials.clear();
+        literals.clear();
+        variables.clear();
+        model = null;
+        interpretation = null;
+    }
+
+    // puts a formula into negation normal form, replacing the outermost existential quantifiers by new constants
+    private static WellFormedFormula normalize(final WellFormedFormula wff, final boolean positive,
+                                               final boolean universal, final Set<String> names) {
+        if (wff instanceof final KPredicate predicate) {
+            return positive ? predicate : new Negation(predicate);
+        } else if (wff instanceof final Negation negation) {
+            return normalize(negation.wff(), !positive, universal, names);
+        } else if (wff instanceof final Conjunction conjunction) {
+            final WellFormedFormula a = normalize(conjunction.wff1(), positive, universal, names);
+            final WellFormedFormula b = normalize(conjunction.wff2(), positive, universal, names);
+            return positive ? new Conjunction(a, b) : new Disjunction(a, b);
+        } else if (wff instanceof final Disjunction disjunction) {
+            final WellFormedFormula a = normalize(disjunction.wff1(), positive, universal, names);
+            final WellFormedFormula b = normalize(disjunction.wff2(), positive, universal, names);
+            return positive ? new Disjunction(a, b) : new Conjunction(a, b);
+        } else if (wff instanceof final Conditional conditional) {
+            final WellFormedFormula a = normalize(conditional.wff1(), !positive, universal, names);
+            final WellFormedFormula b = normalize(conditional.wff2(), positive, universal, names);
+            return positive ? new Disjunction(a, b) : new Conjunction(a, b);
+        } else if (wff instanceof final Quantifier quantifier) {
+            final boolean isUniversal = (quantifier instanceof UniversalQuantifier) == positive;
+            if (isUniversal) {
+                return new UniversalQuantifier(quantifier.variable,
+                        normalize(quantifier.wff, positive, true, names));
+            }
+            if (!universal) {
+                final String constant = newConstant(names);
+                return normalize(Tableau.substitute(quantifier.wff, quantifier.variable, constant), positive, false,
+                        names);
+            }
+            return new ExistentialQuantifier(quantifier.variable, normalize(quantifier.wff, positive, true, names));
+        } else if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+    }
+
+    // the first constant which is not a name of the argument: c, c', c'', ...
+    private static String newConstant(final Set<String> names) {
+        String constant = "c";
+        while (!names.add(constant)) {
+            constant += "'";
+        }
+        return constant;
+    }
+
+    // the terms which are not bound by a quantifier are constants, including the free variables
+    private void collectConstants(final WellFormedFormula wff, final Set<String> bound) {
+        if (wff instanceof final KPredicate predicate) {
+            for (final String term : predicate.getTerms()) {
+                if (!bound.contains(term) && !constantIds.containsKey(term)) {
+                    constantIds.put(term, constants.size());
+                    constants.add(term);
+                }
+            }
+        } else if (wff instanceof final Negation negation) {
+            collectConstants(negation.wff(), bound);
+        } else if (wff instanceof final Conjunction conjunction) {
+            collectConstants(conjunction.wff1(), bound);
+            collectConstants(conjunction.wff2(), bound);
+        } else if (wff instanceof final Disjunction disjunction) {
+            collectConstants(disjunction.wff1(), bound);
+            collectConstants(disjunction.wff2(), bound);
+        } else if (wff instanceof final Quantifier quantifier) {
+            final Set<String> inner = new HashSet<>(bound);
+            inner.add(quantifier.variable);
+            collectConstants(quantifier.wff, inner);
+        }
+    }
+
+    // adds an individual to the domain, together with the instances of the formulae encoded so far
+    private void grow() {
+        final int d = size++;
+        final int u = universals.size();
+        final int e = existentials.size();
+        final int l = literals.size();
+        activation = solver.newVariable();
+        for (int i = 0; i < constants.size(); i++) {
+            final List<Integer> denotation = denotations.get(i);
+            final int v = solver.newVariable();
+            for (final int other : denotation) {
+                solver.addClause(-other, -v);
+            }
+            denotation.add(v);
+            if (d > i) {
+                // the i-th constant denotes one of the first i + 1 individuals
+                solver.addClause(-v);
+            } else if (d > 0) {
+                // a constant denotes a new individual only if the previous constants denote the previous one
+                final int[] clause = new int[i + 1];
+                clause[0] = -v;
+                for (int j = 0; j < i; j++) {
+                    clause[j + 1] = denotations.get(j).get(d - 1);
+                }
+                solver.addClause(clause);
+            }
+            solver.addClause(guarded(denotation));
+        }
+        // the formulae encoded while adding the instances already have those of the new individual
+        for (int i = 0; i < u; i++) {
+            final Instance universal = universals.get(i);
+            final Quantifier q = (Quantifier) universal.wff();
+            solver.addClause(-definitions.get(universal), encode(q.wff, bind(universal.env(), q.variable, d)));
+        }
+        for (int i = 0; i < e; i++) {
+            addWitnesses(existentials.get(i));
+        }
+        for (int i = 0; i < l; i++) {
+            addLiteral(literals.get(i), d);
+        }
+    }
+
+    // returns a literal which implies the given formula, in negation normal form, under the given binding
+    private int encode(final WellFormedFormula wff, final Map<String, Integer> env) {
+        if (wff instanceof final KPredicate predicate) {
+            return literal(predicate, true, env);
+        } else if (wff instanceof final Negation negation) {
+            return literal((KPredicate) negation.wff(), false, env);
+        }
+        final Instance instance = new Instance(wff, env);
+        final Integer definition = definitions.get(instance);
+        if (definition != null) {
+            return definition;
+        }
+        final int v = solver.newVariable();
+        definitions.put(instance, v);
+        if (wff instanceof final Conjunction conjunction) {
+            solver.addClause(-v, encode(conjunction.wff1(), env));
+            solver.addClause(-v, encode(conjunction.wff2(), env));
+        } else if (wff instanceof final Disjunction disjunction) {
+            solver.addClause(-v, encode(disjunction.wff1(), env), encode(disjunction.wff2(), env));
+        } else if (wff instanceof final UniversalQuantifier quantifier) {
+            universals.add(instance);
+            for (int d = 0; d < size; d++) {
+                solver.addClause(-v, encode(quantifier.wff, bind(env, quantifier.variable, d)));
+            }
+        } else if (wff instanceof ExistentialQuantifier) {
+            existentials.add(instance);
+            addWitnesses(instance);
+        } else {
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+        return v;
+    }
+
+    // an existential quantifier has a witness among the individuals of the current domain
+    private void addWitnesses(final Instance existential) {
+        final Quantifier q = (Quantifier) existential.wff();
+        final int[] clause = new int[size + 2];
+        clause[0] = -definitions.get(existential);
+        for (int d = 0; d < size; d++) {
+            clause[d + 1] = encode(q.wff, bind(existential.env(), q.variable, d));
+        }
+        clause[size + 1] = -activation;
+        solver.addClause(clause);
+    }
+
+    // the literal of a predicate, which is an atom unless the predicate has constants
+    private int literal(final KPredicate predicate, final boolean positive, final Map<String, Integer> env) {
+        final List<Integer> elements = new ArrayList<>();
+        boolean ground = true;
+        for (final String term : predicate.getTerms()) {
+            final Integer d = env.get(term);
+            ground &= d != null;
+            elements.add(d);
+        }
+        if (ground) {
+            final int atom = atom(predicate.getValue(), elements);
+            return positive ? atom : -atom;
+        }
+        // the literal holds for the individuals denoted by its constants
+        final Instance instance = new Instance(positive ? predicate : new Negation(predicate), env);
+        final Integer v = variables.get(instance);
+        if (v != null) {
+            return v;
+        }
+        final int l = solver.newVariable();
+        variables.put(instance, l);
+        literals.add(instance);
+        for (int d = 0; d < size; d++) {
+            addLiteral(instance, d);
+        }
+        return l;
+    }
+
+    // adds the clauses of a literal with constants for the denotations whose greatest individual is 'd'
+    private void addLiteral(final Instance instance, final int d) {
+        final boolean positive = instance.wff() instanceof KPredicate;
+        final KPredicate predicate = positive ? (KPredicate) instance.wff() :
+                (KPredicate) ((Negation) instance.wff()).wff();
+        final List<Integer> free = new ArrayList<>();
+        for (final String term : predicate.getTerms()) {
+            final Integer c = constantIds.get(term);
+            if (!instance.env().containsKey(term) && !free.contains(c)) {
+                free.add(c);
+            }
+        }
+        final int[] tuple = new int[free.size()];
+        final int v = variables.get(instance);
+        do {
+            boolean greatest = false;
+            for (final int e : tuple) {
+                greatest |= e == d;
+            }
+            if (greatest) {
+                final int[] clause = new int[tuple.length + 2];
+                clause[0] = -v;
+                final Map<String, Integer> env = new HashMap<>(instance.env());
+                for (int i = 0; i < tuple.length; i++) {
+                    clause[i + 1] = -denotations.get(free.get(i)).get(tuple[i]);
+                    env.put(constants.get(free.get(i)), tuple[i]);
+                }
+                clause[tuple.length + 1] = literal(predicate, positive, env);
+                solver.addClause(clause);
+            }
+        } while (next(tuple, d + 1));
+    }
+
+    // the next tuple of individuals smaller than 'bound', in lexicographic order
+    private static boolean next(final int[] tuple, final int bound) {
+        for (int i = tuple.length - 1; i >= 0; i--) {
+            if (++tuple[i] < bound) {
+                return true;
+            }
+            tuple[i] = 0;
+        }
+        return false;
+    }
+
+    private int atom(final String letter, final List<Integer> elements) {
+        return atoms.computeIfAbsent(new Atom(letter, elements), k -> solver.newVariable());
+    }
+
+    // a constant denotes one of the individuals of the current domain
+    private int[] guarded(final List<Integer> denotation) {
+        final int[] clause = new int[denotation.size() + 1];
+        for (int i = 0; i < denotation.size(); i++) {
+            clause[i] = denotation.get(i);
+        }
+        clause[denotation.size()] = -activation;
+        return clause;
+    }
+
+    private static Map<String, Integer> bind(final Map<String, Integer> env, final String variable, final int d) {
+        final Map<String, Integer> bound = new HashMap<>(env);
+        bound.put(variable, d);
+        return bound;
+    }
+
+    private void extractModel() {
+        model = new LinkedHashMap<>();
+        for (final Map.Entry<Atom, Integer> entry : atoms.entrySet()) {
+            final List<String> terms = new ArrayList<>();
+            for (final int d : entry.getKey().elements()) {
+                terms.add(String.valueOf(d));
+            }
+            model.put(new KPredicate(entry.getKey().letter(), terms), solver.value(entry.getValue()));
+        }
+        interpretation = new LinkedHashMap<>();
+        for (int i = 0; i < constants.size(); i++) {
+            for (int d = 0; d < size; d++) {
+                if (solver.value(denotations.get(i).get(d))) {
+                    interpretation.put(constants.get(i), d);
+                }
+            }
+        }
+    }
+
+    // a predicate letter applied to individuals
+    private record Atom(String letter, List<Integer> elements) {
+    }
+
+    // a subformula whose variables are bound to individuals
+    private record Instance(WellFormedFormula wff, Map<String, Integer> env) {
+    }
+}
@@ -0,0 +1,443 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.sat.Solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Decides the monadic arguments, i.e., those whose predicates all have a single term, with the usual semantics of the
+ * quantifiers.
+ * <p>
+ * The individuals of a monadic interpretation which have no name can be told apart only by their types, i.e., by the
+ * combination of the predicates, applied to a variable, which they satisfy. So, a countermodel exists if and only if
+ * there is a set of types, with one individual each, which together with the named individuals makes the premises true
+ * and the conclusion false. A set of types is a bitmask, whose bit {@code t} is set if type {@code t} is inhabited, and
+ * the sets are searched in parallel by a fork-join pool.
+ * <p>
+ * For each set, the quantifiers range over its types and over the names: the predicates of a type are constants, and
+ * what is left, which only concerns the named individuals, is decided by a CDCL satisfiability solver. The types
+ * excluded by a universal quantifier of a formula are never searched, e.g., with {@code ∀x(Fx → Gx)} no set contains
+ * an individual which is F but not G.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class MonadicDecider {
+
+    /**
+     * The maximum number of predicates applied to a variable.
+     */
+    public static final int MAX_PREDICATES = 6;
+
+    /**
+     * The maximum number of types which can be inhabited, i.e., which are not excluded by a universal quantifier.
+     */
+    public static final int MAX_TYPES = 16;
+
+    private static final long GRAIN = 256;
+
+    private final ForkJoinPool pool;
+    private final List<String> predicates = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<WellFormedFormula> formulae = new ArrayList<>();
+    private long candidates;
+    private long types;
+
+    /**
+     * Creates a new decider which searches the sets of types in the common pool.
+     */
+    public MonadicDecider() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new decider which searches the sets of types in the given pool.
+     *
+     * @param pool the pool
+     * @throws IllegalArgumentException if pool is {@code null}
+     */
+    public MonadicDecider(final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Returns {@code true} if the given formulae are monadic, i.e., if all their predicates have a single term.
+     *
+     * @param formulae the formulae
+     * @return {@code true} if the formulae are monadic
+     * @throws IllegalArgumentException if formulae is {@code null}
+     */
+    public static boolean isMonadic(final List<WellFormedFormula> formulae) {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        for (final WellFormedFormula wff : formulae) {
+            if (!isMonadic(wff)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the given argument is monadic and has few enough predicates and types to be decided.
+     *
+     * @param premises   the premises
+     * @param conclusion the conclusion, or {@code null} if only the premises should be satisfied
+     * @return {@code true} if the argument can be decided
+     * @throws IllegalArgumentException if premises is {@code null} or contains {@code null}
+     */
+    public boolean isDecidable(final List<WellFormedFormula> premises, final WellFormedFormula conclusion) {
+        return prepare(premises, conclusion) && predicates.size() <= MAX_PREDICATES &&
+                Long.bitCount(candidates) <= MAX_TYPES;
+    }
+
+    /**
+     * Returns {@code true} if there is a countermodel of the given argument, i.e., a model of the premises and of the
+     * negation of the conclusion.
+     *
+     * @param premises   the premises
+     * @param conclusion the conclusion, or {@code null} if only the premises should be satisfied
+     * @return {@code true} if a countermodel was found
+     * @throws IllegalArgumentException if premises is {@code null} or contains {@code null}, or if the argument is not
+     *                                  monadic
+     * @throws IllegalStateException    if the argument has too many predicates or types
+     */
+    public boolean findCountermodel(final List<WellFormedFormula> premises, final WellFormedFormula conclusion) {
+        if (!prepare(premises, conclusion)) {
+            throw new IllegalArgumentException("argument must be monadic");
+        }
+        if (predicates.size() > MAX_PREDICATES) {
+            throw new IllegalStateException("too many predicates: " + predicates.size());
+        }
+        if (Long.bitCount(candidates) > MAX_TYPES) {
+            throw new IllegalStateException("too many types: " + Long.bitCount(candidates));
+        }
+        final AtomicBoolean found = new AtomicBoolean();
+        final AtomicLong model = new AtomicLong();
+        final Search search = new Search(0, 1L << Long.bitCount(candidates), found, model);
+        if (ForkJoinTask.inForkJoinPool()) {
+            search.invoke();
+        } else {
+            pool.invoke(search);
+        }
+        types = model.get();
+        return found.get();
+    }
+
+    /**
+     * Returns the predicates which are applied to a variable, in the order of the bits of a type.
+     *
+     * @return the predicates
+     */
+    public List<String> getPredicates() {
+        return List.copyOf(predicates);
+    }
+
+    /**
+     * Returns the types which can be inhabited, i.e., which are not excluded by a universal quantifier.
+     *
+     * @return the bitmask of the types
+     */
+    public long getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Returns the types of the individuals without a name of the last countermodel.
+     *
+     * @return the bitmask of the types
+     */
+    public long getTypes() {
+        return types;
+    }
+
+    private static boolean isMonadic(final WellFormedFormula wff) {
+        if (wff instanceof final KPredicate predicate) {
+            return predicate.getTerms().size() == 1;
+        } else if (wff instanceof final Negation negation) {
+            return isMonadic(negation.wff());
+        } else if (wff instanceof final Conjunction conjunction) {
+            return isMonadic(conjunction.wff1()) && isMonadic(conjunction.wff2());
+        } else if (wff instanceof final Disjunction disjunction) {
+            return isMonadic(disjunction.wff1()) && isMonadic(disjunction.wff2());
+        } else if (wff instanceof final Conditional conditional) {
+            return isMonadic(conditional.wff1()) && isMonadic(conditional.wff2());
+        } else if (wff instanceof final Quantifier quantifier) {
+            return isMonadic(quantifier.wff);
+        }
+        return false;
+    }
+
+    // collects the formulae, the predicates, the names and the candidate types of an argument
+    private boolean prepare(final List<WellFormedFormula> premises, final WellFormedFormula conclusion) {
+        if (premises == null) {
+            throw new IllegalArgumentException("premises cannot be null");
+        }
+        formulae.clear();
+        predicates.clear();
+        names.clear();
+        types = 0;
+        for (final WellFormedFormula premise : premises) {
+            if (premise == null) {
+                throw new IllegalArgumentException("premises cannot contain null");
+            }
+            formulae.add(premise);
+        }
+        if (conclusion != null) {
+            formulae.add(new Negation(conclusion));
+        }
+        if (!isMonadic(formulae)) {
+            return false;
+        }
+        final Set<String> quantified = new HashSet<>();
+        final Set<String> constants = new HashSet<>();
+        for (final WellFormedFormula wff : formulae) {
+            collect(wff, new HashSet<>(), quantified, constants);
+        }
+        predicates.addAll(quantified);
+        predicates.sort(null);
+        names.addAll(constants);
+        names.sort(null);
+        if (predicates.size() > MAX_PREDICATES) {
+            return true;
+        }
+        candidates = predicates.size() == MAX_PREDICATES ? -1L : (1L << (1 << predicates.size())) - 1;
+        for (final WellFormedFormula wff : formulae) {
+            candidates &= universal(wff, true);
+        }
+        return true;
+    }
+
+    // collects the predicates applied to a variable, and the terms which are not bound by a quantifier
+    private static void collect(final WellFormedFormula wff, final Set<String> bound, final Set<String> quantified,
+                                final Set<String> constants) {
+        if (wff instanceof final KPredicate predicate) {
+            final String term = predicate.getTerms().get(0);
+            if (bound.contains(term)) {
+                quantified.add(predicate.getValue());
+            } else {
+                constants.add(term);
+            }
+        } else if (wff instanceof final Negation negation) {
+            collect(negation.wff(), bound, quantified, constants);
+        } else if (wff instanceof final Conjunction conjunction) {
+            collect(conjunction.wff1(), bound, quantified, constants);
+            collect(conjunction.wff2(), bound, quantified, constants);
+        } else if (wff instanceof final Disjunction disjunction) {
+            collect(disjunction.wff1(), bound, quantified, constants);
+            collect(disjunction.wff2(), bound, quantified, constants);
+        } else if (wff instanceof final Conditional conditional) {
+            collect(conditional.wff1(), bound, quantified, constants);
+            collect(conditional.wff2(), bound, quantified, constants);
+        } else if (wff instanceof final Quantifier quantifier) {
+            final Set<String> inner = new HashSet<>(bound);
+            inner.add(quantifier.variable);
+            collect(quantifier.wff, inner, quantified, constants);
+        }
+    }
+
+    // the types allowed by the universal quantifiers of the conjuncts of a formula which is true or false
+    private long universal(final WellFormedFormula wff, final boolean positive) {
+        if (wff instanceof final Negation negation) {
+            return universal(negation.wff(), !positive);
+        } else if (wff instanceof final Conjunction conjunction && positive) {
+            return universal(conjunction.wff1(), true) & universal(conjunction.wff2(), true);
+        } else if (wff instanceof final Disjunction disjunction && !positive) {
+            return universal(disjunction.wff1(), false) & universal(disjunction.wff2(), false);
+        } else if (wff instanceof final Conditional conditional && !positive) {
+            return universal(conditional.wff1(), true) & universal(conditional.wff2(), false);
+        } else if (wff instanceof final Quantifier quantifier &&
+                (quantifier instanceof UniversalQuantifier) == positive && !hasQuantifiers(quantifier.wff)) {
+            long allowed = 0;
+            for (int t = 0; t < 1 << predicates.size(); t++) {
+                final Object value = evaluate(quantifier.wff, Map.of(quantifier.variable, t), 0);
+                // the formulae about a named individual exclude no type
+                if (!(value instanceof Boolean b) || b == positive) {
+                    allowed |= 1L << t;
+                }
+            }
+            return allowed;
+        }
+        return -1L;
+    }
+
+    private static boolean hasQuantifiers(final WellFormedFormula wff) {
+        if (wff instanceof final Negation negation) {
+            return hasQuantifiers(negation.wff());
+        } else if (wff instanceof final Conjunction conjunction) {
+            return hasQuantifiers(conjunction.wff1()) || hasQuantifiers(conjunction.wff2());
+        } else if (wff instanceof final Disjunction disjunction) {
+            return hasQuantifiers(disjunction.wff1()) || hasQuantifiers(disjunction.wff2());
+        } else if (wff instanceof final Conditional conditional) {
+            return hasQuantifiers(conditional.wff1()) || hasQuantifiers(conditional.wff2());
+        }
+        return wff instanceof Quantifier;
+    }
+
+    // the types of the unnamed individuals: the bits of 'candidates' selected by the bits of 'subset'
+    private long deposit(final long subset) {
+        long set = 0;
+        long c = candidates;
+        for (long s = subset; s != 0 && c != 0; s >>>= 1, c &= c - 1) {
+            if ((s & 1) != 0) {
+                set |= c & -c;
+            }
+        }
+        return set;
+    }
+
+    // returns true if the formulae have a model where the unnamed individuals have the given types
+    private boolean isModel(final long set) {
+        if (set == 0 && names.isEmpty()) {
+            return false;
+        }
+        final List<WellFormedFormula> residuals = new ArrayList<>();
+        for (final WellFormedFormula wff : formulae) {
+            final Object value = evaluate(wff, Map.of(), set);
+            if (value instanceof final Boolean b) {
+                if (!b) {
+                    return false;
+                }
+            } else {
+                residuals.add((WellFormedFormula) value);
+            }
+        }
+        if (residuals.isEmpty()) {
+            return true;
+        }
+        // what is left concerns the named individuals only
+        final CnfEncoder encoder = new CnfEncoder();
+        for (final WellFormedFormula residual : residuals) {
+            encoder.assertTrue(residual);
+        }
+        final Solver solver = new Solver();
+        return encoder.getClauses().addTo(solver) && solver.solve();
+    }
+
+    /*
+     * Evaluates a formula where each variable is bound to a type, if not negative, or to the name of index -1 - v.
+     * Returns a Boolean, or the formula which is left about the named individuals.
+     */
+    private Object evaluate(final WellFormedFormula wff, final Map<String, Integer> env, final long set) {
+        if (wff instanceof final KPredicate predicate) {
+            final String term = predicate.getTerms().get(0);
+            final Integer v = env.get(term);
+            if (v == null) {
+                return predicate;
+            }
+            if (v < 0) {
+                return new KPredicate(predicate.getValue(), names.get(-1 - v));
+            }
+            return ((v >>> predicates.indexOf(predicate.getValue())) & 1) != 0;
+        } else if (wff instanceof final Negation negation) {
+            final Object value = evaluate(negation.wff(), env, set);
+            return value instanceof final Boolean b ? !b : new Negation((WellFormedFormula) value);
+        } else if (wff instanceof final Conjunction conjunction) {
+            return and(evaluate(conjunction.wff1(), env, set), () -> evaluate(conjunction.wff2(), env, set));
+        } else if (wff instanceof final Disjunction disjunction) {
+            return or(evaluate(disjunction.wff1(), env, set), () -> evaluate(disjunction.wff2(), env, set));
+        } else if (wff instanceof final Conditional conditional) {
+            final Object a = evaluate(conditional.wff1(), env, set);
+            final Object na = a instanceof final Boolean b ? !b : new Negation((WellFormedFormula) a);
+            return or(na, () -> evaluate(conditional.wff2(), env, set));
+        } else if (wff instanceof final Quantifier quantifier) {
+            final boolean universal = quantifier instanceof UniversalQuantifier;
+            Object value = universal;
+            for (long s = set; s != 0; s &= s - 1) {
+                final Object instance = evaluate(quantifier.wff, bind(env, quantifier.variable,
+                        Long.numberOfTrailingZeros(s)), set);
+                final Object previous = value;
+                value = universal ? and(previous, () -> instance) : or(previous, () -> instance);
+                if (value instanceof Boolean b && b != universal) {
+                    return value;
+                }
+            }
+            for (int i = 0; i < names.size(); i++) {
+                final Object instance = evaluate(quantifier.wff, bind(env, quantifier.variable, -1 - i), set);
+                final Object previous = value;
+                value = universal ? and(previous, () -> instance) : or(previous, () -> instance);
+                if (value instanceof Boolean b && b != universal) {
+                    return value;
+                }
+            }
+            return value;
+        }
+        throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+    }
+
+    private static Object and(final Object a, final Supplier<Object> b) {
+        if (a instanceof final Boolean x) {
+            return x ? b.get() : false;
+        }
+        final Object value = b.get();
+        if (value instanceof final Boolean y) {
+            return y ? a : false;
+        }
+        return new Conjunction((WellFormedFormula) a, (WellFormedFormula) value);
+    }
+
+    private static Object or(final Object a, final Supplier<Object> b) {
+        if (a instanceof final Boolean x) {
+            return x ? true : b.get();
+        }
+        final Object value = b.get();
+        if (value instanceof final Boolean y) {
+            return y ? true : a;
+        }
+        return new Disjunction((WellFormedFormula) a, (WellFormedFormula) value);
+    }
+
+    private static Map<String, Integer> bind(final Map<String, Integer> env, final String variable, final int v) {
+        final Map<String, Integer> bound = new HashMap<>(env);
+        bound.put(variable, v);
+        return bound;
+    }
+
+    // splits the subsets of the candidate types into halves until they are few enough for a single worker
+    private class Search extends RecursiveAction {
+
+        private final long from;
+        private final long to;
+        private final AtomicBoolean found;
+        private final AtomicLong model;
+
+        Search(final long from, final long to, final AtomicBoolean found, final AtomicLong model) {
+            this.from = from;
+            this.to = to;
+            this.found = found;
+            this.model = model;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get()) {
+                return;
+            }
+            if (to - from <= GRAIN) {
+                for (long s = from; s < to && !found.get(); s++) {
+                    final long set = deposit(s);
+                    if (isModel(set) && found.compareAndSet(false, true)) {
+                        model.set(set);
+                    }
+                }
+            } else {
+                final long middle = (from + to) >>> 1;
+                invokeAll(new Search(from, middle, found, model), new Search(middle, to, found, model));
+            }
+        }
+    }
+}
@@ -8,12 +8,16 @@ import java.util.Objects;
 
 /**
  * Represents a negation (also known as NOT) operation.
- *
- * @param wff the argument
- *            <p>
- *            {@code @Copyright}, 2023 Daniele Di Salvo
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
  */
-public record Negation(WellFormedFormula wff) implements WellFormedFormula {
+public final class Negation implements WellFormedFormula {
+
+    private final WellFormedFormula wff;
+    private final int hash;
+    private final long id;
+    // cached on demand without locking (see WellFormedFormula)
+    private Variables variables;
 
     /**
      * Creates a new negation with the given well-formed formula.
@@ -21,10 +25,42 @@ public record Negation(WellFormedFormula wff) implements WellFormedFormula {
      * @param wff the symbol
      * @throws IllegalArgumentException if wff is null
      */
-    public Negation {
+    public Negation(final WellFormedFormula wff) {
+        this(wff, 0);
+    }
+
+    // creates a node of a formula factory
+    Negation(final WellFormedFormula wff, final long id) {
         if (wff == null) {
             throw new IllegalArgumentException("wff cannot be null");
         }
+        this.wff = wff;
+        this.hash = Objects.hash("¬", wff);
+        this.id = id;
+    }
+
+    /**
+     * Returns the argument.
+     *
+     * @return the argument
+     */
+    public WellFormedFormula wff() {
+        return wff;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public Variables getVariables() {
+        Variables v = variables;
+        if (v == null) {
+            v = Variables.of(this);
+            variables = v;
+        }
+        return v;
     }
 
     @Override
@@ -42,20 +78,36 @@ public record Negation(WellFormedFormula wff) implements WellFormedFormula {
         return !wff.valuate(values);
     }
 
+    @Override
+    public long valuate(final Map<KPredicate, Integer> index, final long[] words) throws MissingSymbolException {
+        return ~wff.valuate(index, words);
+    }
+
+    @Override
+    public boolean valuate(final SymbolTable symbols, final boolean[] values) throws MissingSymbolException {
+        return !wff.valuate(symbols, values);
+    }
+
+    @Override
+    public boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        return !wff.valuate(interpretation, assignment);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof Negation negation)) {
+        if (!(o instanceof Negation negation) || hash != negation.hash || FormulaFactory.areDistinct(id, negation.id)) {
             return false;
         }
-        return wff().equals(negation.wff());
+        return wff.equals(negation.wff);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(wff());
+        return hash;
     }
 
     @Override
@@ -0,0 +1,192 @@
+package com.probendi.aris.formula;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Plans the order in which the formulae of an argument are evaluated by a search for a countervaluation.
+ * <p>
+ * A valuation is ruled out as soon as a formula is true under it, so the formulae are evaluated in ascending order of
+ * their cost divided by their probability of being true, which minimizes the expected cost of ruling out a valuation.
+ * The cost and the probability of a formula are first estimated from its structure, assuming that each atom is true
+ * under half of the valuations, and then refined with the rate at which the formula was actually true during the
+ * search, which is periodically used to reorder the formulae.
+ * <p>
+ * A planner is not thread-safe, so each worker of a search has its own, which it carries across the parts of the
+ * search it is given, so that the statistics of a worker span more than {@link #REFRESH} valuations.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+final class Planner {
+
+    /**
+     * The number of valuations between two reorderings of the formulae.
+     */
+    static final int REFRESH = 1024;
+
+    // the weight of the estimated probability, as a number of observations
+    private static final double PRIOR = 16;
+
+    private final Program[] programs;
+    private final Integer[] ranked;
+    private final int[] order;
+    private final double[] ranks;
+    private final double[] hits;
+    private final double[] trials;
+    private int ticks;
+    private int reorders;
+
+    /**
+     * Creates a new planner of the given programs, which are ordered by their estimates.
+     *
+     * @param programs the programs
+     */
+    Planner(final Program[] programs) {
+        this.programs = programs;
+        this.ranked = new Integer[programs.length];
+        this.order = new int[programs.length];
+        this.ranks = new double[programs.length];
+        this.hits = new double[programs.length];
+        this.trials = new double[programs.length];
+        for (int i = 0; i < programs.length; i++) {
+            ranked[i] = i;
+        }
+        reorder();
+    }
+
+    /**
+     * Returns the indexes of the programs, in the order in which they should be evaluated. The order changes only when
+     * {@link #tick()} is called.
+     *
+     * @return the indexes of the programs
+     */
+    int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Records that the given program was evaluated under the given number of valuations, and that it was true under
+     * the given number of them.
+     *
+     * @param program the index of the program
+     * @param hits    the number of valuations which made the program true
+     * @param trials  the number of valuations
+     */
+    void record(final int program, final long hits, final long trials) {
+        this.hits[program] += hits;
+        this.trials[program] += trials;
+    }
+
+    /**
+     * Records that a valuation was searched, reordering the programs every {@link #REFRESH} valuations.
+     */
+    void tick() {
+        if (++ticks == REFRESH) {
+            ticks = 0;
+            reorders++;
+            reorder();
+        }
+    }
+
+    /**
+     * Returns the number of times the programs were reordered with the statistics of the search.
+     *
+     * @return the number of reorderings
+     */
+    int getReorders() {
+        return reorders;
+    }
+
+    private void reorder() {
+        for (int i = 0; i < programs.length; i++) {
+            final double probability = (hits[i] + PRIOR * programs[i].getProbability()) / (trials[i] + PRIOR);
+            ranks[i] = programs[i].getCost() / Math.max(probability, Double.MIN_NORMAL);
+        }
+        // a stable sort keeps the order of the programs with the same rank
+        Arrays.sort(ranked, Comparator.comparingDouble(i -> ranks[i]));
+        for (int i = 0; i < ranked.length; i++) {
+            order[i] = ranked[i];
+        }
+    }
+
+    /**
+     * Returns the estimated probability of the given formula being true and the expected number of instructions
+     * evaluated, with short-circuits, to find it, assuming that the atoms are independent and true under half of the
+     * valuations, and that the operands of the conjunctions and disjunctions are evaluated in the cheaper order.
+     *
+     * @param wff       the formula
+     * @param estimates the estimates of the subformulae computed so far
+     * @return the estimate
+     * @throws UnsupportedOperationException if the formula is neither a predicate, nor a connective, nor a quantifier
+     */
+    static Estimate estimate(final WellFormedFormula wff, final Map<WellFormedFormula, Estimate> estimates) {
+        final Estimate estimate = estimates.get(wff);
+        if (estimate != null) {
+            return estimate;
+        }
+        final Estimate e;
+        if (wff instanceof KPredicate) {
+            e = new Estimate(0.5, 1);
+        } else if (wff instanceof final AtomicCondition condition) {
+            e = estimate(condition.getPredicate(), estimates);
+        } else if (wff instanceof final Negation negation) {
+            final Estimate a = estimate(negation.wff(), estimates);
+            e = new Estimate(1 - a.probability(), a.cost() + 1);
+        } else if (wff instanceof final Quantifier quantifier) {
+            e = estimate(quantifier.wff, estimates);
+        } else if (wff instanceof final Conjunction conjunction) {
+            final Estimate a = estimate(conjunction.wff1(), estimates);
+            final Estimate b = estimate(conjunction.wff2(), estimates);
+            e = cheaper(and(a, b), and(b, a));
+        } else if (wff instanceof final Disjunction disjunction) {
+            final Estimate a = estimate(disjunction.wff1(), estimates);
+            final Estimate b = estimate(disjunction.wff2(), estimates);
+            e = cheaper(or(a, b), or(b, a));
+        } else if (wff instanceof final Conditional conditional) {
+            final Estimate a = estimate(conditional.wff1(), estimates);
+            final Estimate b = estimate(conditional.wff2(), estimates);
+            e = new Estimate(1 - a.probability() * (1 - b.probability()), a.cost() + a.probability() * b.cost() + 1);
+        } else {
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+        estimates.put(wff, e);
+        return e;
+    }
+
+    private static Estimate cheaper(final Estimate e1, final Estimate e2) {
+        return e2.cost() < e1.cost() ? e2 : e1;
+    }
+
+    /**
+     * Returns the estimate of the conjunction of the given operands, evaluated in the given order.
+     *
+     * @param a the estimate of the first operand
+     * @param b the estimate of the second operand
+     * @return the estimate
+     */
+    static Estimate and(final Estimate a, final Estimate b) {
+        return new Estimate(a.probability() * b.probability(), a.cost() + a.probability() * b.cost() + 1);
+    }
+
+    /**
+     * Returns the estimate of the disjunction of the given operands, evaluated in the given order.
+     *
+     * @param a the estimate of the first operand
+     * @param b the estimate of the second operand
+     * @return the estimate
+     */
+    static Estimate or(final Estimate a, final Estimate b) {
+        return new Estimate(1 - (1 - a.probability()) * (1 - b.probability()),
+                a.cost() + (1 - a.probability()) * b.cost() + 1);
+    }
+
+    /**
+     * The estimated probability of a formula being true and the expected cost of its evaluation.
+     *
+     * @param probability the probability of being true
+     * @param cost        the expected number of instructions evaluated
+     */
+    record Estimate(double probability, double cost) {
+    }
+}
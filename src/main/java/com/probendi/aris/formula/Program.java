@@ -0,0 +1,420 @@
+package com.probendi.aris.formula;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A well-formed formula compiled to a flat program in postfix order.
+ * <p>
+ * The program is an array of {@code int}, where {@link #LOAD} is followed by the id of an atom in a
+ * {@link SymbolTable}, and the other opcodes pop their operands from a stack and push their result. A single loop
+ * evaluates the program, so the evaluation makes no virtual calls. Quantifiers are transparent, as in
+ * {@link WellFormedFormula#valuate(java.util.Map)}.
+ * <p>
+ * The interpreter of a single valuation short-circuits the connectives whose first operand decides their result, and
+ * the operands of the conjunctions and disjunctions are compiled in the order which is expected to evaluate fewer
+ * instructions, e.g., {@code (Hn ∧ (Fn ∨ Gn))} rather than {@code ((Fn ∨ Gn) ∧ Hn)}.
+ * <p>
+ * Once a program has been evaluated a given number of times, under a single valuation or under 64 valuations at once,
+ * it generates a hidden class with the JVM bytecode of the formula, which is then used instead of both interpreters.
+ * A single valuation is packed into bits for {@link CompiledFormula#eval(long[])}.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Program implements CompiledFormula {
+
+    /**
+     * The default number of evaluations after which a program generates its bytecode.
+     */
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    /**
+     * Pushes the truth-value of the atom whose id follows.
+     */
+    public static final int LOAD = 0;
+    /**
+     * Pops a truth-value and pushes its negation.
+     */
+    public static final int NOT = 1;
+    /**
+     * Pops two truth-values and pushes their conjunction.
+     */
+    public static final int AND = 2;
+    /**
+     * Pops two truth-values and pushes their disjunction.
+     */
+    public static final int OR = 3;
+    /**
+     * Pops a consequent and an antecedent and pushes their material implication.
+     */
+    public static final int IMPLIES = 4;
+
+    private final int[] code;
+    private final int[] atoms;
+    // the number of words of the bits of a single valuation, which hold all the atoms loaded by this program
+    private final int bits;
+    // the pc of the connective whose second operand starts at each pc, or -1
+    private final int[] jumps;
+    private final int depth;
+    private final int threshold;
+    private final double probability;
+    private final double cost;
+    // the count may lose updates across threads, which only delays the generation
+    private int evaluations;
+    private volatile CompiledFormula bytecode;
+
+    private Program(final int[] code, final int depth, final int threshold, final Planner.Estimate estimate) {
+        this.code = code;
+        this.depth = depth;
+        this.threshold = threshold;
+        this.probability = estimate.probability();
+        this.cost = estimate.cost();
+        this.jumps = new int[code.length];
+        Arrays.fill(jumps, -1);
+        final BitSet loaded = new BitSet();
+        // the pcs where the operands on the stack start
+        final Deque<Integer> starts = new ArrayDeque<>();
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case LOAD -> {
+                    starts.push(pc);
+                    loaded.set(code[++pc]);
+                }
+                case NOT -> {
+                }
+                default -> jumps[starts.pop()] = pc;
+            }
+        }
+        this.atoms = loaded.stream().toArray();
+        this.bits = atoms.length == 0 ? 0 : (atoms[atoms.length - 1] >>> 6) + 1;
+    }
+
+    /**
+     * Compiles the given formula, adding its atoms to the given symbol table.
+     *
+     * @param wff     the formula
+     * @param symbols the symbol table
+     * @return the program
+     * @throws IllegalArgumentException if wff or symbols is {@code null}
+     */
+    public static Program compile(final WellFormedFormula wff, final SymbolTable symbols) {
+        return compile(wff, symbols, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Compiles the given formula, adding its atoms to the given symbol table.
+     *
+     * @param wff       the formula
+     * @param symbols   the symbol table
+     * @param threshold the number of evaluations after which the program generates its bytecode, or {@code 0} if it
+     *                  should never generate it
+     * @return the program
+     * @throws IllegalArgumentException if wff or symbols is {@code null}, or threshold is negative
+     */
+    public static Program compile(final WellFormedFormula wff, final SymbolTable symbols, final int threshold) {
+        return compile(wff, symbols, threshold, Map.of());
+    }
+
+    /**
+     * Compiles the given formula, loading its subformulae which have a slot from their slots, rather than compiling
+     * them, unless the subformula is the formula itself.
+     *
+     * @param wff       the formula
+     * @param symbols   the symbol table
+     * @param threshold the number of evaluations after which the program generates its bytecode, or {@code 0}
+     * @param slots     the slots of the subformulae evaluated elsewhere, which follow the ids of the atoms
+     * @return the program
+     * @throws IllegalArgumentException if wff or symbols is {@code null}, or threshold is negative
+     */
+    static Program compile(final WellFormedFormula wff, final SymbolTable symbols, final int threshold,
+                           final Map<WellFormedFormula, Integer> slots) {
+        if (wff == null || symbols == null) {
+            throw new IllegalArgumentException("wff and symbols cannot be null");
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold cannot be negative");
+        }
+        final Compiler compiler = new Compiler(symbols, slots, wff);
+        compiler.emit(wff);
+        return new Program(Arrays.copyOf(compiler.code, compiler.size), compiler.depth, threshold,
+                compiler.estimate(wff));
+    }
+
+    /**
+     * Returns the opcodes and operands.
+     *
+     * @return a copy of the opcodes and operands
+     */
+    public int[] getCode() {
+        return code.clone();
+    }
+
+    /**
+     * Returns the estimated probability of the formula being true, assuming that the atoms are independent and true
+     * under half of the valuations.
+     *
+     * @return the probability
+     */
+    public double getProbability() {
+        return probability;
+    }
+
+    /**
+     * Returns the expected number of instructions evaluated by the interpreter of a single valuation.
+     *
+     * @return the expected cost
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Returns the ids of the atoms loaded by this program.
+     *
+     * @return the ids of the atoms, in ascending order
+     */
+    public int[] getAtoms() {
+        return atoms.clone();
+    }
+
+    /**
+     * Returns the size of the stack needed by the evaluation.
+     *
+     * @return the size of the stack
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns {@code true} if this program evaluates with the generated bytecode.
+     *
+     * @return {@code true} if the bytecode was generated
+     */
+    public boolean isGenerated() {
+        return bytecode != null;
+    }
+
+    /**
+     * Generates the bytecode of this program, if it was not generated yet.
+     *
+     * @return the compiled formula, or {@code null} if this program is too large for a JVM method
+     */
+    public CompiledFormula generate() {
+        if (bytecode == null) {
+            bytecode = BytecodeGenerator.generate(code, depth);
+        }
+        return bytecode;
+    }
+
+    @Override
+    public boolean eval(final long[] bits) {
+        final long[] words = new long[atoms.length == 0 ? 0 : atoms[atoms.length - 1] + 1];
+        for (final int atom : atoms) {
+            words[atom] = -(bits[atom >>> 6] >>> atom & 1);
+        }
+        return (evaluate(words, new long[depth]) & 1) == 1;
+    }
+
+    @Override
+    public long evalWords(final long[] words) {
+        return evaluate(words, new long[depth]);
+    }
+
+    /**
+     * Evaluates this program under a single valuation, with the generated bytecode if the program is hot, or with the
+     * interpreter otherwise.
+     *
+     * @param values the atoms' truth-values, indexed by their ids
+     * @param stack  the stack, at least {@link #getDepth()} long
+     * @return the truth-value of the formula
+     * @throws ArrayIndexOutOfBoundsException if an atom has no value or the stack is too short
+     */
+    public boolean evaluate(final boolean[] values, final boolean[] stack) {
+        final CompiledFormula compiled = bytecode;
+        if (compiled != null) {
+            final long[] packed = new long[bits];
+            for (final int atom : atoms) {
+                if (values[atom]) {
+                    packed[atom >>> 6] |= 1L << atom;
+                }
+            }
+            return compiled.eval(packed);
+        }
+        if (++evaluations == threshold) {
+            generate();
+        }
+        int top = -1;
+        for (int pc = 0; pc < code.length; pc++) {
+            final int op = jumps[pc];
+            if (op >= 0 && stack[top] == (code[op] == OR)) {
+                // the first operand is false for ∧ and →, or true for ∨, so the second one is skipped
+                stack[top] = code[op] != AND;
+                pc = op;
+                continue;
+            }
+            switch (code[pc]) {
+                case LOAD -> stack[++top] = values[code[++pc]];
+                case NOT -> stack[top] = !stack[top];
+                case AND -> {
+                    top--;
+                    stack[top] = stack[top] & stack[top + 1];
+                }
+                case OR -> {
+                    top--;
+                    stack[top] = stack[top] | stack[top + 1];
+                }
+                default -> {
+                    top--;
+                    stack[top] = !stack[top] | stack[top + 1];
+                }
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Evaluates this program under 64 valuations at once, one valuation per bit, with the generated bytecode if the
+     * program is hot, or with the interpreter otherwise.
+     *
+     * @param words the atoms' truth-values, a word per atom indexed by its id, and a bit per valuation
+     * @param stack the stack, at least {@link #getDepth()} long
+     * @return a word whose bits are the truth-values of the formula under each valuation
+     * @throws ArrayIndexOutOfBoundsException if an atom has no value or the stack is too short
+     */
+    public long evaluate(final long[] words, final long[] stack) {
+        final CompiledFormula compiled = bytecode;
+        if (compiled != null) {
+            return compiled.evalWords(words);
+        }
+        if (++evaluations == threshold) {
+            generate();
+        }
+        int top = -1;
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case LOAD -> stack[++top] = words[code[++pc]];
+                case NOT -> stack[top] = ~stack[top];
+                case AND -> {
+                    top--;
+                    stack[top] = stack[top] & stack[top + 1];
+                }
+                case OR -> {
+                    top--;
+                    stack[top] = stack[top] | stack[top + 1];
+                }
+                default -> {
+                    top--;
+                    stack[top] = ~stack[top] | stack[top + 1];
+                }
+            }
+        }
+        return stack[0];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int pc = 0; pc < code.length; pc++) {
+            if (!sb.isEmpty()) {
+                sb.append(' ');
+            }
+            switch (code[pc]) {
+                case LOAD -> sb.append(code[++pc]);
+                case NOT -> sb.append('¬');
+                case AND -> sb.append('∧');
+                case OR -> sb.append('∨');
+                default -> sb.append('→');
+            }
+        }
+        return sb.toString();
+    }
+
+    // emits the code of a formula in postfix order, keeping track of the stack's depth
+    private static class Compiler {
+
+        private final SymbolTable symbols;
+        private final Map<WellFormedFormula, Integer> slots;
+        // the formula which is compiled even if it has a slot, since its result is stored there
+        private final WellFormedFormula root;
+        private final Map<WellFormedFormula, Planner.Estimate> estimates = new IdentityHashMap<>();
+        private int[] code = new int[16];
+        private int size;
+        private int height;
+        private int depth;
+
+        Compiler(final SymbolTable symbols, final Map<WellFormedFormula, Integer> slots,
+                 final WellFormedFormula root) {
+            this.symbols = symbols;
+            this.slots = slots;
+            this.root = root;
+        }
+
+        void emit(final WellFormedFormula wff) {
+            final Integer slot = slots.isEmpty() || wff == root ? null : slots.get(wff);
+            if (slot != null) {
+                emit(LOAD);
+                emit(slot);
+                depth = Math.max(depth, ++height);
+            } else if (wff instanceof final KPredicate predicate) {
+                emit(LOAD);
+                emit(symbols.addAtom(predicate));
+                depth = Math.max(depth, ++height);
+            } else if (wff instanceof final AtomicCondition condition) {
+                emit(condition.getPredicate());
+            } else if (wff instanceof final Negation negation) {
+                emit(negation.wff());
+                emit(NOT);
+            } else if (wff instanceof final Quantifier quantifier) {
+                emit(quantifier.wff);
+            } else if (wff instanceof final Conjunction conjunction) {
+                emit(conjunction.wff1(), conjunction.wff2(), AND);
+            } else if (wff instanceof final Disjunction disjunction) {
+                emit(disjunction.wff1(), disjunction.wff2(), OR);
+            } else if (wff instanceof final Conditional conditional) {
+                emit(conditional.wff1(), conditional.wff2(), IMPLIES);
+            } else {
+                throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+            }
+        }
+
+        // the operands of ∧ and ∨ are swapped if the second one is expected to short-circuit at a lower cost
+        private void emit(final WellFormedFormula wff1, final WellFormedFormula wff2, final int opcode) {
+            if (opcode != IMPLIES) {
+                final Planner.Estimate a = estimate(wff1);
+                final Planner.Estimate b = estimate(wff2);
+                final boolean swap = opcode == AND ?
+                        Planner.and(b, a).cost() < Planner.and(a, b).cost() :
+                        Planner.or(b, a).cost() < Planner.or(a, b).cost();
+                if (swap) {
+                    emit(wff2);
+                    emit(wff1);
+                    emit(opcode);
+                    height--;
+                    return;
+                }
+            }
+            emit(wff1);
+            emit(wff2);
+            emit(opcode);
+            height--;
+        }
+
+        Planner.Estimate estimate(final WellFormedFormula wff) {
+            final Planner.Estimate estimate = Planner.estimate(wff, estimates);
+            // a subformula with a slot costs a single load
+            return wff != root && slots.containsKey(wff) ? new Planner.Estimate(estimate.probability(), 1) : estimate;
+        }
+
+        private void emit(final int i) {
+            if (size == code.length) {
+                code = Arrays.copyOf(code, 2 * size);
+            }
+            code[size++] = i;
+        }
+    }
+}
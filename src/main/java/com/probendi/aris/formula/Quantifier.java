@@ -1,11 +1,14 @@
 package com.probendi.aris.formula;
 
+import com.probendi.aris.exception.MissingSymbolException;
 import com.probendi.aris.exception.ParserException;
 
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A quantifier.
@@ -25,6 +28,16 @@ public abstract class Quantifier implements WellFormedFormula {
      * The quantifier's well-formed formula.
      */
     protected final WellFormedFormula wff;
+    /**
+     * The quantifier's hash code.
+     */
+    protected final int hash;
+    /**
+     * The quantifier's id in its formula factory, or {@code 0}.
+     */
+    protected final long id;
+    // cached on demand without locking (see WellFormedFormula)
+    private Variables variables;
 
     /**
      * Creates a new quantifier with the given well-formed formula.
@@ -34,6 +47,18 @@ public abstract class Quantifier implements WellFormedFormula {
      * @throws IllegalArgumentException if wff is null or variable is null or empty
      */
     public Quantifier(final String variable, final WellFormedFormula wff) {
+        this(variable, wff, 0);
+    }
+
+    /**
+     * Creates a new quantifier with the given well-formed formula and id.
+     *
+     * @param variable the variable
+     * @param wff      the well-formed formula
+     * @param id       the id in a formula factory, or {@code 0}
+     * @throws IllegalArgumentException if wff is null or variable is null or empty
+     */
+    protected Quantifier(final String variable, final WellFormedFormula wff, final long id) {
         if (variable == null || variable.isBlank()) {
             throw new IllegalArgumentException("wff cannot be null");
         }
@@ -42,6 +67,59 @@ public abstract class Quantifier implements WellFormedFormula {
         }
         this.variable = variable;
         this.wff = wff;
+        this.hash = Objects.hash(getClass().getSimpleName(), variable, wff);
+        this.id = id;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public Variables getVariables() {
+        Variables v = variables;
+        if (v == null) {
+            v = Variables.of(this);
+            variables = v;
+        }
+        return v;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Returns the individuals which satisfy the formula of this quantifier, all at once, or {@code null} if they must
+     * be found one at a time.
+     *
+     * @param interpretation the q-valuation
+     * @param assignment     the individuals assigned to the free variables
+     * @return the individuals, or {@code null}
+     * @throws IllegalArgumentException if interpretation or assignment is {@code null}
+     * @throws MissingSymbolException   if a predicate has no extension or a term denotes no individual
+     */
+    protected BitSet extension(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        if (interpretation == null || assignment == null) {
+            throw new IllegalArgumentException("interpretation and assignment cannot be null");
+        }
+        return interpretation.extension(wff, variable, assignment);
+    }
+
+    /**
+     * Returns the given assignment, where the variable of this quantifier is assigned the given individual.
+     *
+     * @param assignment the individuals assigned to the free variables
+     * @param individual the individual
+     * @return a new assignment
+     */
+    protected Map<String, Integer> assign(final Map<String, Integer> assignment, final int individual) {
+        final Map<String, Integer> assigned = new HashMap<>(assignment);
+        assigned.put(variable, individual);
+        return assigned;
     }
 
     /**
@@ -61,19 +139,10 @@ public abstract class Quantifier implements WellFormedFormula {
             throw new ParserException(String.format(VAR_REUSED, e.getMessage(), beautifyToString()));
         }
 
-        // the variables in the wff must be the same variables of the quantifiers
-        final Set<String> varsInWff = new HashSet<>();
-
-        final Pattern p = Pattern.compile("\\[(.*?)]");
-        final Matcher m = p.matcher(targetWwf.toString());
-        while (m.find()) {
-            final String[] strings = m.group(1).split(",");
-            for (final String s : strings) {
-                varsInWff.add(s.trim());
-            }
-        }
-
-        if (!varsInQuantifiers.equals(varsInWff)) {
+        // the variables in the wff must be the same variables of the quantifiers, without names or other quantifiers
+        final Variables varsInWff = targetWwf.getVariables();
+        if (!varsInWff.names().isEmpty() || !varsInWff.bound().isEmpty()
+                || !varsInQuantifiers.equals(varsInWff.free())) {
             throw new ParserException(String.format(VAR_MISMATCH, beautifyToString()));
         }
     }
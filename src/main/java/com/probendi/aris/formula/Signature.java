@@ -0,0 +1,142 @@
+package com.probendi.aris.formula;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The signature of a list of well-formed formulae, e.g., of the premises and the conclusion of an argument: the
+ * predicates with their number of terms, the names, the variables bound by the quantifiers, and how deeply the
+ * quantifiers are nested.
+ * <p>
+ * The signature is collected in a single pass over the formulae, which visits each distinct subformula once, so the
+ * subformulae shared among the formulae, or within a formula, do not cost a visit per occurrence.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ *
+ * @param predicates   the number of terms of each predicate letter, the largest one if the letter has several
+ * @param names        the names
+ * @param bound        the variables bound by the quantifiers
+ * @param universals   the variables bound by the universal quantifiers
+ * @param existentials the occurrences of existential quantifiers applied to a predicate or to another quantifier,
+ *                     each of which is given a dummy name by the truth tables
+ * @param depth        the largest number of nested quantifiers, or {@code 0} if there are no quantifiers
+ */
+public record Signature(Map<String, Integer> predicates, Set<String> names, Set<String> bound, Set<String> universals,
+                        int existentials, int depth) {
+
+    /**
+     * Creates a signature.
+     *
+     * @param predicates   the number of terms of each predicate letter
+     * @param names        the names
+     * @param bound        the variables bound by the quantifiers
+     * @param universals   the variables bound by the universal quantifiers
+     * @param existentials the occurrences of existential quantifiers applied to a predicate or to another quantifier
+     * @param depth        the largest number of nested quantifiers
+     * @throws IllegalArgumentException if a collection is {@code null}, or if existentials or depth is negative
+     */
+    public Signature {
+        if (predicates == null || names == null || bound == null || universals == null) {
+            throw new IllegalArgumentException("predicates, names, bound and universals cannot be null");
+        }
+        if (existentials < 0 || depth < 0) {
+            throw new IllegalArgumentException("existentials and depth cannot be negative");
+        }
+        predicates = Map.copyOf(predicates);
+        names = Set.copyOf(names);
+        bound = Set.copyOf(bound);
+        universals = Set.copyOf(universals);
+    }
+
+    /**
+     * Collects the signature of the given formulae.
+     *
+     * @param formulae the formulae
+     * @return the signature
+     * @throws IllegalArgumentException if formulae is {@code null} or contains {@code null}
+     */
+    public static Signature of(final List<WellFormedFormula> formulae) {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        final Collector collector = new Collector();
+        int existentials = 0;
+        int depth = 0;
+        for (final WellFormedFormula wff : formulae) {
+            if (wff == null) {
+                throw new IllegalArgumentException("formulae cannot contain null");
+            }
+            final int[] visit = collector.visit(wff);
+            depth = Math.max(depth, visit[0]);
+            existentials = saturatedAdd(existentials, visit[1]);
+        }
+        return new Signature(collector.predicates, collector.names, collector.bound, collector.universals,
+                existentials, depth);
+    }
+
+    /**
+     * Returns {@code true} if the formulae have quantifiers.
+     *
+     * @return {@code true} if the formulae have quantifiers
+     */
+    public boolean hasQuantifiers() {
+        return depth > 0;
+    }
+
+    private static int saturatedAdd(final int a, final int b) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) a + b);
+    }
+
+    // visits each distinct subformula once, remembering its depth and its existential quantifiers
+    private static class Collector {
+
+        private final Map<String, Integer> predicates = new HashMap<>();
+        private final Set<String> names = new HashSet<>();
+        private final Set<String> bound = new HashSet<>();
+        private final Set<String> universals = new HashSet<>();
+        private final Map<WellFormedFormula, int[]> visited = new HashMap<>();
+
+        // the depth and the existential quantifiers of a subformula
+        private int[] visit(final WellFormedFormula wff) {
+            int[] result = visited.get(wff);
+            if (result != null) {
+                return result;
+            }
+            if (wff instanceof final KPredicate predicate) {
+                predicates.merge(predicate.getValue(), predicate.getTerms().size(), Math::max);
+                names.addAll(predicate.getVariables().names());
+                result = new int[]{0, 0};
+            } else if (wff instanceof final Negation negation) {
+                result = visit(negation.wff());
+            } else if (wff instanceof final Conjunction conjunction) {
+                result = visit(conjunction.wff1(), conjunction.wff2());
+            } else if (wff instanceof final Disjunction disjunction) {
+                result = visit(disjunction.wff1(), disjunction.wff2());
+            } else if (wff instanceof final Conditional conditional) {
+                result = visit(conditional.wff1(), conditional.wff2());
+            } else if (wff instanceof final Quantifier quantifier) {
+                final int[] inner = visit(quantifier.wff);
+                bound.add(quantifier.variable);
+                if (quantifier instanceof UniversalQuantifier) {
+                    universals.add(quantifier.variable);
+                }
+                final boolean dummy = quantifier instanceof ExistentialQuantifier
+                        && (quantifier.wff instanceof KPredicate || quantifier.wff instanceof Quantifier);
+                result = new int[]{inner[0] + 1, saturatedAdd(inner[1], dummy ? 1 : 0)};
+            } else {
+                result = new int[]{0, 0};
+            }
+            visited.put(wff, result);
+            return result;
+        }
+
+        private int[] visit(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+            final int[] r1 = visit(wff1);
+            final int[] r2 = visit(wff2);
+            return new int[]{Math.max(r1[0], r2[0]), saturatedAdd(r1[1], r2[1])};
+        }
+    }
+}
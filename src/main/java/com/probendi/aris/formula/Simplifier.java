@@ -0,0 +1,309 @@
+package com.probendi.aris.formula;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simplifies well-formed formulae with a table of rewrite rules, which fold the constants, remove the double
+ * negations, the idempotent and complementary operands and the absorbed ones, and put the formulae into negation
+ * normal form, i.e., with the negations applied to the predicates only, and without conditionals.
+ * <p>
+ * The formulae are simplified bottom-up: once the operands of a node are simplified, the rules are tried in order on
+ * the node, and the first one which rewrites it restarts the loop on the rewritten node, until no rule applies. The
+ * pending nodes are kept on an explicit stack rather than on the call stack, so the depth of a formula is not bounded
+ * by the stack of the thread. All the rules preserve the equivalence of the formulae, assuming that the domain is not
+ * empty, and each one either shrinks a formula or pushes a negation inwards, so the loop reaches a fixed point.
+ * <p>
+ * The simplified nodes are interned by a {@link FormulaFactory}, and the simplification of each node is memoized, so
+ * the subformulae shared within a formula, or among the formulae of an argument, are simplified once.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Simplifier {
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("constant", Simplifier::foldConstant),
+            new Rule("double negation", Simplifier::removeDoubleNegation),
+            new Rule("idempotence", Simplifier::removeIdempotent),
+            new Rule("complement", Simplifier::foldComplement),
+            new Rule("absorption", Simplifier::removeAbsorbed),
+            new Rule("negation normal form", Simplifier::pushNegation)
+    );
+
+    private final FormulaFactory factory;
+    private final Map<WellFormedFormula, WellFormedFormula> simplified = new HashMap<>();
+    private final Map<String, Integer> rewrites = new LinkedHashMap<>();
+
+    /**
+     * Creates a new simplifier with its own formula factory.
+     */
+    public Simplifier() {
+        this(new FormulaFactory());
+    }
+
+    /**
+     * Creates a new simplifier which interns the simplified formulae with the given factory.
+     *
+     * @param factory the formula factory
+     * @throws IllegalArgumentException if factory is {@code null}
+     */
+    public Simplifier(final FormulaFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("factory cannot be null");
+        }
+        this.factory = factory;
+        for (final Rule rule : RULES) {
+            rewrites.put(rule.name(), 0);
+        }
+    }
+
+    /**
+     * Returns the number of times each rule rewrote a formula, by the name of the rule, in the order in which the
+     * rules are tried.
+     *
+     * @return the number of rewrites by rule
+     */
+    public Map<String, Integer> getRewrites() {
+        return Collections.unmodifiableMap(rewrites);
+    }
+
+    /**
+     * Returns the simplification of the given formula, which is either a constant or a formula in negation normal
+     * form without constants.
+     *
+     * @param wff the formula
+     * @return the simplified formula
+     * @throws IllegalArgumentException      if wff is {@code null}
+     * @throws UnsupportedOperationException if the formula contains a node which is neither a predicate, nor a
+     *                                       constant, nor a connective, nor a quantifier
+     */
+    public WellFormedFormula simplify(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        // the nodes whose simplification is pending, each one above the nodes which wait for it
+        final Deque<WellFormedFormula> pending = new ArrayDeque<>();
+        // the rewritten node whose simplification is the simplification of a pending node
+        final Map<WellFormedFormula, WellFormedFormula> rewritten = new HashMap<>();
+        pending.push(wff);
+        while (!pending.isEmpty()) {
+            final WellFormedFormula node = pending.peek();
+            if (simplified.containsKey(node)) {
+                pending.pop();
+                continue;
+            }
+            final WellFormedFormula waited = rewritten.remove(node);
+            if (waited != null) {
+                memoize(pending.pop(), simplified.get(waited));
+                continue;
+            }
+            boolean ready = true;
+            for (final WellFormedFormula operand : operands(node)) {
+                if (!simplified.containsKey(operand)) {
+                    pending.push(operand);
+                    ready = false;
+                }
+            }
+            if (!ready) {
+                continue;
+            }
+            final WellFormedFormula result = rebuild(node);
+            final WellFormedFormula rewrite = rewrite(result);
+            if (rewrite == null) {
+                memoize(pending.pop(), result);
+            } else if (simplified.containsKey(rewrite)) {
+                memoize(pending.pop(), simplified.get(rewrite));
+            } else {
+                // the node is simplified as the rewritten node is, once the rules no longer apply to the latter
+                rewritten.put(node, rewrite);
+                pending.push(rewrite);
+            }
+        }
+        return simplified.get(wff);
+    }
+
+    private void memoize(final WellFormedFormula wff, final WellFormedFormula result) {
+        simplified.put(wff, result);
+        // a simplified formula is its own simplification
+        simplified.putIfAbsent(result, result);
+    }
+
+    // rewrites a node with the first rule which applies to it, or returns null if none does
+    private WellFormedFormula rewrite(final WellFormedFormula wff) {
+        for (final Rule rule : RULES) {
+            final WellFormedFormula rewritten = rule.rewrite().apply(factory, wff);
+            if (rewritten != null) {
+                rewrites.merge(rule.name(), 1, Integer::sum);
+                return rewritten;
+            }
+        }
+        return null;
+    }
+
+    // the operands of a node
+    private static List<WellFormedFormula> operands(final WellFormedFormula wff) {
+        if (wff instanceof KPredicate || wff instanceof AtomicCondition || wff instanceof Constant) {
+            return List.of();
+        } else if (wff instanceof final Negation negation) {
+            return List.of(negation.wff());
+        } else if (wff instanceof final Conjunction conjunction) {
+            return List.of(conjunction.wff1(), conjunction.wff2());
+        } else if (wff instanceof final Disjunction disjunction) {
+            return List.of(disjunction.wff1(), disjunction.wff2());
+        } else if (wff instanceof final Conditional conditional) {
+            return List.of(conditional.wff1(), conditional.wff2());
+        } else if (wff instanceof final Quantifier quantifier) {
+            return List.of(quantifier.wff);
+        }
+        throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+    }
+
+    // replaces the operands of a node, which are all simplified, with their simplifications
+    private WellFormedFormula rebuild(final WellFormedFormula wff) {
+        if (wff instanceof KPredicate || wff instanceof AtomicCondition || wff instanceof Constant) {
+            return wff;
+        } else if (wff instanceof final Negation negation) {
+            return factory.negation(simplified.get(negation.wff()));
+        } else if (wff instanceof final Conjunction conjunction) {
+            return factory.conjunction(simplified.get(conjunction.wff1()), simplified.get(conjunction.wff2()));
+        } else if (wff instanceof final Disjunction disjunction) {
+            return factory.disjunction(simplified.get(disjunction.wff1()), simplified.get(disjunction.wff2()));
+        } else if (wff instanceof final Conditional conditional) {
+            return factory.conditional(simplified.get(conditional.wff1()), simplified.get(conditional.wff2()));
+        } else if (wff instanceof final UniversalQuantifier quantifier) {
+            return factory.universal(quantifier.variable, simplified.get(quantifier.wff));
+        } else if (wff instanceof final ExistentialQuantifier quantifier) {
+            return factory.existential(quantifier.variable, simplified.get(quantifier.wff));
+        }
+        throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+    }
+
+    // ¬⊤ = ⊥, (A ∧ ⊤) = A, (A ∧ ⊥) = ⊥, (A ∨ ⊤) = ⊤, (A ∨ ⊥) = A, (⊤ → A) = A, (A → ⊥) = ¬A, ∀x⊤ = ⊤, ...
+    private static WellFormedFormula foldConstant(final FormulaFactory factory, final WellFormedFormula wff) {
+        if (wff instanceof final Negation negation && negation.wff() instanceof final Constant c) {
+            return Constant.valueOf(!c.getValue());
+        } else if (wff instanceof final Conjunction conjunction) {
+            if (conjunction.wff1() instanceof final Constant c) {
+                return c.getValue() ? conjunction.wff2() : c;
+            } else if (conjunction.wff2() instanceof final Constant c) {
+                return c.getValue() ? conjunction.wff1() : c;
+            }
+        } else if (wff instanceof final Disjunction disjunction) {
+            if (disjunction.wff1() instanceof final Constant c) {
+                return c.getValue() ? c : disjunction.wff2();
+            } else if (disjunction.wff2() instanceof final Constant c) {
+                return c.getValue() ? c : disjunction.wff1();
+            }
+        } else if (wff instanceof final Conditional conditional) {
+            if (conditional.wff1() instanceof final Constant c) {
+                return c.getValue() ? conditional.wff2() : Constant.TRUE;
+            } else if (conditional.wff2() instanceof final Constant c) {
+                return c.getValue() ? c : factory.negation(conditional.wff1());
+            }
+        } else if (wff instanceof final Quantifier quantifier && quantifier.wff instanceof Constant) {
+            return quantifier.wff;
+        }
+        return null;
+    }
+
+    // ¬¬A = A
+    private static WellFormedFormula removeDoubleNegation(final FormulaFactory factory, final WellFormedFormula wff) {
+        if (wff instanceof final Negation negation && negation.wff() instanceof final Negation inner) {
+            return inner.wff();
+        }
+        return null;
+    }
+
+    // (A ∧ A) = A, (A ∨ A) = A
+    private static WellFormedFormula removeIdempotent(final FormulaFactory factory, final WellFormedFormula wff) {
+        if (wff instanceof final Conjunction conjunction && conjunction.wff1().equals(conjunction.wff2())) {
+            return conjunction.wff1();
+        } else if (wff instanceof final Disjunction disjunction && disjunction.wff1().equals(disjunction.wff2())) {
+            return disjunction.wff1();
+        }
+        return null;
+    }
+
+    // (A ∧ ¬A) = ⊥, (A ∨ ¬A) = ⊤
+    private static WellFormedFormula foldComplement(final FormulaFactory factory, final WellFormedFormula wff) {
+        if (wff instanceof final Conjunction conjunction && areComplementary(conjunction.wff1(), conjunction.wff2())) {
+            return Constant.FALSE;
+        } else if (wff instanceof final Disjunction disjunction
+                && areComplementary(disjunction.wff1(), disjunction.wff2())) {
+            return Constant.TRUE;
+        }
+        return null;
+    }
+
+    private static boolean areComplementary(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        return wff1 instanceof final Negation n1 && n1.wff().equals(wff2)
+                || wff2 instanceof final Negation n2 && n2.wff().equals(wff1);
+    }
+
+    // (A ∧ (A ∨ B)) = A, (A ∨ (A ∧ B)) = A, and so on for the other orders of the operands
+    private static WellFormedFormula removeAbsorbed(final FormulaFactory factory, final WellFormedFormula wff) {
+        if (wff instanceof final Conjunction conjunction) {
+            if (conjunction.wff2() instanceof final Disjunction d && absorbs(conjunction.wff1(), d.wff1(), d.wff2())) {
+                return conjunction.wff1();
+            } else if (conjunction.wff1() instanceof final Disjunction d
+                    && absorbs(conjunction.wff2(), d.wff1(), d.wff2())) {
+                return conjunction.wff2();
+            }
+        } else if (wff instanceof final Disjunction disjunction) {
+            if (disjunction.wff2() instanceof final Conjunction c && absorbs(disjunction.wff1(), c.wff1(), c.wff2())) {
+                return disjunction.wff1();
+            } else if (disjunction.wff1() instanceof final Conjunction c
+                    && absorbs(disjunction.wff2(), c.wff1(), c.wff2())) {
+                return disjunction.wff2();
+            }
+        }
+        return null;
+    }
+
+    private static boolean absorbs(final WellFormedFormula wff, final WellFormedFormula wff1,
+                                   final WellFormedFormula wff2) {
+        return wff.equals(wff1) || wff.equals(wff2);
+    }
+
+    // (A → B) = (¬A ∨ B), ¬(A ∧ B) = (¬A ∨ ¬B), ¬(A ∨ B) = (¬A ∧ ¬B), ¬(A → B) = (A ∧ ¬B), ¬∀xA = ∃x¬A, ¬∃xA = ∀x¬A
+    private static WellFormedFormula pushNegation(final FormulaFactory factory, final WellFormedFormula wff) {
+        if (wff instanceof final Conditional conditional) {
+            return factory.disjunction(factory.negation(conditional.wff1()), conditional.wff2());
+        } else if (wff instanceof final Negation negation) {
+            final WellFormedFormula w = negation.wff();
+            if (w instanceof final Conjunction conjunction) {
+                return factory.disjunction(factory.negation(conjunction.wff1()),
+                        factory.negation(conjunction.wff2()));
+            } else if (w instanceof final Disjunction disjunction) {
+                return factory.conjunction(factory.negation(disjunction.wff1()),
+                        factory.negation(disjunction.wff2()));
+            } else if (w instanceof final Conditional conditional) {
+                return factory.conjunction(conditional.wff1(), factory.negation(conditional.wff2()));
+            } else if (w instanceof final UniversalQuantifier quantifier) {
+                return factory.existential(quantifier.variable, factory.negation(quantifier.wff));
+            } else if (w instanceof final ExistentialQuantifier quantifier) {
+                return factory.universal(quantifier.variable, factory.negation(quantifier.wff));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A rewrite rule, which returns the rewritten formula, or {@code null} if the rule does not apply.
+     *
+     * @param name    the name of the rule
+     * @param rewrite the rewrite
+     */
+    private record Rule(String name, Rewrite rewrite) {
+    }
+
+    @FunctionalInterface
+    private interface Rewrite {
+        WellFormedFormula apply(FormulaFactory factory, WellFormedFormula wff);
+    }
+}
@@ -0,0 +1,66 @@
+package com.probendi.aris.formula;
+
+/**
+ * The strategies which can be used to search for a countervaluation of an {@link Argument}.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public enum Strategy {
+
+    /**
+     * Valuates the formulae under one valuation at a time.
+     */
+    TRUTH_TABLE,
+
+    /**
+     * Valuates the formulae under 64 valuations at a time, packing a valuation into each bit of a word.
+     */
+    BIT_PARALLEL,
+
+    /**
+     * Valuates the formulae as with {@link #BIT_PARALLEL}, searching the names of the domain at once and splitting the
+     * words among the workers of a fork-join pool, which stop as soon as one of them finds a countervaluation.
+     */
+    PARALLEL,
+
+    /**
+     * Valuates the formulae under one valuation at a time, recomputing only the subformulae which depend on the
+     * symbol changed from the previous valuation.
+     */
+    INCREMENTAL,
+
+    /**
+     * Decides the arguments without quantifiers with a CDCL satisfiability solver, i.e., an argument is valid if its
+     * premises and the negation of its conclusion are unsatisfiable. The other arguments are searched as with
+     * {@link #BIT_PARALLEL}.
+     */
+    SAT,
+
+    /**
+     * Decides the arguments without quantifiers with reduced ordered binary decision diagrams, i.e., an argument is
+     * valid if the conjunction of its premises implies its conclusion is the constant true diagram. The other arguments
+     * are searched as with {@link #BIT_PARALLEL}.
+     */
+    BDD,
+
+    /**
+     * Decides the arguments with a semantic tableau, i.e., an argument is valid if every branch of the tree rooted in
+     * its premises and in the negation of its conclusion is closed. The quantifiers have their usual semantics, and the
+     * number of names of a branch is bounded.
+     */
+    TABLEAU,
+
+    /**
+     * Searches for a finite countermodel with a CDCL satisfiability solver, i.e., an argument is invalid if its
+     * premises and the negation of its conclusion are true in an interpretation over a domain of some size. The
+     * quantifiers have their usual semantics, and the size of the domain is bounded.
+     */
+    COUNTERMODEL,
+
+    /**
+     * Decides the monadic arguments, i.e., those whose predicates all have a single term, by the sets of types of
+     * their individuals, which are searched in parallel. The other arguments are searched as with
+     * {@link #COUNTERMODEL}.
+     */
+    MONADIC
+}
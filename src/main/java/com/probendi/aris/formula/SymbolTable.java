@@ -0,0 +1,241 @@
+package com.probendi.aris.formula;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a dense {@code int} id to each predicate letter, name and ground atom of a program.
+ * <p>
+ * The ids are given in order of registration, starting from {@code 0}, so the truth-values of the atoms can be kept in
+ * a {@code boolean[]} indexed by their ids. The atoms created by a {@link FormulaFactory} carry their id, so looking
+ * them up in the table of their factory does not need hashing. The table is thread-safe.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class SymbolTable {
+
+    private final List<String> letters = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<KPredicate> atoms = new ArrayList<>();
+    private final Map<String, Integer> letterIds = new HashMap<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final Map<KPredicate, Integer> atomIds = new HashMap<>();
+
+    /**
+     * Creates a new empty symbol table.
+     */
+    public SymbolTable() {
+    }
+
+    /**
+     * Returns the number of predicate letters.
+     *
+     * @return the number of predicate letters
+     */
+    public synchronized int getLetterCount() {
+        return letters.size();
+    }
+
+    /**
+     * Returns the number of names, i.e., of proper names and dummy names.
+     *
+     * @return the number of names
+     */
+    public synchronized int getNameCount() {
+        return names.size();
+    }
+
+    /**
+     * Returns the number of atoms.
+     *
+     * @return the number of atoms
+     */
+    public synchronized int getAtomCount() {
+        return atoms.size();
+    }
+
+    /**
+     * Returns the predicate letter with the given id.
+     *
+     * @param id the id
+     * @return the predicate letter
+     * @throws IndexOutOfBoundsException if there is no predicate letter with the given id
+     */
+    public synchronized String getLetter(final int id) {
+        return letters.get(id);
+    }
+
+    /**
+     * Returns the name with the given id.
+     *
+     * @param id the id
+     * @return the name
+     * @throws IndexOutOfBoundsException if there is no name with the given id
+     */
+    public synchronized String getName(final int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Returns the atom with the given id.
+     *
+     * @param id the id
+     * @return the atom
+     * @throws IndexOutOfBoundsException if there is no atom with the given id
+     */
+    public synchronized KPredicate getAtom(final int id) {
+        return atoms.get(id);
+    }
+
+    /**
+     * Returns the id of the given predicate letter.
+     *
+     * @param letter the predicate letter
+     * @return the id, or {@code -1} if the predicate letter is not in this table
+     */
+    public synchronized int getLetterId(final String letter) {
+        return letterIds.getOrDefault(letter, -1);
+    }
+
+    /**
+     * Returns the id of the given name.
+     *
+     * @param name the name
+     * @return the id, or {@code -1} if the name is not in this table
+     */
+    public synchronized int getNameId(final String name) {
+        return nameIds.getOrDefault(name, -1);
+    }
+
+    /**
+     * Returns the id of the given atom.
+     *
+     * @param atom the atom
+     * @return the id, or {@code -1} if the atom is not in this table
+     * @throws IllegalArgumentException if atom is {@code null}
+     */
+    public int getAtomId(final KPredicate atom) {
+        if (atom == null) {
+            throw new IllegalArgumentException("atom cannot be null");
+        }
+        final int id = atom.getAtom();
+        synchronized (this) {
+            if (id >= 0 && id < atoms.size() && atoms.get(id) == atom) {
+                return id;
+            }
+            return atomIds.getOrDefault(atom, -1);
+        }
+    }
+
+    /**
+     * Adds the given predicate letter, if it is not in this table yet.
+     *
+     * @param letter the predicate letter
+     * @return the id of the predicate letter
+     * @throws IllegalArgumentException if letter is {@code null}
+     */
+    public synchronized int addLetter(final String letter) {
+        if (letter == null) {
+            throw new IllegalArgumentException("letter cannot be null");
+        }
+        return add(letter, letters, letterIds);
+    }
+
+    /**
+     * Adds the given name, if it is not in this table yet.
+     *
+     * @param name the name
+     * @return the id of the name
+     * @throws IllegalArgumentException if name is {@code null}
+     */
+    public synchronized int addName(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name cannot be null");
+        }
+        return add(name, names, nameIds);
+    }
+
+    /**
+     * Adds the given atom together with its predicate letter and names, if it is not in this table yet.
+     *
+     * @param atom the atom
+     * @return the id of the atom
+     * @throws IllegalArgumentException if atom is {@code null}
+     */
+    public synchronized int addAtom(final KPredicate atom) {
+        if (atom == null) {
+            throw new IllegalArgumentException("atom cannot be null");
+        }
+        final int id = getAtomId(atom);
+        if (id != -1) {
+            return id;
+        }
+        addSymbols(atom.getValue(), atom.getTerms());
+        return add(atom, atoms, atomIds);
+    }
+
+    /**
+     * Adds all the atoms of the given formula.
+     *
+     * @param wff the formula
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public void addAll(final WellFormedFormula wff) {
+        if (wff instanceof final KPredicate predicate) {
+            addAtom(predicate);
+        } else if (wff instanceof final AtomicCondition condition) {
+            addAtom(condition.getPredicate());
+        } else if (wff instanceof final Negation negation) {
+            addAll(negation.wff());
+        } else if (wff instanceof final Conjunction conjunction) {
+            addAll(conjunction.wff1());
+            addAll(conjunction.wff2());
+        } else if (wff instanceof final Disjunction disjunction) {
+            addAll(disjunction.wff1());
+            addAll(disjunction.wff2());
+        } else if (wff instanceof final Conditional conditional) {
+            addAll(conditional.wff1());
+            addAll(conditional.wff2());
+        } else if (wff instanceof final Quantifier quantifier) {
+            addAll(quantifier.wff);
+        } else if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+    }
+
+    // creates a new atom of a formula factory, which knows its id, i.e., the id of an equal atom added before, if any
+    synchronized KPredicate newAtom(final String value, final List<String> terms, final long factoryId) {
+        addSymbols(value, terms);
+        final int id = atomIds.getOrDefault(new KPredicate(value, terms), atoms.size());
+        final KPredicate atom = new KPredicate(value, terms, factoryId, id);
+        if (id == atoms.size()) {
+            add(atom, atoms, atomIds);
+        } else if (atoms.get(id).getAtom() != id) {
+            // the atom added before does not know its id, so the new one takes its place for the lookups by id
+            atoms.set(id, atom);
+        }
+        return atom;
+    }
+
+    // variables are not names
+    private void addSymbols(final String value, final List<String> terms) {
+        add(value, letters, letterIds);
+        for (final String term : terms) {
+            if (term.charAt(0) < 'x') {
+                add(term, names, nameIds);
+            }
+        }
+    }
+
+    private static <T> int add(final T symbol, final List<T> symbols, final Map<T, Integer> ids) {
+        final Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        symbols.add(symbol);
+        ids.put(symbol, symbols.size() - 1);
+        return symbols.size() - 1;
+    }
+}
@@ -0,0 +1,328 @@
+package com.probendi.aris.formula;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A semantic tableau, or truth tree, which proves an argument by showing that its premises and the negation of its
+ * conclusion cannot be all true.
+ * <p>
+ * The tree is grown depth-first, one branch at a time. On each branch, the non-branching rules are applied first,
+ * followed by the existential quantifiers, which are instantiated with a new name. Then, the branching rules are
+ * applied, and a branch is split only if neither alternative closes it at once. Finally, the universal quantifiers are
+ * instantiated with each name of the branch. A branch is closed as soon as it contains a predicate and its negation,
+ * so the rest of the branch is never built.
+ * <p>
+ * Since quantifier logic is undecidable, the number of names on a branch is bounded. A branch which would need more
+ * names stays open, and the tableau reports that it was bounded. The tableau does not share the quirks of the
+ * countervaluation search: the quantifiers have their usual semantics.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Tableau {
+
+    /**
+     * The default maximum number of names on a branch.
+     */
+    public static final int DEFAULT_MAX_NAMES = 8;
+
+    private final int maxNames;
+    private int branches;
+    private int nodes;
+    private boolean bounded;
+
+    /**
+     * Creates a new tableau with the default maximum number of names on a branch.
+     */
+    public Tableau() {
+        this(DEFAULT_MAX_NAMES);
+    }
+
+    /**
+     * Creates a new tableau with the given maximum number of names on a branch.
+     *
+     * @param maxNames the maximum number of names on a branch
+     * @throws IllegalArgumentException if maxNames is less than {@code 1}
+     */
+    public Tableau(final int maxNames) {
+        if (maxNames < 1) {
+            throw new IllegalArgumentException("maxNames must be positive");
+        }
+        this.maxNames = maxNames;
+    }
+
+    /**
+     * Returns {@code true} if the given premises entail the given conclusion, i.e., if every branch of the tree rooted
+     * in the premises and in the negation of the conclusion is closed.
+     *
+     * @param premises   the premises
+     * @param conclusion the conclusion, or {@code null} if the premises alone should be unsatisfiable
+     * @return {@code true} if the tree is closed
+     * @throws IllegalArgumentException      if premises is {@code null} or contains {@code null}
+     * @throws UnsupportedOperationException if a formula is neither a predicate, nor a connective, nor a quantifier
+     */
+    public boolean proves(final List<WellFormedFormula> premises, final WellFormedFormula conclusion) {
+        if (premises == null) {
+            throw new IllegalArgumentException("premises cannot be null");
+        }
+        branches = 1;
+        nodes = 0;
+        bounded = false;
+        final Branch root = new Branch();
+        for (final WellFormedFormula premise : premises) {
+            if (premise == null) {
+                throw new IllegalArgumentException("premises cannot contain null");
+            }
+            root.names.addAll(premise.getVariables().names());
+        }
+        if (conclusion != null) {
+            root.names.addAll(conclusion.getVariables().names());
+        }
+        for (final WellFormedFormula premise : premises) {
+            add(root, premise);
+        }
+        if (conclusion != null) {
+            add(root, new Negation(conclusion));
+        }
+        return close(root);
+    }
+
+    /**
+     * Returns the number of branches of the last tree.
+     *
+     * @return the number of branches
+     */
+    public int getBranches() {
+        return branches;
+    }
+
+    /**
+     * Returns the number of nodes of the last tree, i.e., of the formulae written on its branches.
+     *
+     * @return the number of nodes
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns {@code true} if a branch of the last tree was left open because it needed too many names, in which case
+     * the premises might entail the conclusion after all.
+     *
+     * @return {@code true} if the last tree was bounded
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    // grows the branch until it is closed or no rule applies, returning true if all its sub-branches are closed
+    private boolean close(final Branch branch) {
+        while (!branch.closed) {
+            if (!branch.alphas.isEmpty()) {
+                final WellFormedFormula[] alpha = branch.alphas.remove();
+                for (final WellFormedFormula wff : alpha) {
+                    add(branch, wff);
+                }
+            } else if (!branch.deltas.isEmpty() && branch.names.size() < maxNames) {
+                final Quantified delta = branch.deltas.remove();
+                final String name = newName(branch.names);
+                branch.names.add(name);
+                add(branch, substitute(delta.wff, delta.variable, name));
+            } else if (!branch.betas.isEmpty()) {
+                final WellFormedFormula[] beta = branch.betas.remove();
+                final boolean closes1 = closes(branch, beta[0]);
+                final boolean closes2 = closes(branch, beta[1]);
+                if (closes1 && closes2) {
+                    nodes++;
+                    return true;
+                } else if (closes1 || closes2) {
+                    // only one alternative is left open, so the branch need not be split
+                    add(branch, closes1 ? beta[1] : beta[0]);
+                } else {
+                    branches++;
+                    final Branch other = new Branch(branch);
+                    add(branch, beta[0]);
+                    add(other, beta[1]);
+                    return close(branch) && close(other);
+                }
+            } else if (!instantiate(branch)) {
+                // the branch is open, and complete unless an existential quantifier was left for want of names
+                bounded |= !branch.deltas.isEmpty();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // instantiates a universal quantifier with a name of the branch, returning false if there is nothing to instantiate
+    private boolean instantiate(final Branch branch) {
+        if (branch.universals.isEmpty()) {
+            return false;
+        }
+        if (branch.names.isEmpty()) {
+            branch.names.add(newName(branch.names));
+        }
+        // the older names are instantiated first, so that no quantifier can starve the others with its new names
+        for (final String name : branch.names) {
+            for (int i = 0; i < branch.universals.size(); i++) {
+                if (branch.instances.get(i).add(name)) {
+                    final Quantified gamma = branch.universals.get(i);
+                    add(branch, substitute(gamma.wff, gamma.variable, name));
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // returns true if adding the given formula closes the branch at once
+    private static boolean closes(final Branch branch, final WellFormedFormula wff) {
+        if (wff instanceof final KPredicate predicate) {
+            return branch.negatives.contains(predicate);
+        } else if (wff instanceof final Negation negation && negation.wff() instanceof final KPredicate predicate) {
+            return branch.positives.contains(predicate);
+        }
+        return false;
+    }
+
+    // writes a formula on the branch, classifying it by the rule which applies to it
+    private void add(final Branch branch, final WellFormedFormula wff) {
+        nodes++;
+        if (wff instanceof final KPredicate predicate) {
+            branch.positives.add(predicate);
+            branch.closed |= branch.negatives.contains(predicate);
+        } else if (wff instanceof final Conjunction conjunction) {
+            branch.alphas.add(new WellFormedFormula[]{conjunction.wff1(), conjunction.wff2()});
+        } else if (wff instanceof final Disjunction disjunction) {
+            branch.betas.add(new WellFormedFormula[]{disjunction.wff1(), disjunction.wff2()});
+        } else if (wff instanceof final Conditional conditional) {
+            branch.betas.add(new WellFormedFormula[]{new Negation(conditional.wff1()), conditional.wff2()});
+        } else if (wff instanceof final UniversalQuantifier quantifier) {
+            branch.addUniversal(new Quantified(quantifier.variable, quantifier.wff));
+        } else if (wff instanceof final ExistentialQuantifier quantifier) {
+            branch.deltas.add(new Quantified(quantifier.variable, quantifier.wff));
+        } else if (wff instanceof final Negation negation) {
+            final WellFormedFormula w = negation.wff();
+            if (w instanceof final KPredicate predicate) {
+                branch.negatives.add(predicate);
+                branch.closed |= branch.positives.contains(predicate);
+            } else if (w instanceof final Negation n) {
+                branch.alphas.add(new WellFormedFormula[]{n.wff()});
+            } else if (w instanceof final Conjunction conjunction) {
+                branch.betas.add(new WellFormedFormula[]{new Negation(conjunction.wff1()),
+                        new Negation(conjunction.wff2())});
+            } else if (w instanceof final Disjunction disjunction) {
+                branch.alphas.add(new WellFormedFormula[]{new Negation(disjunction.wff1()),
+                        new Negation(disjunction.wff2())});
+            } else if (w instanceof final Conditional conditional) {
+                branch.alphas.add(new WellFormedFormula[]{conditional.wff1(), new Negation(conditional.wff2())});
+            } else if (w instanceof final UniversalQuantifier quantifier) {
+                branch.deltas.add(new Quantified(quantifier.variable, new Negation(quantifier.wff)));
+            } else if (w instanceof final ExistentialQuantifier quantifier) {
+                branch.addUniversal(new Quantified(quantifier.variable, new Negation(quantifier.wff)));
+            } else {
+                throw new UnsupportedOperationException(w.getClass().getSimpleName());
+            }
+        } else {
+            throw new UnsupportedOperationException(wff.getClass().getSimpleName());
+        }
+    }
+
+    // replaces the free occurrences of a variable with a name
+    static WellFormedFormula substitute(final WellFormedFormula wff, final String variable, final String name) {
+        if (wff instanceof final KPredicate predicate) {
+            if (!predicate.getTerms().contains(variable)) {
+                return predicate;
+            }
+            final List<String> terms = new ArrayList<>();
+            for (final String term : predicate.getTerms()) {
+                terms.add(term.equals(variable) ? name : term);
+            }
+            return new KPredicate(predicate.getValue(), terms);
+        } else if (wff instanceof final Negation negation) {
+            return new Negation(substitute(negation.wff(), variable, name));
+        } else if (wff instanceof final Conjunction conjunction) {
+            return new Conjunction(substitute(conjunction.wff1(), variable, name),
+                    substitute(conjunction.wff2(), variable, name));
+        } else if (wff instanceof final Disjunction disjunction) {
+            return new Disjunction(substitute(disjunction.wff1(), variable, name),
+                    substitute(disjunction.wff2(), variable, name));
+        } else if (wff instanceof final Conditional conditional) {
+            return new Conditional(substitute(conditional.wff1(), variable, name),
+                    substitute(conditional.wff2(), variable, name));
+        } else if (wff instanceof final Quantifier quantifier) {
+            if (quantifier.variable.equals(variable)) {
+                return quantifier;
+            }
+            final WellFormedFormula w = substitute(quantifier.wff, variable, name);
+            return quantifier instanceof UniversalQuantifier ? new UniversalQuantifier(quantifier.variable, w) :
+                    new ExistentialQuantifier(quantifier.variable, w);
+        }
+        return wff;
+    }
+
+    // the first dummy name which is not on the branch: a, b, ..., l, a', b', ...
+    private static String newName(final Set<String> names) {
+        for (int i = 0; ; i++) {
+            final String name = (char) ('a' + i % 12) + "'".repeat(i / 12);
+            if (!names.contains(name)) {
+                return name;
+            }
+        }
+    }
+
+    // a quantifier's variable and formula, where the formula of a negated quantifier is negated
+    private record Quantified(String variable, WellFormedFormula wff) {
+    }
+
+    // the formulae of a branch which are still to be expanded, and its literals and names
+    private static class Branch {
+
+        private final Deque<WellFormedFormula[]> alphas;
+        private final Deque<Quantified> deltas;
+        private final Deque<WellFormedFormula[]> betas;
+        private final List<Quantified> universals;
+        // the names each universal quantifier was instantiated with
+        private final List<Set<String>> instances;
+        private final Set<KPredicate> positives;
+        private final Set<KPredicate> negatives;
+        private final Set<String> names;
+        private boolean closed;
+
+        Branch() {
+            alphas = new ArrayDeque<>();
+            deltas = new ArrayDeque<>();
+            betas = new ArrayDeque<>();
+            universals = new ArrayList<>();
+            instances = new ArrayList<>();
+            positives = new HashSet<>();
+            negatives = new HashSet<>();
+            names = new LinkedHashSet<>();
+        }
+
+        Branch(final Branch branch) {
+            alphas = new ArrayDeque<>(branch.alphas);
+            deltas = new ArrayDeque<>(branch.deltas);
+            betas = new ArrayDeque<>(branch.betas);
+            universals = new ArrayList<>(branch.universals);
+            instances = new ArrayList<>();
+            for (final Set<String> names : branch.instances) {
+                instances.add(new HashSet<>(names));
+            }
+            positives = new HashSet<>(branch.positives);
+            negatives = new HashSet<>(branch.negatives);
+            names = new LinkedHashSet<>(branch.names);
+            closed = branch.closed;
+        }
+
+        void addUniversal(final Quantified universal) {
+            universals.add(universal);
+            instances.add(new HashSet<>());
+        }
+    }
+}
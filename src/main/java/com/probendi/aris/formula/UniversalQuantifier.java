@@ -2,9 +2,9 @@ package com.probendi.aris.formula;
 
 import com.probendi.aris.exception.MissingSymbolException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * Represents the universal quantifier.
@@ -24,6 +24,11 @@ public class UniversalQuantifier extends Quantifier {
         super(variable, wff);
     }
 
+    // creates a node of a formula factory
+    UniversalQuantifier(final String variable, final WellFormedFormula wff, final long id) {
+        super(variable, wff, id);
+    }
+
     @Override
     public List<Condition> determineFalsehoodConditions() {
         return wff.determineFalsehoodConditions();
@@ -39,22 +44,52 @@ public class UniversalQuantifier extends Quantifier {
         return wff.valuate(values);
     }
 
+    @Override
+    public long valuate(final Map<KPredicate, Integer> index, final long[] words) throws MissingSymbolException {
+        return wff.valuate(index, words);
+    }
+
+    @Override
+    public boolean valuate(final SymbolTable symbols, final boolean[] values) throws MissingSymbolException {
+        return wff.valuate(symbols, values);
+    }
+
+    /**
+     * Valuates this formula under the given q-valuation, i.e., returns {@code true} if its formula is true for all
+     * the individuals of the domain.
+     *
+     * @param interpretation the q-valuation
+     * @param assignment     the individuals assigned to the free variables
+     * @return {@code true} if this formula is true
+     * @throws IllegalArgumentException if interpretation or assignment is {@code null}
+     * @throws MissingSymbolException   if a predicate has no extension or a term denotes no individual
+     */
+    @Override
+    public boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException {
+        final BitSet extension = extension(interpretation, assignment);
+        if (extension != null) {
+            return extension.nextClearBit(0) >= interpretation.getSize();
+        }
+        for (int d = 0; d < interpretation.getSize(); d++) {
+            if (!wff.valuate(interpretation, assign(assignment, d))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof UniversalQuantifier that)) {
+        if (!(o instanceof UniversalQuantifier that) || hash != that.hash || FormulaFactory.areDistinct(id, that.id)) {
             return false;
         }
         return variable.equals(that.variable) && wff.equals(that.wff);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(variable, wff);
-    }
-
     @Override
     public String toString() {
         return "∀" + variable + wff;
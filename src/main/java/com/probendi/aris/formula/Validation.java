@@ -0,0 +1,192 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.sat.Solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The state of the validation of an argument with a given strategy, which the argument keeps between its validations,
+ * so that the premises added afterwards are checked against the outcome of the previous validation rather than
+ * validated from scratch.
+ * <p>
+ * Adding a premise only rules out valuations, so a valid argument stays valid, with the usual semantics and, as long
+ * as the domain does not change, with the semantics of the truth tables. An invalid argument stays invalid as long as
+ * one of the countervaluations, or countermodels, found so far survives the added premises, i.e., makes them true
+ * with the usual semantics, or false with the semantics of the truth tables. Otherwise, the argument is validated
+ * anew, except by the {@link Strategy#SAT} strategy, whose solver keeps its clauses, and the clauses it learned, and
+ * is given the clauses of the added premises only.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+final class Validation {
+
+    private final boolean usual;
+    private final Set<String> domain;
+    // the number of premises validated so far, or -1 if the argument was not validated yet
+    private int premises = -1;
+    private boolean valid;
+    private final List<Map<KPredicate, Boolean>> countervaluations = new ArrayList<>();
+    private final List<Interpretation> countermodels = new ArrayList<>();
+    private CnfEncoder encoder;
+    private Solver solver;
+    // the number of premises encoded into the solver so far, which the revalidations do not advance
+    private int encoded;
+    private int clauses;
+    private boolean satisfiable = true;
+
+    /**
+     * Creates a new validation.
+     *
+     * @param usual  {@code true} if the strategy has the usual semantics
+     * @param domain the names of the domain, with the semantics of the truth tables, or {@code null}
+     */
+    Validation(final boolean usual, final Set<String> domain) {
+        this.usual = usual;
+        this.domain = domain;
+    }
+
+    /**
+     * Returns the number of premises validated so far.
+     *
+     * @return the number of premises, or {@code -1} if the argument was not validated yet
+     */
+    int getPremises() {
+        return premises;
+    }
+
+    /**
+     * Returns the number of clauses learned by the solver so far.
+     *
+     * @return the number of learned clauses
+     */
+    int getLearnts() {
+        return solver == null ? 0 : solver.getLearnts();
+    }
+
+    /**
+     * Returns {@code true} if this validation holds for an argument with the given semantics, domain and number of
+     * premises, i.e., if the argument only gained premises since.
+     *
+     * @param usual    {@code true} if the strategy has the usual semantics
+     * @param domain   the names of the domain, or {@code null}
+     * @param premises the number of premises
+     * @return {@code true} if this validation can be reused
+     */
+    boolean isFor(final boolean usual, final Set<String> domain, final int premises) {
+        return this.usual == usual && Objects.equals(this.domain, domain) && this.premises <= premises;
+    }
+
+    /**
+     * Returns the validity of the argument with the given premises, if the outcome of the previous validation tells
+     * it, dropping the countervaluations and the countermodels which do not survive the added premises.
+     *
+     * @param premises all the premises, the added ones last
+     * @return the validity, or {@code null} if the argument must be validated anew
+     */
+    Boolean revalidate(final List<WellFormedFormula> premises) {
+        if (this.premises < 0) {
+            return null;
+        }
+        final List<WellFormedFormula> added = premises.subList(this.premises, premises.size());
+        if (!valid) {
+            countervaluations.removeIf(countervaluation -> !survives(countervaluation, added));
+            countermodels.removeIf(countermodel -> !survives(countermodel, added));
+            if (countervaluations.isEmpty() && countermodels.isEmpty()) {
+                return null;
+            }
+        }
+        this.premises = premises.size();
+        return valid;
+    }
+
+    /**
+     * Records the outcome of a validation from scratch.
+     *
+     * @param valid            {@code true} if the argument is valid
+     * @param premises         the number of premises
+     * @param countervaluation the countervaluation found, or {@code null}
+     * @param countermodel     the countermodel found, or {@code null}
+     */
+    void record(final boolean valid, final int premises, final Map<KPredicate, Boolean> countervaluation,
+                final Interpretation countermodel) {
+        this.valid = valid;
+        this.premises = premises;
+        countervaluations.clear();
+        countermodels.clear();
+        if (!valid && countervaluation != null) {
+            countervaluations.add(countervaluation);
+        }
+        if (!valid && countermodel != null) {
+            countermodels.add(countermodel);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given simplified argument without quantifiers is valid, giving the solver the
+     * clauses of the premises added since the previous call, including those whose outcome was revalidated since.
+     *
+     * @param premises   all the premises, the added ones last
+     * @param conclusion the conclusion
+     * @return {@code true} if the argument is valid
+     */
+    boolean solve(final List<WellFormedFormula> premises, final WellFormedFormula conclusion) {
+        if (solver == null) {
+            encoder = new CnfEncoder();
+            solver = new Solver();
+            // a conclusion which is always false adds nothing to the premises
+            if (conclusion != Constant.FALSE) {
+                encoder.assertFalse(conclusion);
+            }
+        }
+        for (final WellFormedFormula premise : premises.subList(encoded, premises.size())) {
+            if (premise != Constant.TRUE) {
+                encoder.assertTrue(premise);
+            }
+        }
+        encoded = premises.size();
+        for (; clauses < encoder.getClauses().size(); clauses++) {
+            satisfiable &= solver.addClause(encoder.getClauses().get(clauses));
+        }
+        final Map<KPredicate, Boolean> countervaluation = new HashMap<>();
+        valid = !satisfiable || !solver.solve();
+        if (!valid) {
+            encoder.getAtoms().forEach((k, variable) -> countervaluation.put(k, solver.value(variable)));
+        }
+        record(valid, premises.size(), valid ? null : countervaluation, null);
+        return valid;
+    }
+
+    // a countervaluation makes the premises true with the usual semantics, and false otherwise
+    private boolean survives(final Map<KPredicate, Boolean> countervaluation, final List<WellFormedFormula> added) {
+        try {
+            for (final WellFormedFormula premise : added) {
+                if (premise.valuate(countervaluation) != usual) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (final MissingSymbolException e) {
+            // the premise has a predicate which the countervaluation does not know
+            return false;
+        }
+    }
+
+    private static boolean survives(final Interpretation countermodel, final List<WellFormedFormula> added) {
+        try {
+            for (final WellFormedFormula premise : added) {
+                if (!premise.valuate(countermodel)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (final MissingSymbolException e) {
+            return false;
+        }
+    }
+}
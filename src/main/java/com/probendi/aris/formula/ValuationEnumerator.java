@@ -0,0 +1,60 @@
+package com.probendi.aris.formula;
+
+/**
+ * Enumerates the valuations of a set of symbols in Gray-code order, i.e., each valuation differs from the previous
+ * one in the truth-value of exactly one symbol.
+ * <p>
+ * The enumeration is loopless (Knuth, <em>The Art of Computer Programming</em>, Algorithm 7.2.1.1L) and updates the
+ * same array of truth-values in place, hence its memory does not grow with the number of valuations.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class ValuationEnumerator {
+
+    private final boolean[] values;
+    private final int[] focus;
+
+    /**
+     * Creates a new enumerator of the valuations of the given number of symbols, starting from the valuation which
+     * makes all the symbols false.
+     *
+     * @param n the number of symbols
+     * @throws IllegalArgumentException if n is negative
+     */
+    public ValuationEnumerator(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n cannot be negative");
+        }
+        values = new boolean[n];
+        focus = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            focus[i] = i;
+        }
+    }
+
+    /**
+     * Returns the truth-values of the current valuation.
+     *
+     * @return the truth-values of the current valuation
+     */
+    public boolean[] getValues() {
+        return values;
+    }
+
+    /**
+     * Moves to the next valuation.
+     *
+     * @return the index of the symbol whose truth-value changed, or {@code -1} if there are no more valuations
+     */
+    public int next() {
+        final int j = focus[0];
+        if (j == values.length) {
+            return -1;
+        }
+        focus[0] = 0;
+        focus[j] = focus[j + 1];
+        focus[j + 1] = j + 1;
+        values[j] = !values[j];
+        return j;
+    }
+}
@@ -0,0 +1,97 @@
+package com.probendi.aris.formula;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The terms of a well-formed formula, told apart structurally: the free variables, i.e., the variables which are not
+ * bound by a quantifier of the formula, the variables bound by the quantifiers of the formula, and the names.
+ * <p>
+ * The variables are the terms from {@code x} to {@code z}, with or without primes, and the names are the other
+ * terms. The variables of a node are computed from the variables of its subformulae, and the nodes cache them, so the
+ * terms of a formula are visited once, whichever pass asks for them.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ *
+ * @param free  the free variables
+ * @param bound the variables bound by the quantifiers
+ * @param names the names
+ */
+public record Variables(Set<String> free, Set<String> bound, Set<String> names) {
+
+    /**
+     * The variables of a formula without terms.
+     */
+    public static final Variables NONE = new Variables(Set.of(), Set.of(), Set.of());
+
+    /**
+     * Creates the variables of a formula.
+     *
+     * @param free  the free variables
+     * @param bound the variables bound by the quantifiers
+     * @param names the names
+     * @throws IllegalArgumentException if free, bound or names is {@code null}
+     */
+    public Variables {
+        if (free == null || bound == null || names == null) {
+            throw new IllegalArgumentException("free, bound and names cannot be null");
+        }
+        free = Set.copyOf(free);
+        bound = Set.copyOf(bound);
+        names = Set.copyOf(names);
+    }
+
+    /**
+     * Returns the variables of the given formula, from the variables of its subformulae.
+     *
+     * @param wff the formula
+     * @return the variables
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    static Variables of(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        if (wff instanceof final KPredicate predicate) {
+            final Set<String> free = new HashSet<>();
+            final Set<String> names = new HashSet<>();
+            for (final String term : predicate.getTerms()) {
+                (term.charAt(0) >= 'x' ? free : names).add(term);
+            }
+            return new Variables(free, Set.of(), names);
+        } else if (wff instanceof final AtomicCondition condition) {
+            return condition.getPredicate().getVariables();
+        } else if (wff instanceof final Negation negation) {
+            return negation.wff().getVariables();
+        } else if (wff instanceof final Conjunction conjunction) {
+            return union(conjunction.wff1().getVariables(), conjunction.wff2().getVariables());
+        } else if (wff instanceof final Disjunction disjunction) {
+            return union(disjunction.wff1().getVariables(), disjunction.wff2().getVariables());
+        } else if (wff instanceof final Conditional conditional) {
+            return union(conditional.wff1().getVariables(), conditional.wff2().getVariables());
+        } else if (wff instanceof final Quantifier quantifier) {
+            final Variables variables = quantifier.wff.getVariables();
+            final Set<String> free = new HashSet<>(variables.free);
+            free.remove(quantifier.variable);
+            final Set<String> bound = new HashSet<>(variables.bound);
+            bound.add(quantifier.variable);
+            return new Variables(free, bound, variables.names);
+        }
+        return NONE;
+    }
+
+    private static Variables union(final Variables v1, final Variables v2) {
+        if (v1.equals(v2) || v2 == NONE) {
+            return v1;
+        } else if (v1 == NONE) {
+            return v2;
+        }
+        return new Variables(union(v1.free, v2.free), union(v1.bound, v2.bound), union(v1.names, v2.names));
+    }
+
+    private static Set<String> union(final Set<String> s1, final Set<String> s2) {
+        final Set<String> union = new HashSet<>(s1);
+        union.addAll(s2);
+        return union;
+    }
+}
@@ -11,6 +11,13 @@ import java.util.Queue;
 /**
  * A well-formed formula of a quantifier logic language.
  * <p>
+ * The formulae do not change once created, but they are not immutable objects: the nodes cache their variables and
+ * their conditions in non-final fields, computed on demand and written without locking. These are benign races, as
+ * for the hash code of a {@link String}. Each cache is read once per call into a local variable, and the cached values
+ * only have final fields, so a thread sees either {@code null}, and computes an equal value anew, or a fully built
+ * value. Hence a formula can be shared among threads, e.g., by the workers of the parallel strategy, at the cost of
+ * some duplicated work, and threads may get equal but distinct lists of conditions.
+ * <p>
  * {@code @Copyright}, 2023 Daniele Di Salvo
  */
 public interface WellFormedFormula {
@@ -39,6 +46,71 @@ public interface WellFormedFormula {
      */
     boolean valuate(final Map<KPredicate, Boolean> values) throws MissingSymbolException;
 
+    /**
+     * Valuates this formula under 64 valuations at once, one valuation per bit.
+     *
+     * @param index a map containing the position of the symbols' words
+     * @param words the symbols' truth-values, a word per symbol and a bit per valuation
+     * @return a word whose bits are the truth-values of this formula under each valuation
+     * @throws IllegalArgumentException if index or words is {@code null}
+     * @throws MissingSymbolException   if this formula could not be evaluated because a symbol has no value
+     */
+    long valuate(final Map<KPredicate, Integer> index, final long[] words) throws MissingSymbolException;
+
+    /**
+     * Valuates this formula under the given truth-values of the atoms.
+     *
+     * @param symbols the symbol table which gives the atoms their ids
+     * @param values  the atoms' truth-values, indexed by their ids
+     * @return {@code true} if this formula preserves the truth
+     * @throws IllegalArgumentException if symbols or values is {@code null}
+     * @throws MissingSymbolException   if this formula could not be evaluated because a symbol has no value
+     */
+    boolean valuate(final SymbolTable symbols, final boolean[] values) throws MissingSymbolException;
+
+    /**
+     * Valuates this formula under the given q-valuation, with the usual semantics of the quantifiers.
+     *
+     * @param interpretation the q-valuation
+     * @param assignment     the individuals assigned to the free variables
+     * @return {@code true} if this formula is true
+     * @throws IllegalArgumentException if interpretation or assignment is {@code null}
+     * @throws MissingSymbolException   if a predicate has no extension or a term denotes no individual
+     */
+    boolean valuate(final Interpretation interpretation, final Map<String, Integer> assignment)
+            throws MissingSymbolException;
+
+    /**
+     * Valuates this formula, which has no free variables, under the given q-valuation.
+     *
+     * @param interpretation the q-valuation
+     * @return {@code true} if this formula is true
+     * @throws IllegalArgumentException if interpretation is {@code null}
+     * @throws MissingSymbolException   if a predicate has no extension or a name denotes no individual
+     */
+    default boolean valuate(final Interpretation interpretation) throws MissingSymbolException {
+        return valuate(interpretation, Map.of());
+    }
+
+    /**
+     * Returns the unique id given to this formula by a {@link FormulaFactory}.
+     *
+     * @return the id, or {@code 0} if this formula was not interned by a factory
+     */
+    default long getId() {
+        return 0;
+    }
+
+    /**
+     * Returns the free variables, the bound variables and the names of this formula. The nodes of the formulae compute
+     * them once, from the variables of their subformulae.
+     *
+     * @return the variables
+     */
+    default Variables getVariables() {
+        return Variables.of(this);
+    }
+
     /**
      * Parses a well-formed formula from the given tokens.
      *
@@ -47,6 +119,19 @@ public interface WellFormedFormula {
      * @throws UnexpectedSymbolException if an unexpected symbol was found
      */
     static WellFormedFormula parse(final Queue<Token> tokens) throws UnexpectedSymbolException {
+        return parse(tokens, new FormulaFactory());
+    }
+
+    /**
+     * Parses a well-formed formula from the given tokens, interning its subformulae with the given factory.
+     *
+     * @param tokens  the tokens to be parsed
+     * @param factory the formula factory
+     * @return a well-formed formula
+     * @throws UnexpectedSymbolException if an unexpected symbol was found
+     */
+    static WellFormedFormula parse(final Queue<Token> tokens, final FormulaFactory factory)
+            throws UnexpectedSymbolException {
         Token token;
         if ((token = tokens.peek()) != null) {
             if (token instanceof Comma || token instanceof RBracket || token instanceof Therefore) {
@@ -54,15 +139,19 @@ public interface WellFormedFormula {
             }
             token = tokens.remove();
             if (token instanceof Every) {
-                return new UniversalQuantifier(tokens.remove().getValue(), parse(tokens));
+                return factory.universal(tokens.remove().getValue(), parse(tokens, factory));
             } else if (token instanceof Exist) {
-                return new ExistentialQuantifier(tokens.remove().getValue(), parse(tokens));
+                return factory.existential(tokens.remove().getValue(), parse(tokens, factory));
             } else if (token instanceof LBracket) {
-                return parseBinary(tokens);
+                return parseBinary(tokens, factory);
             } else if (token instanceof Not) {
-                return new Negation(parse(tokens));
+                return factory.negation(parse(tokens, factory));
             } else if (token instanceof Predicate) {
-                return KPredicate.parse(token.getValue(), tokens);
+                return KPredicate.parse(token.getValue(), tokens, factory);
+            } else if (token instanceof True) {
+                return Constant.TRUE;
+            } else if (token instanceof False) {
+                return Constant.FALSE;
             }
         }
         throw new UnexpectedSymbolException(String.valueOf(token));
@@ -71,21 +160,23 @@ public interface WellFormedFormula {
     /**
      * Parses a well-formed binary formula from the given tokens.
      *
-     * @param tokens the tokens to be parsed
+     * @param tokens  the tokens to be parsed
+     * @param factory the formula factory
      * @return a well-formed binary formula
      * @throws UnexpectedSymbolException if an unexpected symbol was found
      */
-    private static WellFormedFormula parseBinary(final Queue<Token> tokens) throws UnexpectedSymbolException {
-        final WellFormedFormula wff1 = parse(tokens);
+    private static WellFormedFormula parseBinary(final Queue<Token> tokens, final FormulaFactory factory)
+            throws UnexpectedSymbolException {
+        final WellFormedFormula wff1 = parse(tokens, factory);
         final Token operator = tokens.remove();
-        final WellFormedFormula wff2 = parse(tokens);
+        final WellFormedFormula wff2 = parse(tokens, factory);
         final WellFormedFormula formula;
         if (operator instanceof And) {
-            formula = new Conjunction(wff1, wff2);
+            formula = factory.conjunction(wff1, wff2);
         } else if (operator instanceof Or) {
-            formula = new Disjunction(wff1, wff2);
+            formula = factory.disjunction(wff1, wff2);
         } else {
-            formula = new Conditional(wff1, wff2);
+            formula = factory.conditional(wff1, wff2);
         }
         tokens.remove();
         return formula;
@@ -0,0 +1,148 @@
+package com.probendi.aris.sat;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A compact store of clauses in conjunctive normal form.
+ * <p>
+ * The literals of all the clauses are kept in a single array of {@code int}, using the DIMACS convention, i.e.,
+ * variables are numbered from 1 and a negative literal is the negation of a variable. A second array keeps the offset
+ * at which each clause starts.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class ClauseStore {
+
+    private int[] literals = new int[64];
+    private int[] offsets = new int[17];
+    private int size;
+    private int variables;
+
+    /**
+     * Creates a new empty store.
+     */
+    public ClauseStore() {
+    }
+
+    /**
+     * Adds the given clause.
+     *
+     * @param clause the clause's literals
+     * @throws IllegalArgumentException if clause is {@code null} or contains {@code 0}
+     */
+    public void add(final int... clause) {
+        if (clause == null) {
+            throw new IllegalArgumentException("clause cannot be null");
+        }
+        // the literals are checked before the store changes, so a rejected clause leaves no trace
+        int max = variables;
+        for (final int literal : clause) {
+            if (literal == 0) {
+                throw new IllegalArgumentException("a literal cannot be 0");
+            }
+            max = Math.max(max, Math.abs(literal));
+        }
+        final int start = offsets[size];
+        if (start + clause.length > literals.length) {
+            literals = Arrays.copyOf(literals, Math.max(start + clause.length, 2 * literals.length));
+        }
+        variables = max;
+        System.arraycopy(clause, 0, literals, start, clause.length);
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        }
+        offsets[++size] = start + clause.length;
+    }
+
+    /**
+     * Returns the number of clauses.
+     *
+     * @return the number of clauses
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the highest variable occurring in the clauses.
+     *
+     * @return the highest variable
+     */
+    public int getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the literals of the given clause.
+     *
+     * @param i the clause's index
+     * @return a copy of the clause's literals
+     * @throws IndexOutOfBoundsException if there is no clause with the given index
+     */
+    public int[] get(final int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return Arrays.copyOfRange(literals, offsets[i], offsets[i + 1]);
+    }
+
+    /**
+     * Adds all the clauses to the given solver.
+     *
+     * @param solver the solver
+     * @return {@code false} if the solver's clauses are now trivially unsatisfiable
+     * @throws IllegalArgumentException if solver is {@code null}
+     */
+    public boolean addTo(final Solver solver) {
+        if (solver == null) {
+            throw new IllegalArgumentException("solver cannot be null");
+        }
+        boolean ok = true;
+        for (int i = 0; i < size; i++) {
+            ok &= solver.addClause(get(i));
+        }
+        return ok;
+    }
+
+    /**
+     * Returns {@code true} if all the clauses are satisfied by the given assignment.
+     *
+     * @param assignment the truth-values of the variables, where the value of variable {@code v} is at index
+     *                   {@code v - 1}
+     * @return {@code true} if all the clauses are satisfied
+     * @throws IllegalArgumentException if assignment is {@code null} or shorter than the number of variables
+     */
+    public boolean isSatisfiedBy(final boolean[] assignment) {
+        if (assignment == null || assignment.length < variables) {
+            throw new IllegalArgumentException("assignment cannot be null or shorter than the number of variables");
+        }
+        for (int i = 0; i < size; i++) {
+            boolean satisfied = false;
+            for (int k = offsets[i]; !satisfied && k < offsets[i + 1]; k++) {
+                final int l = literals[k];
+                satisfied = assignment[Math.abs(l) - 1] == l > 0;
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the clauses in the DIMACS CNF format.
+     *
+     * @param out the output
+     * @throws IOException if the clauses cannot be written
+     */
+    public void writeDimacs(final Appendable out) throws IOException {
+        out.append("p cnf ").append(String.valueOf(variables)).append(' ').append(String.valueOf(size)).append('\n');
+        for (int i = 0; i < size; i++) {
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                out.append(String.valueOf(literals[k])).append(' ');
+            }
+            out.append("0\n");
+        }
+    }
+}
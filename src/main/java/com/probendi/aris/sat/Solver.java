@@ -0,0 +1,596 @@
+package com.probendi.aris.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A conflict-driven clause-learning (CDCL) satisfiability solver.
+ * <p>
+ * Variables are numbered from 1, and a literal is either a variable {@code v} or its negation {@code -v}, as in the
+ * DIMACS format. The solver watches two literals per clause, learns a first-UIP clause from each conflict, branches
+ * on the variable with the highest VSIDS activity using the last truth-value it was assigned, and restarts following
+ * the Luby sequence. Clauses can be added between calls to {@link #solve(int...)}, which keeps the learned clauses.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Solver {
+
+    private static final byte UNDEFINED = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = -1;
+
+    private static final double ACTIVITY_DECAY = 0.95;
+    private static final double ACTIVITY_LIMIT = 1e100;
+    private static final int RESTART_CONFLICTS = 100;
+
+    private final List<int[]> clauses = new ArrayList<>();
+    private final List<int[]> learnts = new ArrayList<>();
+
+    // indexed by variable, 0-based
+    private byte[] assigns = new byte[0];
+    private int[] levels = new int[0];
+    private int[][] reasons = new int[0][];
+    private double[] activities = new double[0];
+    private boolean[] phases = new boolean[0];
+    private boolean[] seen = new boolean[0];
+    private boolean[] model = new boolean[0];
+
+    // indexed by literal; watches[p] contains the clauses watching the negation of p
+    private Watches[] watches = new Watches[0];
+
+    private final VariableHeap heap = new VariableHeap();
+
+    private int[] trail = new int[0];
+    private int trailSize;
+    private int[] trailLimits = new int[0];
+    private int decisionLevel;
+    private int head;
+
+    private int variables;
+    private double activityIncrement = 1;
+    private boolean ok = true;
+
+    private long conflicts;
+    private long decisions;
+    private long propagations;
+
+    /**
+     * Creates a new solver without variables and clauses.
+     */
+    public Solver() {
+    }
+
+    /**
+     * Creates a new variable.
+     *
+     * @return the new variable
+     */
+    public int newVariable() {
+        ensureVariables(variables + 1);
+        return variables;
+    }
+
+    /**
+     * Returns the number of variables.
+     *
+     * @return the number of variables
+     */
+    public int getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the number of conflicts analysed so far.
+     *
+     * @return the number of conflicts
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the number of decisions taken so far.
+     *
+     * @return the number of decisions
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * Returns the number of literals assigned by unit propagation so far.
+     *
+     * @return the number of propagations
+     */
+    public long getPropagations() {
+        return propagations;
+    }
+
+    /**
+     * Returns the number of clauses learned so far.
+     *
+     * @return the number of learned clauses
+     */
+    public int getLearnts() {
+        return learnts.size();
+    }
+
+    /**
+     * Adds the given clause, creating its variables if necessary.
+     *
+     * @param literals the clause's literals
+     * @return {@code false} if the clauses are now trivially unsatisfiable
+     * @throws IllegalArgumentException if literals is {@code null} or contains {@code 0}
+     */
+    public boolean addClause(final int... literals) {
+        if (literals == null) {
+            throw new IllegalArgumentException("literals cannot be null");
+        }
+        cancelUntil(0);
+        if (!ok) {
+            return false;
+        }
+        int[] clause = new int[literals.length];
+        int size = 0;
+        for (final int literal : literals) {
+            if (literal == 0) {
+                throw new IllegalArgumentException("a literal cannot be 0");
+            }
+            ensureVariables(Math.abs(literal));
+            final int p = toInternal(literal);
+            final byte value = valueOf(p);
+            if (value == TRUE) {
+                return true;
+            }
+            if (value == FALSE) {
+                continue;
+            }
+            boolean duplicate = false;
+            for (int i = 0; i < size; i++) {
+                if (clause[i] == (p ^ 1)) {
+                    return true; // a tautology
+                }
+                duplicate |= clause[i] == p;
+            }
+            if (!duplicate) {
+                clause[size++] = p;
+            }
+        }
+        if (size == 0) {
+            ok = false;
+        } else if (size == 1) {
+            enqueue(clause[0], null);
+            ok = propagate() == null;
+        } else {
+            clause = Arrays.copyOf(clause, size);
+            clauses.add(clause);
+            attach(clause);
+        }
+        return ok;
+    }
+
+    /**
+     * Returns {@code true} if the clauses are satisfiable when the given literals are assumed to be true.
+     * The assumptions only hold for this call.
+     *
+     * @param assumptions the literals which are assumed to be true
+     * @return {@code true} if the clauses are satisfiable
+     * @throws IllegalArgumentException if assumptions contains {@code 0}
+     */
+    public boolean solve(final int... assumptions) {
+        if (!ok) {
+            return false;
+        }
+        final int[] assumed = new int[assumptions.length];
+        for (int i = 0; i < assumptions.length; i++) {
+            if (assumptions[i] == 0) {
+                throw new IllegalArgumentException("a literal cannot be 0");
+            }
+            ensureVariables(Math.abs(assumptions[i]));
+            assumed[i] = toInternal(assumptions[i]);
+        }
+        byte status = UNDEFINED;
+        for (int restarts = 0; status == UNDEFINED; restarts++) {
+            status = search((long) (luby(2, restarts) * RESTART_CONFLICTS), assumed);
+        }
+        cancelUntil(0);
+        return status == TRUE;
+    }
+
+    /**
+     * Returns the truth-value of the given variable in the model found by the last successful call to
+     * {@link #solve(int...)}.
+     *
+     * @param variable the variable
+     * @return the truth-value of the variable
+     * @throws IndexOutOfBoundsException if the variable does not exist
+     */
+    public boolean value(final int variable) {
+        if (variable < 1 || variable > variables) {
+            throw new IndexOutOfBoundsException(variable);
+        }
+        return variable <= model.length && model[variable - 1];
+    }
+
+    private byte search(final long maxConflicts, final int[] assumptions) {
+        long n = 0;
+        final IntList learnt = new IntList();
+        while (true) {
+            final int[] conflict = propagate();
+            if (conflict != null) {
+                conflicts++;
+                n++;
+                if (decisionLevel == 0) {
+                    ok = false;
+                    return FALSE;
+                }
+                learnt.clear();
+                final int level = analyze(conflict, learnt);
+                cancelUntil(level);
+                if (learnt.size == 1) {
+                    enqueue(learnt.data[0], null);
+                } else {
+                    final int[] clause = Arrays.copyOf(learnt.data, learnt.size);
+                    learnts.add(clause);
+                    attach(clause);
+                    enqueue(clause[0], clause);
+                }
+                activityIncrement /= ACTIVITY_DECAY;
+            } else {
+                if (n >= maxConflicts) {
+                    cancelUntil(0);
+                    return UNDEFINED;
+                }
+                int next = -1;
+                while (decisionLevel < assumptions.length) {
+                    final int p = assumptions[decisionLevel];
+                    final byte value = valueOf(p);
+                    if (value == TRUE) {
+                        newDecisionLevel(); // a dummy decision level
+                    } else if (value == FALSE) {
+                        return FALSE;
+                    } else {
+                        next = p;
+                        break;
+                    }
+                }
+                if (next == -1) {
+                    next = pickBranchLiteral();
+                    if (next == -1) {
+                        model = new boolean[variables];
+                        for (int v = 0; v < variables; v++) {
+                            model[v] = assigns[v] == TRUE;
+                        }
+                        return TRUE;
+                    }
+                    decisions++;
+                }
+                newDecisionLevel();
+                enqueue(next, null);
+            }
+        }
+    }
+
+    // unit propagation; returns the conflicting clause, if any
+    private int[] propagate() {
+        while (head < trailSize) {
+            final int p = trail[head++];
+            final int falseLiteral = p ^ 1;
+            final Watches ws = watches[p];
+            int i = 0;
+            int j = 0;
+            next:
+            while (i < ws.size) {
+                final int[] c = ws.clauses[i++];
+                if (c[0] == falseLiteral) {
+                    c[0] = c[1];
+                    c[1] = falseLiteral;
+                }
+                if (valueOf(c[0]) == TRUE) {
+                    ws.clauses[j++] = c;
+                    continue;
+                }
+                for (int k = 2; k < c.length; k++) {
+                    if (valueOf(c[k]) != FALSE) {
+                        c[1] = c[k];
+                        c[k] = falseLiteral;
+                        watches[c[1] ^ 1].add(c);
+                        continue next;
+                    }
+                }
+                ws.clauses[j++] = c;
+                if (valueOf(c[0]) == FALSE) {
+                    while (i < ws.size) {
+                        ws.clauses[j++] = ws.clauses[i++];
+                    }
+                    ws.size = j;
+                    head = trailSize;
+                    return c;
+                }
+                enqueue(c[0], c);
+            }
+            ws.size = j;
+        }
+        return null;
+    }
+
+    // first-UIP conflict analysis; fills the learnt clause and returns the level to backtrack to
+    private int analyze(int[] conflict, final IntList learnt) {
+        learnt.add(-1); // room for the asserting literal
+        int paths = 0;
+        int p = -1;
+        int index = trailSize - 1;
+        do {
+            for (int k = p == -1 ? 0 : 1; k < conflict.length; k++) {
+                final int q = conflict[k];
+                final int v = q >> 1;
+                if (!seen[v] && levels[v] > 0) {
+                    bump(v);
+                    seen[v] = true;
+                    if (levels[v] >= decisionLevel) {
+                        paths++;
+                    } else {
+                        learnt.add(q);
+                    }
+                }
+            }
+            while (!seen[trail[index] >> 1]) {
+                index--;
+            }
+            p = trail[index--];
+            conflict = reasons[p >> 1];
+            seen[p >> 1] = false;
+            paths--;
+        } while (paths > 0);
+        learnt.data[0] = p ^ 1;
+
+        // drop the literals implied by other literals of the clause
+        final int[] literals = Arrays.copyOfRange(learnt.data, 1, learnt.size);
+        int j = 1;
+        for (int i = 1; i < learnt.size; i++) {
+            final int[] reason = reasons[learnt.data[i] >> 1];
+            boolean redundant = reason != null;
+            for (int k = 1; redundant && k < reason.length; k++) {
+                final int v = reason[k] >> 1;
+                redundant = seen[v] || levels[v] == 0;
+            }
+            if (!redundant) {
+                learnt.data[j++] = learnt.data[i];
+            }
+        }
+        for (final int q : literals) {
+            seen[q >> 1] = false;
+        }
+        learnt.size = j;
+
+        // the literal with the highest level is watched together with the asserting literal
+        int level = 0;
+        for (int i = 1; i < learnt.size; i++) {
+            final int l = levels[learnt.data[i] >> 1];
+            if (l > level) {
+                level = l;
+                final int tmp = learnt.data[1];
+                learnt.data[1] = learnt.data[i];
+                learnt.data[i] = tmp;
+            }
+        }
+        return level;
+    }
+
+    private int pickBranchLiteral() {
+        while (!heap.isEmpty()) {
+            final int v = heap.removeMax();
+            if (assigns[v] == UNDEFINED) {
+                return 2 * v + (phases[v] ? 0 : 1);
+            }
+        }
+        return -1;
+    }
+
+    private void bump(final int v) {
+        activities[v] += activityIncrement;
+        if (activities[v] > ACTIVITY_LIMIT) {
+            for (int i = 0; i < variables; i++) {
+                activities[i] /= ACTIVITY_LIMIT;
+            }
+            activityIncrement /= ACTIVITY_LIMIT;
+        }
+        heap.increased(v);
+    }
+
+    private void attach(final int[] clause) {
+        watches[clause[0] ^ 1].add(clause);
+        watches[clause[1] ^ 1].add(clause);
+    }
+
+    private void enqueue(final int p, final int[] reason) {
+        final int v = p >> 1;
+        assigns[v] = (p & 1) == 0 ? TRUE : FALSE;
+        levels[v] = decisionLevel;
+        reasons[v] = reason;
+        trail[trailSize++] = p;
+        if (reason != null) {
+            propagations++;
+        }
+    }
+
+    private void newDecisionLevel() {
+        trailLimits[decisionLevel++] = trailSize;
+    }
+
+    private void cancelUntil(final int level) {
+        if (decisionLevel <= level) {
+            return;
+        }
+        for (int i = trailSize - 1; i >= trailLimits[level]; i--) {
+            final int v = trail[i] >> 1;
+            phases[v] = assigns[v] == TRUE;
+            assigns[v] = UNDEFINED;
+            reasons[v] = null;
+            heap.insert(v);
+        }
+        trailSize = trailLimits[level];
+        head = trailSize;
+        decisionLevel = level;
+    }
+
+    private byte valueOf(final int p) {
+        final byte value = assigns[p >> 1];
+        return (p & 1) == 0 ? value : (byte) -value;
+    }
+
+    private void ensureVariables(final int n) {
+        if (n <= variables) {
+            return;
+        }
+        if (n > assigns.length) {
+            final int capacity = Math.max(n, 2 * assigns.length);
+            assigns = Arrays.copyOf(assigns, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            reasons = Arrays.copyOf(reasons, capacity);
+            activities = Arrays.copyOf(activities, capacity);
+            phases = Arrays.copyOf(phases, capacity);
+            seen = Arrays.copyOf(seen, capacity);
+            trail = Arrays.copyOf(trail, capacity);
+            trailLimits = Arrays.copyOf(trailLimits, capacity + 1);
+            final int old = watches.length;
+            watches = Arrays.copyOf(watches, 2 * capacity);
+            for (int i = old; i < watches.length; i++) {
+                watches[i] = new Watches();
+            }
+        }
+        for (int v = variables; v < n; v++) {
+            heap.insert(v);
+        }
+        variables = n;
+    }
+
+    private static int toInternal(final int literal) {
+        return literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+    }
+
+    // the Luby restart sequence 1, 1, 2, 1, 1, 2, 4, ..., scaled by y
+    private static double luby(final double y, int x) {
+        int size = 1;
+        int seq = 0;
+        while (size < x + 1) {
+            seq++;
+            size = 2 * size + 1;
+        }
+        while (size - 1 != x) {
+            size = (size - 1) >> 1;
+            seq--;
+            x = x % size;
+        }
+        return Math.pow(y, seq);
+    }
+
+    private static class Watches {
+
+        private int[][] clauses = new int[4][];
+        private int size;
+
+        private void add(final int[] clause) {
+            if (size == clauses.length) {
+                clauses = Arrays.copyOf(clauses, 2 * size);
+            }
+            clauses[size++] = clause;
+        }
+    }
+
+    private static class IntList {
+
+        private int[] data = new int[16];
+        private int size;
+
+        private void add(final int i) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = i;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+
+    // a binary max-heap of the variables, ordered by activity
+    private class VariableHeap {
+
+        private int[] heap = new int[16];
+        private int[] indices = new int[16];
+        private int size;
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void insert(final int v) {
+            if (v >= indices.length) {
+                final int old = indices.length;
+                indices = Arrays.copyOf(indices, Math.max(v + 1, 2 * old));
+                Arrays.fill(indices, old, indices.length, -1);
+            } else if (indices[v] >= 0 && indices[v] < size && heap[indices[v]] == v) {
+                return;
+            }
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, 2 * size);
+            }
+            heap[size] = v;
+            indices[v] = size;
+            up(size++);
+        }
+
+        private int removeMax() {
+            final int v = heap[0];
+            heap[0] = heap[--size];
+            indices[heap[0]] = 0;
+            indices[v] = -1;
+            if (size > 1) {
+                down(0);
+            }
+            return v;
+        }
+
+        private void increased(final int v) {
+            if (v < indices.length && indices[v] >= 0 && indices[v] < size && heap[indices[v]] == v) {
+                up(indices[v]);
+            }
+        }
+
+        private void up(int i) {
+            final int v = heap[i];
+            while (i > 0) {
+                final int parent = (i - 1) >> 1;
+                if (activities[heap[parent]] >= activities[v]) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                indices[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = v;
+            indices[v] = i;
+        }
+
+        private void down(int i) {
+            final int v = heap[i];
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && activities[heap[child + 1]] > activities[heap[child]]) {
+                    child++;
+                }
+                if (activities[heap[child]] <= activities[v]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                indices[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = v;
+            indices[v] = i;
+        }
+    }
+}
@@ -15,6 +15,6 @@ public class Identifier extends Token {
      * @param value the value
      */
     public Identifier(final String value) {
-        super(List.of(Assign.class), value);
+        super(List.of(Assign.class, Using.class), value);
     }
 }
@@ -0,0 +1,23 @@
+package com.probendi.aris.token;
+
+import java.util.List;
+
+/**
+ * The {@code using} token.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Using extends Token {
+
+    /**
+     * Creates a new {@code using} token.
+     */
+    public Using() {
+        super(List.of(Identifier.class));
+    }
+
+    @Override
+    public String toString() {
+        return "using";
+    }
+}
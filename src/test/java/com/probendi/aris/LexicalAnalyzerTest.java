@@ -46,6 +46,7 @@ public class LexicalAnalyzerTest {
     public static final ProperName O = new ProperName("o");
     public static final RBracket R_BRACKET = new RBracket();
     public static final Therefore THEREFORE = new Therefore();
+    public static final Using USING = new Using();
     public static final Validate VALIDATE = new Validate();
     public static final Variable X = new Variable("x");
     public static final Variable X_P = new Variable("x'");
@@ -88,6 +89,8 @@ public class LexicalAnalyzerTest {
                             List.of(ARGUMENT, ARG_A, ASSIGN, NOT, PRED_F, N))),
                     Arguments.of("validate a", List.of(
                             List.of(VALIDATE, ARG_A))),
+                    Arguments.of("validate a using sat", List.of(
+                            List.of(VALIDATE, ARG_A, USING, new Identifier("sat")))),
                     Arguments.of("argument a := (Fn ∧ Fo)", List.of(
                             List.of(ARGUMENT, ARG_A, ASSIGN, L_BRACKET, PRED_F, N, AND, PRED_F, O, R_BRACKET))),
                     Arguments.of("argument a := (Go → Ho)", List.of(
@@ -1,19 +1,28 @@
 package com.probendi.aris;
 
+import com.probendi.aris.cache.ResultCache;
 import com.probendi.aris.exception.ArisException;
 import com.probendi.aris.exception.ParserException;
 import com.probendi.aris.formula.*;
+import com.probendi.aris.token.Assert;
+import com.probendi.aris.token.Identifier;
+import com.probendi.aris.token.Or;
 import com.probendi.aris.token.Token;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static com.probendi.aris.LexicalAnalyzerTest.*;
@@ -33,6 +42,49 @@ public class ParserTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void testAssert() throws ArisException {
+        // argument a := (Fn ∨ ¬Fn)
+        // argument b := (Fn → Gn)
+        // assert a
+        // assert b
+        final Queue<Queue<Token>> queue = new LinkedList<>();
+        queue.add(new LinkedList<>(List.of(ARGUMENT, ARG_A, ASSIGN, L_BRACKET, PRED_F, N, new Or(), NOT, PRED_F, N,
+                R_BRACKET)));
+        queue.add(new LinkedList<>(List.of(ARGUMENT, new Identifier("b"), ASSIGN, L_BRACKET, PRED_F, N, IMPLICATION,
+                PRED_G, N, R_BRACKET)));
+        queue.add(new LinkedList<>(List.of(new Assert(), ARG_A)));
+        queue.add(new LinkedList<>(List.of(new Assert(), new Identifier("b"))));
+        final Parser parser = new Parser();
+        parser.parse(queue);
+        assertEquals(Map.of("a", true, "b", false), parser.getAssertions());
+    }
+
+    @Test
+    void testCache(@TempDir final Path dir) throws ArisException, IOException {
+        // argument a := Fn, ∀x(Fx → Gx) ∴ Gn
+        // argument b := ∀y(Fy → Gy), Fn ∴ Gn
+        // validate a
+        // validate b
+        // assert a
+        final Queue<Queue<Token>> queue = new LinkedList<>();
+        queue.add(new LinkedList<>(List.of(ARGUMENT, ARG_A, ASSIGN, PRED_F, N, COMMA, EVERY, X, L_BRACKET, PRED_F, X,
+                IMPLICATION, PRED_G, X, R_BRACKET, THEREFORE, PRED_G, N)));
+        queue.add(new LinkedList<>(List.of(ARGUMENT, new Identifier("b"), ASSIGN, EVERY, Y, L_BRACKET, PRED_F, Y,
+                IMPLICATION, PRED_G, Y, R_BRACKET, COMMA, PRED_F, N, THEREFORE, PRED_G, N)));
+        queue.add(new LinkedList<>(List.of(VALIDATE, ARG_A)));
+        queue.add(new LinkedList<>(List.of(VALIDATE, new Identifier("b"))));
+        queue.add(new LinkedList<>(List.of(new Assert(), ARG_A)));
+        try (final ResultCache cache = new ResultCache(dir.resolve("cache"), 16)) {
+            final Parser parser = new Parser(ForkJoinPool.commonPool(), cache);
+            parser.parse(queue);
+            assertEquals(Map.of("a", true, "b", true), parser.getValidations());
+            assertEquals(1, cache.getHits());
+            assertEquals(2, cache.getMisses());
+            assertEquals(2, cache.size());
+        }
+    }
+
     @ParameterizedTest
     @ArgumentsSource(ParseFailsArgumentsProvider.class)
     void testParseArgumentFails(final List<Token> line, final String message) {
@@ -121,6 +173,11 @@ public class ParserTest {
                                     PRED_F, Z, AND, PRED_L, Z, N, R_BRACKET)),
                             "Variables mismatch in '∃x∃z(Fz ∧ Lzn)'"
                     ),
+                    // validate a using magic
+                    Arguments.of(
+                            new LinkedList<>(List.of(VALIDATE, ARG_A, USING, new Identifier("magic"))),
+                            "Unknown strategy 'magic'"
+                    ),
                     // ∃x∃z(Fn ∧ Lnx)
                     Arguments.of(
                             new LinkedList<>(List.of(ARGUMENT, ARG_A, ASSIGN, EXIST, X, EXIST, Z, L_BRACKET,
@@ -0,0 +1,90 @@
+package com.probendi.aris.bdd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.probendi.aris.bdd.BddManager.FALSE;
+import static com.probendi.aris.bdd.BddManager.TRUE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BddManagerTest {
+
+    @Test
+    void testCanonicity() {
+        final BddManager manager = new BddManager();
+        final int x = manager.variable(0);
+        final int y = manager.variable(1);
+        final int z = manager.variable(2);
+        assertEquals(manager.and(x, y), manager.and(y, x));
+        // ¬(x ∧ y) ≡ ¬x ∨ ¬y
+        assertEquals(manager.not(manager.and(x, y)), manager.or(manager.not(x), manager.not(y)));
+        // x ∧ (y ∨ z) ≡ (x ∧ y) ∨ (x ∧ z)
+        assertEquals(manager.and(x, manager.or(y, z)), manager.or(manager.and(x, y), manager.and(x, z)));
+        assertEquals(TRUE, manager.or(x, manager.not(x)));
+        assertEquals(FALSE, manager.and(x, manager.not(x)));
+        assertEquals(TRUE, manager.implies(manager.and(x, y), x));
+        assertEquals(0, manager.getVariable(x));
+        assertEquals(-1, manager.getVariable(TRUE));
+    }
+
+    @Test
+    void testRandomFunctions() {
+        // the BDDs of equal truth tables are the same node
+        final Random random = new Random(42);
+        final BddManager manager = new BddManager(16);
+        final int n = 4;
+        final int[] table = new int[1 << 16];
+        Arrays.fill(table, -1);
+        for (int i = 0; i < 2000; i++) {
+            int f = manager.ref(FALSE);
+            final int function = random.nextInt(1 << (1 << n));
+            for (int row = 0; row < 1 << n; row++) {
+                if ((function >> row & 1) == 1) {
+                    int minterm = manager.ref(TRUE);
+                    for (int v = 0; v < n; v++) {
+                        final int literal = manager.variable(v);
+                        final int m = manager.ref(manager.and(minterm,
+                                (row >> v & 1) == 1 ? literal : manager.not(literal)));
+                        manager.deref(minterm);
+                        minterm = m;
+                    }
+                    final int g = manager.ref(manager.or(f, minterm));
+                    manager.deref(f);
+                    manager.deref(minterm);
+                    f = g;
+                }
+            }
+            if (table[function] == -1) {
+                table[function] = f;
+            } else {
+                assertEquals(table[function], f);
+                manager.deref(f);
+            }
+        }
+        assertTrue(manager.getCollections() > 0);
+    }
+
+    @Test
+    void testGc() {
+        final BddManager manager = new BddManager();
+        final int x = manager.ref(manager.variable(0));
+        int f = x;
+        for (int v = 1; v < 100; v++) {
+            f = manager.and(f, manager.variable(v));
+        }
+        assertTrue(manager.getNodes() > 100);
+        manager.gc();
+        assertEquals(3, manager.getNodes());
+        assertEquals(x, manager.variable(0));
+        manager.deref(x);
+        assertThrows(IllegalStateException.class, () -> manager.deref(x));
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BddManager(1));
+        assertThrows(IllegalArgumentException.class, () -> new BddManager().variable(-1));
+    }
+}
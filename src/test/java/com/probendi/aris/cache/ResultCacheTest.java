@@ -0,0 +1,140 @@
+package com.probendi.aris.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testGetAndPut() throws IOException {
+        try (final ResultCache cache = new ResultCache(dir.resolve("cache"), 16)) {
+            final ResultCache.Key a = ResultCache.key("a");
+            final ResultCache.Key b = ResultCache.key("b");
+            assertNull(cache.get(a));
+            cache.put(a, true);
+            cache.put(b, false);
+            assertEquals(true, cache.get(a));
+            assertEquals(false, cache.get(b));
+            cache.put(b, true);
+            assertEquals(true, cache.get(b));
+            assertEquals(2, cache.size());
+            assertEquals(3, cache.getHits());
+            assertEquals(1, cache.getMisses());
+        }
+        assertEquals(32 + 16 * ResultCache.SLOT, Files.size(dir.resolve("cache")));
+    }
+
+    @Test
+    void testPersistence() throws IOException {
+        final Path file = dir.resolve("cache");
+        try (final ResultCache cache = new ResultCache(file, 16)) {
+            for (int i = 0; i < 10; i++) {
+                cache.put(ResultCache.key(String.valueOf(i)), i % 2 == 0);
+            }
+        }
+        try (final ResultCache cache = new ResultCache(file, 16)) {
+            assertEquals(10, cache.size());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i % 2 == 0, cache.get(ResultCache.key(String.valueOf(i))));
+            }
+        }
+        // a cache with another capacity discards the results
+        try (final ResultCache cache = new ResultCache(file, 8)) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws IOException {
+        final Path file = dir.resolve("cache");
+        try (final ResultCache cache = new ResultCache(file, 3)) {
+            cache.put(ResultCache.key("a"), true);
+            cache.put(ResultCache.key("b"), true);
+            cache.put(ResultCache.key("c"), true);
+            cache.get(ResultCache.key("a"));
+            cache.put(ResultCache.key("d"), false);
+            assertEquals(3, cache.size());
+            assertNull(cache.get(ResultCache.key("b")));
+        }
+        // the order of the accesses survives the reopening
+        try (final ResultCache cache = new ResultCache(file, 3)) {
+            cache.put(ResultCache.key("e"), false);
+            assertNull(cache.get(ResultCache.key("c")));
+            assertEquals(true, cache.get(ResultCache.key("a")));
+            assertEquals(false, cache.get(ResultCache.key("d")));
+            assertEquals(false, cache.get(ResultCache.key("e")));
+        }
+    }
+
+    @Test
+    void testSmallerCapacity() throws IOException {
+        final Path file = dir.resolve("cache");
+        try (final ResultCache cache = new ResultCache(file, 64)) {
+            cache.put(ResultCache.key("x"), true);
+        }
+        try (final ResultCache cache = new ResultCache(file, 16)) {
+            assertEquals(0, cache.size());
+            cache.put(ResultCache.key("y"), false);
+        }
+        assertEquals(32 + 16 * ResultCache.SLOT, Files.size(file));
+        try (final ResultCache cache = new ResultCache(file, 16)) {
+            assertEquals(1, cache.size());
+            assertEquals(false, cache.get(ResultCache.key("y")));
+        }
+    }
+
+    @Test
+    void testLocked() throws IOException {
+        final Path file = dir.resolve("cache");
+        try (final ResultCache cache = new ResultCache(file, 4)) {
+            cache.put(ResultCache.key("a"), true);
+            // the lock is held by the open cache, so the file cannot be opened again until it is closed
+            assertThrows(OverlappingFileLockException.class, () -> new ResultCache(file, 4));
+        }
+        try (final ResultCache cache = new ResultCache(file, 4)) {
+            assertEquals(true, cache.get(ResultCache.key("a")));
+        }
+    }
+
+    @Test
+    void testCorruptFile() throws IOException {
+        final Path file = dir.resolve("cache");
+        Files.write(file, new byte[32 + 4 * ResultCache.SLOT]);
+        try (final ResultCache cache = new ResultCache(file, 4)) {
+            assertEquals(0, cache.size());
+            cache.put(ResultCache.key("a"), true);
+        }
+        try (final ResultCache cache = new ResultCache(file, 4)) {
+            assertEquals(true, cache.get(ResultCache.key("a")));
+        }
+    }
+
+    @Test
+    void testKey() {
+        assertEquals(ResultCache.key("a"), ResultCache.key("a"));
+        assertNotEquals(ResultCache.key("a"), ResultCache.key("b"));
+    }
+
+    @Test
+    void testIllegalArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(null));
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(dir.resolve("cache"), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultCache(dir.resolve("cache"), ResultCache.MAX_CAPACITY + 1));
+        assertThrows(IllegalArgumentException.class, () -> ResultCache.key(null));
+        try (final ResultCache cache = new ResultCache(dir.resolve("cache"), 1)) {
+            assertThrows(IllegalArgumentException.class, () -> cache.get(null));
+            assertThrows(IllegalArgumentException.class, () -> cache.put(null, true));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.probendi.aris.formula;
 
 import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.exception.MissingSymbolException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -8,9 +10,11 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ArgumentTest {
 
@@ -19,6 +23,572 @@ public class ArgumentTest {
     void testIsValid(final Argument argument, final boolean expected) throws ArisException {
         assertEquals(expected, argument.isValid());
     }
+
+    @ParameterizedTest
+    @ArgumentsSource(ValidateArgumentsProvider.class)
+    void testIsValidTruthTable(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.TRUTH_TABLE));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(ValidateArgumentsProvider.class)
+    void testIsValidIncremental(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.INCREMENTAL));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(ValidateArgumentsProvider.class)
+    @ArgumentsSource(PropositionalArgumentsProvider.class)
+    void testIsValidSat(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.SAT));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(ValidateArgumentsProvider.class)
+    @ArgumentsSource(PropositionalArgumentsProvider.class)
+    void testIsValidBdd(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.BDD));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(QuantifiedArgumentsProvider.class)
+    @ArgumentsSource(PropositionalArgumentsProvider.class)
+    void testIsValidTableau(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.TABLEAU));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(QuantifiedArgumentsProvider.class)
+    @ArgumentsSource(PropositionalArgumentsProvider.class)
+    void testIsValidCountermodel(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.COUNTERMODEL));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(QuantifiedArgumentsProvider.class)
+    @ArgumentsSource(PropositionalArgumentsProvider.class)
+    void testIsValidMonadic(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.MONADIC));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(ValidateArgumentsProvider.class)
+    @ArgumentsSource(WideSpaceArgumentsProvider.class)
+    void testIsValidParallel(final Argument argument, final boolean expected) throws ArisException {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            argument.setPool(pool);
+            assertEquals(expected, argument.isValid(Strategy.PARALLEL));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testIsValidParallelReorders() throws ArisException {
+        // the leaves of the search are smaller than the refresh of a planner, which each worker carries across them
+        final Argument argument = (Argument) new WideSpaceArgumentsProvider().provideArguments(null)
+                .findFirst().orElseThrow().get()[0];
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            argument.setPool(pool);
+            assertFalse(argument.isValid(Strategy.PARALLEL));
+            assertTrue(argument.getReorders() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(WideSpaceArgumentsProvider.class)
+    void testParallelAgreesWithTruthTable(final Argument argument, final boolean expected) throws ArisException {
+        assertEquals(expected, argument.isValid(Strategy.TRUTH_TABLE));
+        assertEquals(expected, argument.isValid(Strategy.BIT_PARALLEL));
+        assertEquals(expected, argument.isValid(Strategy.PARALLEL));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(ValidateArgumentsProvider.class)
+    void testParallelAcrossNamesIsDeterministic(final Argument argument, final boolean expected)
+            throws ArisException {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            argument.setPool(pool);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(expected, argument.isValid(Strategy.PARALLEL));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testIsValidSharesSubformulae() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        final Conditional conditional = new Conditional(f, g);
+        // (Fn → Gn), ((Fn → Gn) ∧ Fn) ∴ Gn, whose conditional is evaluated once per valuation
+        final Argument argument = new Argument(g, conditional, new Conjunction(conditional, f));
+        for (final Strategy strategy : List.of(Strategy.TRUTH_TABLE, Strategy.BIT_PARALLEL, Strategy.PARALLEL)) {
+            assertTrue(argument.isValid(strategy));
+        }
+        assertTrue(argument.valuate(Map.of(f, true, g, true)));
+    }
+
+    @Test
+    void testIsValidIncrementally() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        final KPredicate h = new KPredicate("H", "n");
+        // Fn ∴ Hn, grown one premise at a time into Fn, (Fn → Gn), ¬Hn, (Gn → Hn), Gm ∴ Hn
+        final List<WellFormedFormula> premises = List.of(new Conditional(f, g), new Negation(h),
+                new Conditional(g, h), new KPredicate("G", "m"));
+        for (final Strategy strategy : Strategy.values()) {
+            final Argument argument = new Argument(h, f);
+            assertEquals(new Argument(h, f).isValid(strategy),
+                    argument.isValid(strategy));
+            for (int i = 0; i < premises.size(); i++) {
+                argument.addPremise(premises.get(i));
+                final Argument fresh = new Argument(h, f);
+                premises.subList(0, i + 1).forEach(fresh::addPremise);
+                assertEquals(fresh.isValid(strategy), argument.isValid(strategy), strategy + " " + argument);
+            }
+        }
+    }
+
+    @Test
+    void testIsRevalidated() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        // Fn ∴ Gn is invalid, and ¬Gn keeps its countervaluation, while (Fn → Gn) rules it out
+        final Argument argument = new Argument(g, f);
+        assertFalse(argument.isValid(Strategy.SAT));
+        assertFalse(argument.isRevalidated());
+        assertEquals(-1, argument.getAddedPremises());
+        argument.addPremise(new Negation(g));
+        assertFalse(argument.isValid(Strategy.SAT));
+        assertTrue(argument.isRevalidated());
+        assertEquals(1, argument.getAddedPremises());
+        argument.addPremise(new Conditional(f, g));
+        assertTrue(argument.isValid(Strategy.SAT));
+        assertFalse(argument.isRevalidated());
+        assertEquals(1, argument.getAddedPremises());
+    }
+
+    @Test
+    void testIsValidSatAfterRevalidation() throws ArisException {
+        final KPredicate fm = new KPredicate("F", "m");
+        final KPredicate gm = new KPredicate("G", "m");
+        final KPredicate hm = new KPredicate("H", "m");
+        final KPredicate fn = new KPredicate("F", "n");
+        final KPredicate gn = new KPredicate("G", "n");
+        final KPredicate hn = new KPredicate("H", "n");
+        // Fm ∴ (¬(Gm ∨ Gm) ∧ Gn), whose countervaluation survives the first added premise, and not the second one
+        final WellFormedFormula conclusion = new Conjunction(new Negation(new Disjunction(gm, gm)), gn);
+        final List<WellFormedFormula> premises = List.of(fm,
+                new Negation(new Conjunction(new Conjunction(fm, gm), new Conditional(hm, gn))),
+                new Conjunction(new Conditional(fn, new Negation(hn)), new Conjunction(new Conditional(hm, gn), gm)));
+        final Argument argument = new Argument(conclusion, premises.get(0));
+        assertFalse(argument.isValid(Strategy.SAT));
+        for (int i = 1; i < premises.size(); i++) {
+            argument.addPremise(premises.get(i));
+            final Argument fresh = new Argument(conclusion);
+            premises.subList(0, i + 1).forEach(fresh::addPremise);
+            assertEquals(fresh.isValid(Strategy.SAT), argument.isValid(Strategy.SAT), argument.toString());
+        }
+        assertTrue(argument.isValid(Strategy.SAT));
+    }
+
+    @Test
+    void testIsValidQuantifiedTruthTable() throws ArisException {
+        final KPredicate hn = new KPredicate("H", "n");
+        final KPredicate hx = new KPredicate("H", "x");
+        // Hn, Gn, ∃x((Hn ∧ Hx) ∧ ¬Hn) ∴ ¬∀x¬Hx is valid with the truth tables of its original formulae, while its
+        // simplification, Hn, Gn, ∃x((Hn ∧ Hx) ∧ ¬Hn) ∴ ∃xHx, has another domain
+        final Argument argument = new Argument(new Negation(new UniversalQuantifier("x", new Negation(hx))), hn,
+                new KPredicate("G", "n"),
+                new ExistentialQuantifier("x", new Conjunction(new Conjunction(hn, hx), new Negation(hn))));
+        for (final Strategy strategy : List.of(Strategy.TRUTH_TABLE, Strategy.BIT_PARALLEL, Strategy.PARALLEL,
+                Strategy.INCREMENTAL)) {
+            assertTrue(argument.isValid(strategy), strategy.toString());
+        }
+        assertTrue(argument.isValid());
+    }
+
+    @Test
+    void testIsValidBoundedTableau() throws ArisException {
+        final KPredicate fn = new KPredicate("F", "n");
+        final WellFormedFormula lxy = new KPredicate("L", List.of("x", "y"));
+        // ∀x∃yLxy ∴ Fn bounds the tableau, and has a countermodel of a single individual
+        final Argument serial = new Argument(fn, new UniversalQuantifier("x", new ExistentialQuantifier("y", lxy)));
+        assertFalse(serial.isValid(Strategy.TABLEAU));
+        assertTrue(serial.getTableau().isBounded());
+        assertEquals(1, serial.getModelFinder().getSize());
+    }
+
+    @Test
+    void testIsValidDefaultVersusCountermodel() throws ArisException {
+        final WellFormedFormula fx = new KPredicate("F", "x");
+        final WellFormedFormula gx = new KPredicate("G", "x");
+        // ∃xFx, ∃xGx ∴ ∃x(Fx ∧ Gx) is valid with the truth tables of the default strategy, and has a countermodel
+        final Argument argument = new Argument(new ExistentialQuantifier("x", new Conjunction(fx, gx)),
+                new ExistentialQuantifier("x", fx), new ExistentialQuantifier("x", gx));
+        assertTrue(argument.isValid());
+        assertFalse(argument.isValid(Strategy.COUNTERMODEL));
+        assertEquals(2, argument.getModelFinder().getSize());
+    }
+
+    @Test
+    void testIsValidCountermodelExhausted() throws ArisException {
+        final KPredicate fn = new KPredicate("F", "n");
+        final WellFormedFormula fx = new KPredicate("F", "x");
+        // ∀xFx ∴ Fn has no countermodel of any size, which only the tableau proves
+        final Argument argument = new Argument(fn, new UniversalQuantifier("x", fx));
+        assertTrue(argument.isValid(Strategy.COUNTERMODEL));
+        assertEquals(0, argument.getModelFinder().getSize());
+        assertFalse(argument.getTableau().isBounded());
+    }
+
+    @Test
+    void testGetSharedSubformulae() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        final WellFormedFormula fg = new Conditional(f, g);
+        // Fn → Gn, (Fn → Gn) ∨ Gn ∴ Gn shares its conditional
+        final Argument argument = new Argument(g, fg, new Disjunction(fg, g));
+        assertEquals(-1, argument.getSharedSubformulae());
+        argument.isValid(Strategy.TRUTH_TABLE);
+        assertEquals(1, argument.getSharedSubformulae());
+        argument.isValid(Strategy.SAT);
+        assertEquals(-1, argument.getSharedSubformulae());
+        assertEquals(0, argument.getSharingRatio());
+    }
+
+    @Test
+    void testGetMonadicDecider() throws ArisException {
+        final KPredicate fn = new KPredicate("F", "n");
+        final WellFormedFormula lxy = new KPredicate("L", List.of("x", "y"));
+        // ∀xFx ∴ Fn is monadic, so the monadic decider decides it
+        final Argument monadic = new Argument(fn, new UniversalQuantifier("x", new KPredicate("F", "x")));
+        assertTrue(monadic.isValid(Strategy.MONADIC));
+        assertEquals(List.of("F"), monadic.getMonadicDecider().getPredicates());
+        assertNull(monadic.getModelFinder());
+        // ∀x∃yLxy ∴ Fn is not monadic, so the model finder decides it
+        final Argument dyadic = new Argument(fn, new UniversalQuantifier("x", new ExistentialQuantifier("y", lxy)));
+        assertFalse(dyadic.isValid(Strategy.MONADIC));
+        assertNull(dyadic.getMonadicDecider());
+        assertNotNull(dyadic.getModelFinder());
+    }
+
+    @Test
+    void testIsValidSimplified() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        // (Fn ∧ ¬Fn) ∴ Gn, whose premise is simplified to false
+        final Argument explosion = new Argument(g, new Conjunction(f, new Negation(f)));
+        // Fn, ¬Fn ∴ false, whose conclusion is simplified to false
+        final Argument inconsistent = new Argument(Constant.FALSE, f, new Negation(f));
+        // true, Fn ∴ ¬¬(Fn ∧ true)
+        final Argument constants = new Argument(new Negation(new Negation(new Conjunction(f, Constant.TRUE))),
+                Constant.TRUE, f);
+        for (final Strategy strategy : List.of(Strategy.SAT, Strategy.BDD, Strategy.TABLEAU, Strategy.COUNTERMODEL)) {
+            assertTrue(explosion.isValid(strategy));
+            assertTrue(inconsistent.isValid(strategy));
+            assertTrue(constants.isValid(strategy));
+            assertFalse(new Argument(Constant.FALSE, f).isValid(strategy));
+        }
+        assertEquals(List.of(Constant.TRUE, f), constants.simplify().getPremises());
+        assertEquals(f, constants.simplify().getConclusion());
+        assertSame(constants.simplify(), constants.simplify());
+        assertTrue(inconsistent.isTautology());
+        assertTrue(explosion.isValid(Strategy.SAT));
+        assertTrue(explosion.isDecidedBySimplification());
+        assertTrue(inconsistent.isValid(Strategy.TRUTH_TABLE));
+        assertTrue(inconsistent.isDecidedBySimplification());
+        assertTrue(constants.isValid(Strategy.SAT));
+        assertFalse(constants.isDecidedBySimplification());
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(TautologyArgumentsProvider.class)
+    void testIsTautology(final Argument argument, final boolean expected) {
+        assertEquals(expected, argument.isTautology());
+    }
+
+    @Test
+    void testIsTautologySharesEncoder() {
+        final KPredicate p = new KPredicate("P", "n");
+        final KPredicate q = new KPredicate("Q", "n");
+        final BddEncoder encoder = new BddEncoder();
+        final Argument a = new Argument();
+        // (Pn ∨ ¬Pn) would be simplified away before reaching the encoder
+        a.addPremise(new Conditional(p, new Conditional(q, p)));
+        final Argument b = new Argument();
+        b.addPremise(new Conjunction(new Conditional(p, new Conditional(q, p)), q));
+        assertTrue(a.isTautology(encoder));
+        assertFalse(b.isTautology(encoder));
+        assertEquals(List.of(p, q), List.copyOf(encoder.getAtoms().keySet()));
+        // (P → Q) ≡ (¬P ∨ Q)
+        assertTrue(encoder.areEquivalent(new Conditional(p, q), new Disjunction(new Negation(p), q)));
+        assertFalse(encoder.areEquivalent(new Conditional(p, q), new Conditional(q, p)));
+    }
+
+    @Test
+    void testValuate() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        // (Fn → Gn), Fn ∴ Gn
+        final Argument argument = new Argument(g, new Conditional(f, g), f);
+        assertTrue(argument.valuate(Map.of(f, true, g, true)));
+        assertTrue(argument.valuate(Map.of(f, false, g, false)));
+        // Fn ∴ Gn
+        final Argument invalid = new Argument(g, f);
+        assertFalse(invalid.valuate(Map.of(f, true, g, false)));
+        assertTrue(invalid.valuate(Map.of(f, true, g, true)));
+        invalid.addPremise(new Negation(f));
+        assertTrue(invalid.valuate(Map.of(f, true, g, false)));
+        assertThrows(MissingSymbolException.class, () -> invalid.valuate(Map.of(f, true)));
+    }
+
+    @Test
+    void testValuateAtoms() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        final SymbolTable symbols = new SymbolTable();
+        final boolean[] values = new boolean[2];
+        values[symbols.addAtom(f)] = true;
+        symbols.addAtom(g);
+        // Fn ∴ Gn, whose countervaluation makes Fn true and Gn false
+        final Argument invalid = new Argument(g, f);
+        assertFalse(invalid.valuate(symbols, values));
+        assertTrue(new Argument(g, new Conditional(f, g), f).valuate(symbols, values));
+        assertThrows(MissingSymbolException.class,
+                () -> new Argument(new KPredicate("H", "n"), f).valuate(symbols, values));
+    }
+
+    @Test
+    void testValuateWords() throws ArisException {
+        final KPredicate f = new KPredicate("F", "n");
+        final KPredicate g = new KPredicate("G", "n");
+        final Map<KPredicate, Integer> index = Map.of(f, 0, g, 1);
+        // the four valuations of Fn and Gn, in the lowest bits
+        final long[] words = {0b1010L, 0b1100L};
+        // Fn ∴ Gn, whose countervaluation makes Fn true and Gn false
+        final Argument invalid = new Argument(g, f);
+        assertEquals(~0b0010L, invalid.valuate(index, words));
+        // (Fn → Gn), Fn ∴ Gn has no countervaluation
+        assertEquals(-1L, new Argument(g, new Conditional(f, g), f).valuate(index, words));
+        assertThrows(MissingSymbolException.class, () -> invalid.valuate(Map.of(f, 0), words));
+    }
+
+    @Test
+    void testToCanonicalString() {
+        final WellFormedFormula fn = new KPredicate("F", "n");
+        final WellFormedFormula every = new UniversalQuantifier("x", new Conditional(new KPredicate("F", "x"),
+                new KPredicate("G", "x")));
+        final WellFormedFormula everyY = new UniversalQuantifier("y", new Conditional(new KPredicate("F", "y"),
+                new KPredicate("G", "y")));
+        final KPredicate gn = new KPredicate("G", "n");
+        // Fn, ∀x(Fx → Gx) ∴ Gn
+        final Argument a = new Argument(gn, fn, every);
+        // ∀y(Fy → Gy), Fn ∴ Gn
+        final Argument b = new Argument(gn, everyY, fn);
+        assertEquals(a.toCanonicalString(), b.toCanonicalString());
+        assertEquals("F[n], ∀x(F[x] → G[x]), ∴ G[n]", a.toCanonicalString());
+        // ∀x(Fx → Gx), ∀y(Fy → Gy) ∴ Gn tells apart its two variables
+        final Argument c = new Argument(gn, everyY, every);
+        assertEquals("∀x(F[x] → G[x]), ∀y(F[y] → G[y]), ∴ G[n]", c.toCanonicalString());
+        assertNotEquals(a.toCanonicalString(), new Argument(fn, gn, every).toCanonicalString());
+        assertEquals(a.getFingerprint(), b.getFingerprint());
+        assertNotEquals(a.getFingerprint(), c.getFingerprint());
+        // (Fn ∧ Gn) ∴ Gn and (Gn ∧ Fn) ∴ Gn
+        assertEquals(new Argument(gn, new Conjunction(fn, gn)).getFingerprint(),
+                new Argument(gn, new Conjunction(gn, fn)).getFingerprint());
+        // Fn, Gn ∴ Gn and Fn ∴ Gn
+        assertNotEquals(new Argument(gn, fn, gn).getFingerprint(), new Argument(gn, fn).getFingerprint());
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(WideArgumentsProvider.class)
+    void testBitParallelAgreesWithTruthTable(final Argument argument) throws ArisException {
+        assertEquals(argument.isValid(Strategy.TRUTH_TABLE), argument.isValid(Strategy.BIT_PARALLEL));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(WideArgumentsProvider.class)
+    void testIncrementalAgreesWithTruthTable(final Argument argument) throws ArisException {
+        assertEquals(argument.isValid(Strategy.TRUTH_TABLE), argument.isValid(Strategy.INCREMENTAL));
+    }
+}
+
+class WideSpaceArgumentsProvider implements ArgumentsProvider {
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+        // the 2^18 valuations of P0n, ..., P17n span 4096 words
+        final KPredicate[] p = new KPredicate[18];
+        WellFormedFormula all = null;
+        for (int i = p.length - 1; i >= 0; i--) {
+            p[i] = new KPredicate("P" + i, "n");
+            all = all == null ? p[i] : new Conjunction(p[i], all);
+        }
+        final WellFormedFormula premise = new Conditional(p[0], new Negation(p[17]));
+        return Stream.of(
+                // (P0n → ¬P17n) ∴ (P0n ∧ ... ∧ P17n), which is falsified only by the last valuation
+                Arguments.of(new Argument(all, premise), false),
+                // (P0n → ¬P17n), (P17n ∨ ¬P17n) ∴ (P0n ∧ ... ∧ P17n)
+                Arguments.of(new Argument(all, premise, new Disjunction(p[17], new Negation(p[17]))), true)
+        );
+    }
+}
+
+class TautologyArgumentsProvider implements ArgumentsProvider {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+        final Argument excludedMiddle = new Argument();
+        excludedMiddle.addPremise(new Disjunction(F_N, new Negation(F_N)));
+        final Argument contingent = new Argument();
+        contingent.addPremise(new Conditional(F_N, G_N));
+        final Argument quantified = new Argument();
+        quantified.addPremise(new UniversalQuantifier("x", new Conditional(new KPredicate("F", "x"),
+                new KPredicate("F", "x"))));
+        return Stream.of(
+                // (Fn ∨ ¬Fn)
+                Arguments.of(excludedMiddle, true),
+                // (Fn → Gn)
+                Arguments.of(contingent, false),
+                // ∀x(Fx → Fx)
+                Arguments.of(quantified, true),
+                // (Fn → Gn), Fn ∴ Gn
+                Arguments.of(new Argument(G_N, new Conditional(F_N, G_N), F_N), true),
+                // (Fn → Gn), Gn ∴ Fn
+                Arguments.of(new Argument(F_N, new Conditional(F_N, G_N), G_N), false)
+        );
+    }
+}
+
+class PropositionalArgumentsProvider implements ArgumentsProvider {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+        // P0n, (P0n → P1n), ..., (P78n → P79n) ∴ P79n
+        final KPredicate[] p = new KPredicate[80];
+        final WellFormedFormula[] chain = new WellFormedFormula[p.length];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = new KPredicate("P" + i, "n");
+            chain[i] = i == 0 ? p[0] : new Conditional(p[i - 1], p[i]);
+        }
+        return Stream.of(
+                // (Fn ∧ Gn) ∴ Fn
+                Arguments.of(new Argument(F_N, new Conjunction(F_N, G_N)), true),
+                // Fn ∴ Gn
+                Arguments.of(new Argument(G_N, F_N), false),
+                // (Fn → Gn), Fn ∴ Gn
+                Arguments.of(new Argument(G_N, new Conditional(F_N, G_N), F_N), true),
+                // (Fn → Gn), Gn ∴ Fn
+                Arguments.of(new Argument(F_N, new Conditional(F_N, G_N), G_N), false),
+                // (Fn ∨ Gn), ¬Fn ∴ Gn
+                Arguments.of(new Argument(G_N, new Disjunction(F_N, G_N), new Negation(F_N)), true),
+                Arguments.of(new Argument(p[p.length - 1], chain), true),
+                Arguments.of(new Argument(p[0], chain[1], chain[2], p[2]), false)
+        );
+    }
+}
+
+class WideArgumentsProvider implements ArgumentsProvider {
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+        // eight predicates, i.e., four words of valuations
+        final KPredicate[] p = new KPredicate[8];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = new KPredicate(String.valueOf((char) ('A' + i)), "n");
+        }
+        return Stream.of(
+                // (An ∧ Bn), (Cn ∨ Dn), (En → Fn), ¬Gn ∴ Hn
+                Arguments.of(new Argument(p[7], new Conjunction(p[0], p[1]), new Disjunction(p[2], p[3]),
+                        new Conditional(p[4], p[5]), new Negation(p[6]))),
+                // (An ∧ (Bn ∧ (Cn ∧ Dn))), (En ∨ (Fn ∨ Gn)) ∴ (Hn → An)
+                Arguments.of(new Argument(new Conditional(p[7], p[0]),
+                        new Conjunction(p[0], new Conjunction(p[1], new Conjunction(p[2], p[3]))),
+                        new Disjunction(p[4], new Disjunction(p[5], p[6])))),
+                // ((An ∨ Bn) ∨ (Cn ∨ Dn)), ((En ∧ Fn) → (Gn ∧ Hn)) ∴ ¬(An ∧ Hn)
+                Arguments.of(new Argument(new Negation(new Conjunction(p[0], p[7])),
+                        new Disjunction(new Disjunction(p[0], p[1]), new Disjunction(p[2], p[3])),
+                        new Conditional(new Conjunction(p[4], p[5]), new Conjunction(p[6], p[7]))))
+        );
+    }
+}
+
+// the arguments of ValidateArgumentsProvider as they are stated, with the usual semantics of the quantifiers
+class QuantifiedArgumentsProvider implements ArgumentsProvider {
+
+    private static final KPredicate F_M = new KPredicate("F", "m");
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate F_Y = new KPredicate("F", "y");
+    private static final KPredicate G_M = new KPredicate("G", "m");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate G_X = new KPredicate("G", "x");
+    private static final KPredicate H_O = new KPredicate("H", "o");
+    private static final KPredicate H_X = new KPredicate("H", "x");
+    private static final KPredicate L_M_N = new KPredicate("L", List.of("m", "n"));
+    private static final KPredicate L_O_N = new KPredicate("L", List.of("o", "n"));
+    private static final KPredicate L_O_X = new KPredicate("L", List.of("o", "x"));
+    private static final KPredicate L_X_N = new KPredicate("L", List.of("x", "n"));
+    private static final KPredicate L_X_Y = new KPredicate("L", List.of("x", "y"));
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+        return Stream.of(
+                // C - ∀x(Fx ⊃ Gx), (Fm ∨ Fn) ∴ (Gm ∨ Gn)
+                Arguments.of(new Argument(
+                        new Disjunction(G_M, G_N),
+                        new UniversalQuantifier("x", new Conditional(F_X, G_X)),
+                        new Disjunction(F_M, F_N)), true),
+                // G - ∀x(Fx ⊃ Gx), ∀x(Gx ⊃ Hx) ∴ ∀x(Fx ⊃ Hx)
+                Arguments.of(new Argument(
+                        new UniversalQuantifier("x", new Conditional(F_X, H_X)),
+                        new UniversalQuantifier("x", new Conditional(F_X, G_X)),
+                        new UniversalQuantifier("x", new Conditional(G_X, H_X))), true),
+                // H - ∃xFx ∴ Fn
+                Arguments.of(new Argument(F_N, new ExistentialQuantifier("x", F_X)), false),
+                // I - ∃xFx, ∃xGx ∴ ∃x(Fx ∧ Gx)
+                Arguments.of(new Argument(
+                        new ExistentialQuantifier("x", new Conjunction(F_X, G_X)),
+                        new ExistentialQuantifier("x", F_X),
+                        new ExistentialQuantifier("x", G_X)), false),
+                // K - (∃x(Fx ∧ ¬Gx) ⊃ ¬Gn), Gn ∴ ∀x(Fx ⊃ Gx)
+                Arguments.of(new Argument(
+                        new UniversalQuantifier("x", new Conditional(F_X, G_X)),
+                        new Conditional(new ExistentialQuantifier("x",
+                                new Conjunction(F_X, new Negation(G_X))), new Negation(G_N)),
+                        G_N), true),
+                // L - (∃xLox ⊃ Ho), (∃xLxn ⊃ Lon), Lmn ∴ Ho
+                Arguments.of(new Argument(
+                        H_O,
+                        new Conditional(new ExistentialQuantifier("x", L_O_X), H_O),
+                        new Conditional(new ExistentialQuantifier("x", L_X_N), L_O_N),
+                        L_M_N), true),
+                // M - ∀x∃y(Fy ∧ Lxy), ∀x(Gx ⊃ ¬Fx), Gn ∴ ¬∀xGx
+                Arguments.of(new Argument(
+                        new Negation(new UniversalQuantifier("x", G_X)),
+                        new UniversalQuantifier("x", new ExistentialQuantifier("y", new Conjunction(F_Y, L_X_Y))),
+                        new UniversalQuantifier("x", new Conditional(G_X, new Negation(F_X))),
+                        G_N), true),
+                // ∀x∃yLxy ∴ ∃xLxx
+                Arguments.of(new Argument(
+                        new ExistentialQuantifier("x", new KPredicate("L", List.of("x", "x"))),
+                        new UniversalQuantifier("x", new ExistentialQuantifier("y", L_X_Y))), false)
+        );
+    }
 }
 
 class ValidateArgumentsProvider implements ArgumentsProvider {
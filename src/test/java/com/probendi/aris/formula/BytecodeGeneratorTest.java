@@ -0,0 +1,108 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BytecodeGeneratorTest {
+
+    @ParameterizedTest
+    @ArgumentsSource(ProgramArgumentsProvider.class)
+    void testGenerate(final WellFormedFormula wff) {
+        // the generated bytecode agrees with the interpreter
+        final Program program = Program.compile(wff, new SymbolTable(), 0);
+        final CompiledFormula compiled = program.generate();
+        assertNotNull(compiled);
+        assertNotSame(program, compiled);
+        final Random random = new Random(7);
+        for (int i = 0; i < 100; i++) {
+            final long[] words = {random.nextLong(), random.nextLong(), random.nextLong()};
+            assertEquals(program.evaluate(words, new long[program.getDepth()]), compiled.evalWords(words));
+            final long[] bits = {random.nextLong() & 7};
+            assertEquals(program.eval(bits), compiled.eval(bits));
+        }
+    }
+
+    @Test
+    void testManyAtoms() {
+        // (P0n ∧ (P1n ∧ ... (P298n ∧ ¬P299n)...))
+        final SymbolTable symbols = new SymbolTable();
+        WellFormedFormula wff = new Negation(new KPredicate("P299", "n"));
+        for (int i = 298; i >= 0; i--) {
+            wff = new Conjunction(new KPredicate("P" + i, "n"), wff);
+        }
+        final CompiledFormula compiled = Program.compile(wff, symbols, 0).generate();
+        final long[] bits = {-1L, -1L, -1L, -1L, -1L};
+        assertFalse(compiled.eval(bits));
+        bits[299 / 64] &= ~(1L << 299);
+        assertTrue(compiled.eval(bits));
+        final long[] words = new long[300];
+        words[299] = 0xF0L;
+        for (int i = 0; i < 299; i++) {
+            words[i] = -1L;
+        }
+        assertEquals(~0xF0L, compiled.evalWords(words));
+    }
+
+    @Test
+    void testLargeIds() {
+        // ids which do not fit in a short are loaded from the constant pool
+        final SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < 40_000; i++) {
+            symbols.addAtom(new KPredicate("P" + i, "n"));
+        }
+        final CompiledFormula compiled = Program.compile(new Disjunction(new KPredicate("P39999", "n"),
+                new KPredicate("P0", "n")), symbols, 0).generate();
+        final long[] words = new long[40_000];
+        words[39_999] = 0x0FL;
+        words[0] = 0xF0L;
+        assertEquals(0xFFL, compiled.evalWords(words));
+        final long[] bits = new long[625];
+        assertFalse(compiled.eval(bits));
+        bits[39_999 / 64] = 1L << (39_999 % 64);
+        assertTrue(compiled.eval(bits));
+    }
+
+    @Test
+    void testTooLarge() {
+        assertNull(Program.compile(conjunction(0, 8192), new SymbolTable(), 0).generate());
+    }
+
+    // the balanced conjunction of the predicates from Pi to Pj, excluded
+    private static WellFormedFormula conjunction(final int i, final int j) {
+        if (j - i == 1) {
+            return new KPredicate("P" + i, "n");
+        }
+        return new Conjunction(conjunction(i, (i + j) / 2), conjunction((i + j) / 2, j));
+    }
+
+    @Test
+    void testThreshold() {
+        final KPredicate f = new KPredicate("F", "n");
+        final Program program = Program.compile(new Conditional(f, new Negation(f)), new SymbolTable(), 3);
+        final long[] words = {0xAL};
+        final long[] stack = new long[program.getDepth()];
+        for (int i = 0; i < 3; i++) {
+            assertFalse(program.isGenerated());
+            assertEquals(~0xAL, program.evaluate(words, stack));
+        }
+        assertTrue(program.isGenerated());
+        assertEquals(~0xAL, program.evaluate(words, stack));
+        // the evaluations under a single valuation count as well, and use the bytecode once it is generated
+        final Program single = Program.compile(new Conditional(f, new Negation(f)), new SymbolTable(), 3);
+        final boolean[] stack1 = new boolean[single.getDepth()];
+        for (int i = 0; i < 3; i++) {
+            assertFalse(single.isGenerated());
+            assertEquals(i % 2 != 0, single.evaluate(new boolean[]{i % 2 == 0}, stack1));
+        }
+        assertTrue(single.isGenerated());
+        assertFalse(single.evaluate(new boolean[]{true}, stack1));
+        assertTrue(single.evaluate(new boolean[]{false}, stack1));
+        assertFalse(Program.compile(f, new SymbolTable()).isGenerated());
+        assertThrows(IllegalArgumentException.class, () -> Program.compile(f, new SymbolTable(), -1));
+    }
+}
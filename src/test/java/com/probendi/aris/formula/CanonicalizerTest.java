@@ -0,0 +1,127 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CanonicalizerTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate F_Y = new KPredicate("F", "y");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate G_X = new KPredicate("G", "x");
+    private static final KPredicate G_Y = new KPredicate("G", "y");
+
+    @ParameterizedTest
+    @ArgumentsSource(CanonicalizeArgumentsProvider.class)
+    void testCanonicalize(final WellFormedFormula wff1, final WellFormedFormula wff2, final boolean expected) {
+        assertEquals(expected, Canonicalizer.canonicalize(wff1).equals(Canonicalizer.canonicalize(wff2)));
+        assertEquals(expected, Canonicalizer.fingerprint(wff1).equals(Canonicalizer.fingerprint(wff2)));
+        assertEquals(expected, Canonicalizer.areEquivalent(wff1, wff2));
+    }
+
+    @Test
+    void testDeBruijnRenaming() {
+        // ∀z∃y(Fz ∧ Gy) becomes ∀x∃y(Fx ∧ Gy), or ∀x∃y(Gy ∧ Fx)
+        final WellFormedFormula wff = new UniversalQuantifier("z", new ExistentialQuantifier("y",
+                new Conjunction(new KPredicate("F", "z"), G_Y)));
+        final WellFormedFormula canonical = Canonicalizer.canonicalize(wff);
+        assertTrue(canonical.equals(new UniversalQuantifier("x", new ExistentialQuantifier("y",
+                new Conjunction(F_X, G_Y)))) || canonical.equals(new UniversalQuantifier("x",
+                new ExistentialQuantifier("y", new Conjunction(G_Y, F_X)))));
+        // the free variable x is not captured by ∀y(Fy ∧ Gx)
+        final WellFormedFormula free = new UniversalQuantifier("y", new Conjunction(F_Y, G_X));
+        final Quantifier q = (Quantifier) Canonicalizer.canonicalize(free);
+        assertEquals("y", q.variable);
+        // sibling quantifiers reuse the same variable
+        final WellFormedFormula siblings = new Conjunction(new UniversalQuantifier("y", F_Y),
+                new UniversalQuantifier("z", new KPredicate("G", "z")));
+        assertEquals(Canonicalizer.canonicalize(new Conjunction(new UniversalQuantifier("x", F_X),
+                new UniversalQuantifier("x", G_X))), Canonicalizer.canonicalize(siblings));
+    }
+
+    @Test
+    void testFingerprintIsStable() {
+        // ∀x(Fx → Gx)
+        final WellFormedFormula wff = new UniversalQuantifier("x", new Conditional(F_X, G_X));
+        assertEquals(new Fingerprint(0x559fd14326da9175L, 0xab5ee459d2636339L), Canonicalizer.fingerprint(wff));
+    }
+
+    @Test
+    void testCanonicalIsUnchanged() {
+        final WellFormedFormula wff = new Conditional(F_N, G_N);
+        assertSame(wff, Canonicalizer.canonicalize(wff));
+    }
+
+    @Test
+    void testDistinct() {
+        final WellFormedFormula a = new UniversalQuantifier("x", new Conjunction(F_X, G_X));
+        final WellFormedFormula b = new UniversalQuantifier("y", new Conjunction(G_Y, F_Y));
+        final WellFormedFormula c = new Conjunction(F_N, G_N);
+        assertEquals(List.of(a, c), Canonicalizer.distinct(List.of(a, b, c, new Conjunction(G_N, F_N))));
+        assertThrows(IllegalArgumentException.class, () -> Canonicalizer.distinct(null));
+    }
+
+    @Test
+    void testFactory() {
+        final FormulaFactory factory = new FormulaFactory();
+        final WellFormedFormula a = factory.canonical(new UniversalQuantifier("x", new Disjunction(F_X, G_X)));
+        final WellFormedFormula b = factory.canonical(new UniversalQuantifier("y", new Disjunction(G_Y, F_Y)));
+        assertSame(a, b);
+        assertTrue(factory.isInterned(a));
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Canonicalizer.canonicalize(null));
+        assertThrows(IllegalArgumentException.class, () -> Canonicalizer.fingerprint(null));
+        assertThrows(UnsupportedOperationException.class, () -> Canonicalizer.canonicalize(new Argument()));
+    }
+}
+
+class CanonicalizeArgumentsProvider implements ArgumentsProvider {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate F_Y = new KPredicate("F", "y");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate G_X = new KPredicate("G", "x");
+    private static final KPredicate G_Y = new KPredicate("G", "y");
+    private static final KPredicate L_X_Y = new KPredicate("L", List.of("x", "y"));
+    private static final KPredicate L_Y_X = new KPredicate("L", List.of("y", "x"));
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+        return Stream.of(
+                // ∀x(Fx → Gx), ∀y(Fy → Gy)
+                Arguments.of(new UniversalQuantifier("x", new Conditional(F_X, G_X)),
+                        new UniversalQuantifier("y", new Conditional(F_Y, G_Y)), true),
+                // (Fn ∧ Gn), (Gn ∧ Fn)
+                Arguments.of(new Conjunction(F_N, G_N), new Conjunction(G_N, F_N), true),
+                // ∃x(Fx ∨ ¬Gx), ∃y(¬Gy ∨ Fy)
+                Arguments.of(new ExistentialQuantifier("x", new Disjunction(F_X, new Negation(G_X))),
+                        new ExistentialQuantifier("y", new Disjunction(new Negation(G_Y), F_Y)), true),
+                // ∀x∃yLxy, ∀y∃xLyx
+                Arguments.of(new UniversalQuantifier("x", new ExistentialQuantifier("y", L_X_Y)),
+                        new UniversalQuantifier("y", new ExistentialQuantifier("x", L_Y_X)), true),
+                // ∀x∃yLxy, ∀x∃yLyx
+                Arguments.of(new UniversalQuantifier("x", new ExistentialQuantifier("y", L_X_Y)),
+                        new UniversalQuantifier("x", new ExistentialQuantifier("y", L_Y_X)), false),
+                // (Fn → Gn), (Gn → Fn)
+                Arguments.of(new Conditional(F_N, G_N), new Conditional(G_N, F_N), false),
+                // ∀xFx, ∃xFx
+                Arguments.of(new UniversalQuantifier("x", F_X), new ExistentialQuantifier("x", F_X), false),
+                // (Fn ∧ Gn), (Fn ∨ Gn)
+                Arguments.of(new Conjunction(F_N, G_N), new Disjunction(F_N, G_N), false)
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.sat.ClauseStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CnfEncoderTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate H_N = new KPredicate("H", "n");
+
+    @ParameterizedTest
+    @ArgumentsSource(EncodeArgumentsProvider.class)
+    void testAssign(final WellFormedFormula wff) throws ArisException {
+        // under every valuation, the definitions are satisfied and the literal has the formula's truth-value
+        final CnfEncoder encoder = new CnfEncoder();
+        final int literal = encoder.encode(wff);
+        final List<KPredicate> predicates = List.of(F_N, G_N, H_N);
+        for (int i = 0; i < 1 << predicates.size(); i++) {
+            final Map<KPredicate, Boolean> values = new HashMap<>();
+            for (int j = 0; j < predicates.size(); j++) {
+                values.put(predicates.get(j), (i >> j & 1) == 1);
+            }
+            final boolean[] assignment = encoder.assign(values);
+            assertTrue(encoder.getClauses().isSatisfiedBy(assignment));
+            assertEquals(wff.valuate(values), assignment[Math.abs(literal) - 1] == literal > 0);
+        }
+    }
+
+    @Test
+    void testSharedDefinitions() {
+        final CnfEncoder encoder = new CnfEncoder();
+        final Conjunction conjunction = new Conjunction(F_N, G_N);
+        final int literal = encoder.encode(new Disjunction(conjunction, new Negation(conjunction)));
+        assertEquals(4, encoder.getVariables());
+        assertEquals(6, encoder.getClauses().size());
+        assertEquals(1, encoder.getShared());
+        assertEquals(literal, encoder.encode(new Disjunction(new Conjunction(F_N, G_N),
+                new Negation(new Conjunction(F_N, G_N)))));
+        assertEquals(6, encoder.getClauses().size());
+    }
+
+    @Test
+    void testWriteDimacs() throws IOException {
+        final ClauseStore clauses = new ClauseStore();
+        final CnfEncoder encoder = new CnfEncoder(clauses);
+        encoder.assertFalse(new Conjunction(F_N, G_N));
+        final StringBuilder sb = new StringBuilder();
+        clauses.writeDimacs(sb);
+        assertEquals("p cnf 3 4\n-3 1 0\n-3 2 0\n3 -1 -2 0\n-3 0\n", sb.toString());
+    }
+
+    static class EncodeArgumentsProvider implements ArgumentsProvider {
+        @Override
+        public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+            return Stream.of(
+                    Arguments.of(F_N),
+                    Arguments.of(new Negation(F_N)),
+                    Arguments.of(new Conjunction(F_N, new Negation(G_N))),
+                    Arguments.of(new Disjunction(new Conjunction(F_N, G_N), new Conjunction(G_N, H_N))),
+                    Arguments.of(new Conditional(new Disjunction(F_N, H_N), new Negation(new Conjunction(F_N, G_N)))),
+                    Arguments.of(new Conjunction(new Conditional(F_N, G_N), new Conditional(F_N, G_N)))
+            );
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommonSubexpressionsTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate H_N = new KPredicate("H", "n");
+
+    @Test
+    void testShared() {
+        final SymbolTable symbols = new SymbolTable();
+        // (Fn → Gn) occurs in all the formulae, and ((Fn → Gn) ∧ Hn) in two of them
+        final WellFormedFormula conditional = new Conditional(F_N, G_N);
+        final WellFormedFormula conjunction = new Conjunction(conditional, H_N);
+        final List<WellFormedFormula> formulae = List.of(
+                new Negation(conjunction),
+                new Disjunction(conjunction, F_N),
+                new UniversalQuantifier("x", conditional));
+        final CommonSubexpressions compiled = new CommonSubexpressions(formulae, symbols);
+        assertEquals(3, symbols.getAtomCount());
+        assertEquals(2, compiled.getShared().length);
+        assertEquals(5, compiled.getSize());
+        assertArrayEquals(new int[]{0, 1, 2}, compiled.getAtoms());
+        // the conditional is evaluated first, and the conjunction loads it from its slot
+        assertEquals("0 1 →", compiled.getShared()[0].toString());
+        assertTrue(compiled.getShared()[1].toString().contains("3"));
+        assertEquals("4 ¬", compiled.getPrograms()[0].toString());
+        assertEquals("3", compiled.getPrograms()[2].toString());
+        // 20 instructions rather than 25
+        assertEquals(0.2, compiled.getSharingRatio(), 1e-9);
+
+        // the programs agree with the formulae compiled one by one
+        for (int v = 0; v < 8; v++) {
+            final boolean[] values = new boolean[compiled.getSize()];
+            final long[] words = new long[compiled.getSize()];
+            for (int atom = 0; atom < 3; atom++) {
+                values[atom] = (v >>> atom & 1) == 1;
+                words[atom] = values[atom] ? -1L : 0L;
+            }
+            compiled.evaluate(values, new boolean[compiled.getDepth()]);
+            compiled.evaluate(words, new long[compiled.getDepth()]);
+            for (int i = 0; i < formulae.size(); i++) {
+                final Program program = Program.compile(formulae.get(i), symbols);
+                final boolean expected = program.evaluate(values, new boolean[program.getDepth()]);
+                assertEquals(expected, compiled.getPrograms()[i].evaluate(values,
+                        new boolean[compiled.getDepth()]));
+                assertEquals(expected ? -1L : 0L, compiled.getPrograms()[i].evaluate(words,
+                        new long[compiled.getDepth()]));
+            }
+        }
+    }
+
+    @Test
+    void testNotShared() {
+        final SymbolTable symbols = new SymbolTable();
+        // the predicates and their negations are loaded rather than shared
+        final CommonSubexpressions compiled = new CommonSubexpressions(List.of(new Negation(F_N),
+                new Conjunction(new Negation(F_N), G_N), new Disjunction(G_N, new Negation(F_N))), symbols);
+        assertEquals(0, compiled.getShared().length);
+        assertEquals(symbols.getAtomCount(), compiled.getSize());
+        assertEquals(0, compiled.getSharingRatio(), 1e-9);
+    }
+}
@@ -0,0 +1,77 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaFactoryTest {
+
+    @Test
+    void testIntern() {
+        final FormulaFactory factory = new FormulaFactory();
+        // (Fn ∧ ∀x(Fx → Gx))
+        final WellFormedFormula wff = new Conjunction(new KPredicate("F", "n"),
+                new UniversalQuantifier("x", new Conditional(new KPredicate("F", "x"), new KPredicate("G", "x"))));
+        final WellFormedFormula interned = factory.intern(wff);
+        assertEquals(wff, interned);
+        assertEquals(wff.hashCode(), interned.hashCode());
+        assertTrue(factory.isInterned(interned));
+        assertFalse(factory.isInterned(wff));
+        assertSame(interned, factory.intern(wff));
+        assertSame(interned, factory.intern(interned));
+        assertEquals(6, factory.size());
+        assertFalse(new FormulaFactory().isInterned(interned));
+    }
+
+    @Test
+    void testSharing() {
+        final FormulaFactory factory = new FormulaFactory();
+        final Negation n1 = factory.negation(new Disjunction(new KPredicate("F", "n"), new KPredicate("G", "n")));
+        final Conjunction c = factory.conjunction(new KPredicate("H", "n"),
+                new Disjunction(new KPredicate("F", "n"), new KPredicate("G", "n")));
+        assertSame(n1.wff(), c.wff2());
+        assertSame(factory.predicate("F", List.of("n")), ((Disjunction) c.wff2()).wff1());
+        assertNotEquals(factory.disjunction(n1, c), factory.conjunction(n1, c));
+        assertNotEquals(factory.predicate("F", List.of("n")), factory.predicate("F", List.of("m")));
+        assertNotEquals(factory.universal("x", new KPredicate("F", "x")),
+                factory.existential("x", new KPredicate("F", "x")));
+    }
+
+    @Test
+    void testConcurrentIntern() throws Exception {
+        final FormulaFactory factory = new FormulaFactory();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<WellFormedFormula>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> factory.conditional(new KPredicate("F", "n"),
+                        new Negation(new KPredicate("G", "n")))));
+            }
+            final Set<WellFormedFormula> results = ConcurrentHashMap.newKeySet();
+            for (final Future<WellFormedFormula> future : futures) {
+                final WellFormedFormula wff = future.get();
+                assertTrue(results.isEmpty() || results.iterator().next() == wff);
+                results.add(wff);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(4, factory.size());
+    }
+
+    @Test
+    void testNullArguments() {
+        final FormulaFactory factory = new FormulaFactory();
+        assertThrows(IllegalArgumentException.class, () -> factory.intern(null));
+        assertThrows(IllegalArgumentException.class, () -> factory.negation(null));
+        assertThrows(IllegalArgumentException.class, () -> factory.conjunction(new KPredicate("F", "n"), null));
+    }
+}
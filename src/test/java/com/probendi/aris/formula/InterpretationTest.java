@@ -0,0 +1,86 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InterpretationTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate G_X = new KPredicate("G", "x");
+    private static final KPredicate L_XY = new KPredicate("L", List.of("x", "y"));
+
+    @Test
+    void testUnaryQuantifiers() throws MissingSymbolException {
+        // F = {0, 1}, G = {1, 2}
+        final BitSet f = new BitSet();
+        f.set(0, 2);
+        final BitSet g = new BitSet();
+        g.set(1, 3);
+        final Interpretation interpretation = new Interpretation(3).setExtension("F", f).setExtension("G", g)
+                .setName("n", 2);
+        assertTrue(new ExistentialQuantifier("x", new Conjunction(F_X, G_X)).valuate(interpretation));
+        assertFalse(new UniversalQuantifier("x", new Conditional(F_X, G_X)).valuate(interpretation));
+        assertTrue(new UniversalQuantifier("x", new Disjunction(F_X, G_X)).valuate(interpretation));
+        assertFalse(new ExistentialQuantifier("x", new Negation(new Disjunction(F_X, G_X))).valuate(interpretation));
+        // a name is the same for all the individuals
+        assertTrue(new UniversalQuantifier("x", new Conditional(F_N, F_X)).valuate(interpretation));
+        assertFalse(F_N.valuate(interpretation));
+    }
+
+    @Test
+    void testNestedQuantifiers() throws MissingSymbolException {
+        // L is the successor relation of 0, 1, 2, which has no successor
+        final Interpretation interpretation = new Interpretation(3).set("L", true, 0, 1).set("L", true, 1, 2);
+        assertFalse(new UniversalQuantifier("x", new ExistentialQuantifier("y", L_XY)).valuate(interpretation));
+        interpretation.set("L", true, 2, 0);
+        assertTrue(new UniversalQuantifier("x", new ExistentialQuantifier("y", L_XY)).valuate(interpretation));
+        assertFalse(new ExistentialQuantifier("y", new UniversalQuantifier("x", L_XY)).valuate(interpretation));
+        assertTrue(new ExistentialQuantifier("y", L_XY).valuate(interpretation, Map.of("x", 2)));
+    }
+
+    @Test
+    void testArgument() throws MissingSymbolException {
+        // ∃xFx, ∃xGx ∴ ∃x(Fx ∧ Gx), where F = {0} and G = {1}, is a countermodel
+        final Argument argument = new Argument(new ExistentialQuantifier("x", new Conjunction(F_X, G_X)),
+                new ExistentialQuantifier("x", F_X), new ExistentialQuantifier("x", G_X));
+        final Interpretation interpretation = new Interpretation(2).set("F", true, 0).set("F", false, 1)
+                .set("G", true, 1).set("G", false, 0);
+        assertFalse(argument.valuate(interpretation));
+        assertTrue(argument.valuate(interpretation.set("G", true, 0)));
+        // the countermodel of the model finder is a countermodel
+        final ModelFinder finder = new ModelFinder();
+        assertTrue(finder.findCountermodel(argument.getPremises(), argument.getConclusion()));
+        final Interpretation found = new Interpretation(finder.getSize());
+        finder.getModel().forEach((k, v) -> found.set(k.getValue(), v, Integer.parseInt(k.getTerms().get(0))));
+        assertFalse(argument.valuate(found));
+    }
+
+    @Test
+    void testMissingSymbol() {
+        final Interpretation interpretation = new Interpretation(2).set("F", true, 0);
+        assertThrows(MissingSymbolException.class, () -> F_N.valuate(interpretation));
+        assertThrows(MissingSymbolException.class,
+                () -> new UniversalQuantifier("x", G_X).valuate(interpretation));
+        assertThrows(MissingSymbolException.class, () -> F_X.valuate(interpretation));
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Interpretation(0));
+        final Interpretation interpretation = new Interpretation(2);
+        assertThrows(IllegalArgumentException.class, () -> interpretation.setName("n", 2));
+        assertThrows(IllegalArgumentException.class, () -> interpretation.set("F", true));
+        assertThrows(IllegalArgumentException.class, () -> interpretation.set("F", true, 2));
+        interpretation.set("L", true, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> interpretation.set("L", true, 0));
+        assertThrows(IllegalArgumentException.class, () -> interpretation.setExtension("L", new BitSet()));
+        assertThrows(IllegalArgumentException.class, () -> F_X.valuate(null, Map.of()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelFinderTest {
+
+    private static final KPredicate F_M = new KPredicate("F", "m");
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate G_X = new KPredicate("G", "x");
+    private static final KPredicate L_XY = new KPredicate("L", List.of("x", "y"));
+
+    @Test
+    void testCountermodel() {
+        final ModelFinder finder = new ModelFinder();
+        // ∃xFx, ∃xGx ∴ ∃x(Fx ∧ Gx) is false in a domain of two individuals, one F and the other G
+        assertTrue(finder.findCountermodel(List.of(new ExistentialQuantifier("x", F_X),
+                new ExistentialQuantifier("x", G_X)), new ExistentialQuantifier("x", new Conjunction(F_X, G_X))));
+        assertEquals(2, finder.getSize());
+        final Map<String, Integer> interpretation = finder.getInterpretation();
+        assertEquals(2, interpretation.size());
+        assertEquals(0, interpretation.get("c"));
+        assertEquals(1, interpretation.get("c'"));
+        final Map<KPredicate, Boolean> model = finder.getModel();
+        assertTrue(model.get(new KPredicate("F", "0")));
+        assertTrue(model.get(new KPredicate("G", "1")));
+        assertFalse(model.get(new KPredicate("F", "1")) && model.get(new KPredicate("G", "1")));
+        assertFalse(model.get(new KPredicate("F", "0")) && model.get(new KPredicate("G", "0")));
+    }
+
+    @Test
+    void testNames() throws MissingSymbolException {
+        final ModelFinder finder = new ModelFinder();
+        // Fm ∴ Fn is false if m and n denote different individuals
+        assertTrue(finder.findCountermodel(List.of(F_M), F_N));
+        assertEquals(2, finder.getSize());
+        assertEquals(Map.of("m", 0, "n", 1), finder.getInterpretation());
+        // the countermodel valuates other formulae
+        final Interpretation countermodel = finder.getCountermodel();
+        assertTrue(F_M.valuate(countermodel));
+        assertFalse(F_N.valuate(countermodel));
+        // ∀xFx ∴ Fn has no countermodel
+        assertFalse(finder.findCountermodel(List.of(new UniversalQuantifier("x", F_X)), F_N));
+        assertEquals(0, finder.getSize());
+        assertNull(finder.getModel());
+        assertNull(finder.getCountermodel());
+    }
+
+    @Test
+    void testNoCountermodel() {
+        final ModelFinder finder = new ModelFinder(4);
+        // ∀x(Fx → Gx), ∃xFx ∴ ∃xGx
+        assertFalse(finder.findCountermodel(List.of(new UniversalQuantifier("x", new Conditional(F_X, G_X)),
+                new ExistentialQuantifier("x", F_X)), new ExistentialQuantifier("x", G_X)));
+        // ∃x∀yLxy ∴ ∀y∃xLxy
+        assertFalse(finder.findCountermodel(List.of(new ExistentialQuantifier("x", new UniversalQuantifier("y",
+                L_XY))), new UniversalQuantifier("y", new ExistentialQuantifier("x", L_XY))));
+    }
+
+    @Test
+    void testGrowingDomain() {
+        // ∀x∃yLxy, ∀x¬Lxx, ∀x∀y(Lxy → ¬Lyx) ∴ Fn needs three individuals, in a cycle
+        final WellFormedFormula serial = new UniversalQuantifier("x", new ExistentialQuantifier("y", L_XY));
+        final WellFormedFormula irreflexive = new UniversalQuantifier("x",
+                new Negation(new KPredicate("L", List.of("x", "x"))));
+        final WellFormedFormula asymmetric = new UniversalQuantifier("x", new UniversalQuantifier("y",
+                new Conditional(L_XY, new Negation(new KPredicate("L", List.of("y", "x"))))));
+        final ModelFinder finder = new ModelFinder();
+        assertTrue(finder.findCountermodel(List.of(serial, irreflexive, asymmetric), F_N));
+        assertEquals(3, finder.getSize());
+        // a domain of two individuals is not enough
+        assertFalse(new ModelFinder(2).findCountermodel(List.of(serial, irreflexive, asymmetric), F_N));
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ModelFinder(0));
+        assertThrows(IllegalArgumentException.class, () -> new ModelFinder().findCountermodel(null, F_N));
+        assertThrows(UnsupportedOperationException.class,
+                () -> new ModelFinder().findCountermodel(List.of(new AtomicCondition(F_N)), F_N));
+    }
+}
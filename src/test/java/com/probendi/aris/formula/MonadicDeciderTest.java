@@ -0,0 +1,93 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonadicDeciderTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate G_X = new KPredicate("G", "x");
+    private static final KPredicate H_X = new KPredicate("H", "x");
+
+    @Test
+    void testTypes() {
+        final MonadicDecider decider = new MonadicDecider();
+        // ∃xFx, ∃xGx ∴ ∃x(Fx ∧ Gx) is false with an individual which is only F and another which is only G
+        assertTrue(decider.findCountermodel(List.of(new ExistentialQuantifier("x", F_X),
+                new ExistentialQuantifier("x", G_X)), new ExistentialQuantifier("x", new Conjunction(F_X, G_X))));
+        assertEquals(List.of("F", "G"), decider.getPredicates());
+        // the negation of the conclusion excludes the type FG, i.e., 3
+        assertEquals(0b0111, decider.getCandidates());
+        assertEquals(0b0110, decider.getTypes() & 0b0110);
+        // ∀x(Fx → Gx), ∀x(Gx → Hx) ∴ ∀x(Fx → Hx)
+        assertFalse(decider.findCountermodel(List.of(new UniversalQuantifier("x", new Conditional(F_X, G_X)),
+                new UniversalQuantifier("x", new Conditional(G_X, H_X))),
+                new UniversalQuantifier("x", new Conditional(F_X, H_X))));
+    }
+
+    @Test
+    void testNames() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final MonadicDecider decider = new MonadicDecider(pool);
+            // ∀x(Fx → Gx), Fn ∴ Gn
+            assertFalse(decider.findCountermodel(List.of(new UniversalQuantifier("x", new Conditional(F_X, G_X)), F_N),
+                    G_N));
+            // ∃x(Fx ∧ Gx) ∴ (Fn ∧ Gn)
+            assertTrue(decider.findCountermodel(List.of(new ExistentialQuantifier("x", new Conjunction(F_X, G_X))),
+                    new Conjunction(F_N, G_N)));
+            // Fn ∴ ∃xFx
+            assertFalse(decider.findCountermodel(List.of(F_N), new ExistentialQuantifier("x", F_X)));
+            // ∀xFx ∴ ∃xFx holds because domains are not empty
+            assertFalse(decider.findCountermodel(List.of(new UniversalQuantifier("x", F_X)),
+                    new ExistentialQuantifier("x", F_X)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testNestedQuantifiers() {
+        final MonadicDecider decider = new MonadicDecider();
+        // ∀x∃y(Fx ↔ ¬Fy) ∴ ∃x¬Fx
+        final WellFormedFormula differ = new Conjunction(new Conditional(F_X, new Negation(new KPredicate("F", "y"))),
+                new Conditional(new Negation(new KPredicate("F", "y")), F_X));
+        assertFalse(decider.findCountermodel(List.of(new UniversalQuantifier("x", new ExistentialQuantifier("y",
+                differ))), new ExistentialQuantifier("x", new Negation(F_X))));
+        // ∃x∀y(Fx → Fy) ∴ ∀xFx
+        assertTrue(decider.findCountermodel(List.of(new ExistentialQuantifier("x", new UniversalQuantifier("y",
+                new Conditional(F_X, new KPredicate("F", "y"))))), new UniversalQuantifier("x", F_X)));
+    }
+
+    @Test
+    void testIsDecidable() {
+        final MonadicDecider decider = new MonadicDecider();
+        assertTrue(MonadicDecider.isMonadic(List.of(F_N, new UniversalQuantifier("x", F_X))));
+        assertFalse(MonadicDecider.isMonadic(List.of(new KPredicate("L", List.of("x", "y")))));
+        assertTrue(decider.isDecidable(List.of(F_N), G_N));
+        assertFalse(decider.isDecidable(List.of(new KPredicate("L", List.of("m", "n"))), G_N));
+        // seven predicates applied to a variable have too many types
+        WellFormedFormula wff = new KPredicate("P0", "x");
+        for (int i = 1; i < 7; i++) {
+            wff = new Disjunction(wff, new KPredicate("P" + i, "x"));
+        }
+        final List<WellFormedFormula> premises = List.of(new ExistentialQuantifier("x", wff));
+        assertFalse(decider.isDecidable(premises, F_N));
+        assertThrows(IllegalStateException.class, () -> decider.findCountermodel(premises, F_N));
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MonadicDecider(null));
+        assertThrows(IllegalArgumentException.class, () -> MonadicDecider.isMonadic(null));
+        assertThrows(IllegalArgumentException.class, () -> new MonadicDecider().findCountermodel(null, F_N));
+        assertThrows(IllegalArgumentException.class, () -> new MonadicDecider().findCountermodel(
+                List.of(new KPredicate("L", List.of("m", "n"))), F_N));
+    }
+}
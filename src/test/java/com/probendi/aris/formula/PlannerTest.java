@@ -0,0 +1,49 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlannerTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate H_N = new KPredicate("H", "n");
+
+    @Test
+    void testEstimate() {
+        // (Fn ∧ Gn) is true under a quarter of the valuations, and Gn is evaluated only if Fn is true
+        final Planner.Estimate estimate = Planner.estimate(new Conjunction(F_N, G_N), new HashMap<>());
+        assertEquals(0.25, estimate.probability(), 1e-9);
+        assertEquals(2.5, estimate.cost(), 1e-9);
+        // (Fn → Gn) is false only if Fn is true and Gn is false
+        assertEquals(0.75, Planner.estimate(new Conditional(F_N, G_N), new HashMap<>()).probability(), 1e-9);
+        assertEquals(0.75, Planner.estimate(new Disjunction(F_N, G_N), new HashMap<>()).probability(), 1e-9);
+        assertEquals(0.5, Planner.estimate(new UniversalQuantifier("x", new Negation(F_N)), new HashMap<>())
+                .probability(), 1e-9);
+    }
+
+    @Test
+    void testOrder() {
+        final SymbolTable symbols = new SymbolTable();
+        // Hn is cheaper than (Fn ∨ Gn), which is more likely to be true than (Fn ∧ (Gn ∧ Hn))
+        final Program[] programs = {
+                Program.compile(new Conjunction(F_N, new Conjunction(G_N, H_N)), symbols),
+                Program.compile(new Disjunction(F_N, G_N), symbols),
+                Program.compile(H_N, symbols)
+        };
+        final Planner planner = new Planner(programs);
+        assertArrayEquals(new int[]{2, 1, 0}, planner.getOrder());
+        // the statistics of the search override the estimates
+        for (int i = 0; i < Planner.REFRESH - 1; i++) {
+            planner.record(1, 0, 1);
+            planner.record(0, 1, 1);
+            planner.tick();
+        }
+        assertArrayEquals(new int[]{2, 1, 0}, planner.getOrder());
+        planner.tick();
+        assertArrayEquals(new int[]{2, 0, 1}, planner.getOrder());
+    }
+}
@@ -0,0 +1,29 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+
+import java.util.stream.Stream;
+
+class ProgramArgumentsProvider implements ArgumentsProvider {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate H_N = new KPredicate("H", "n");
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+        return Stream.of(
+                Arguments.of(F_N),
+                Arguments.of(new Negation(new Negation(G_N))),
+                Arguments.of(new Conditional(F_N, new Conditional(G_N, H_N))),
+                Arguments.of(new Conjunction(new Disjunction(F_N, G_N), new Negation(H_N))),
+                Arguments.of(new UniversalQuantifier("x", new Disjunction(new Conditional(F_N, G_N),
+                        new Conjunction(H_N, new Negation(F_N))))),
+                Arguments.of(new Conjunction(new Disjunction(F_N, new Conjunction(G_N, H_N)),
+                        new Conditional(new Negation(G_N), new Disjunction(H_N, F_N)))),
+                Arguments.of(new Disjunction(new Conditional(new Conjunction(F_N, G_N), H_N), new Negation(F_N)))
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.ArisException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgramTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate H_N = new KPredicate("H", "n");
+
+    @Test
+    void testCompile() {
+        final SymbolTable symbols = new SymbolTable();
+        // ((Fn ∧ Gn) → ¬(Hn ∨ Fn))
+        final Program program = Program.compile(new Conditional(new Conjunction(F_N, G_N),
+                new Negation(new Disjunction(H_N, F_N))), symbols);
+        assertEquals("0 1 ∧ 2 0 ∨ ¬ →", program.toString());
+        assertEquals(3, program.getDepth());
+        assertArrayEquals(new int[]{0, 1, 2}, program.getAtoms());
+        assertEquals(3, symbols.getAtomCount());
+        assertArrayEquals(new int[]{Program.LOAD, 0, Program.LOAD, 1, Program.AND, Program.LOAD, 2, Program.LOAD, 0,
+                Program.OR, Program.NOT, Program.IMPLIES}, program.getCode());
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(ProgramArgumentsProvider.class)
+    void testEvaluate(final WellFormedFormula wff) throws ArisException {
+        // the program agrees with the formula under every valuation, one at a time and 64 at a time
+        final SymbolTable symbols = new SymbolTable();
+        final Program program = Program.compile(wff, symbols);
+        final List<KPredicate> predicates = List.of(F_N, G_N, H_N);
+        final long[] words = new long[predicates.size()];
+        for (int i = 0; i < 1 << predicates.size(); i++) {
+            final Map<KPredicate, Boolean> map = new HashMap<>();
+            final boolean[] values = new boolean[predicates.size()];
+            for (final KPredicate k : predicates) {
+                final int atom = symbols.addAtom(k);
+                values[atom] = (i >> atom & 1) == 1;
+                map.put(k, values[atom]);
+                if (values[atom]) {
+                    words[atom] |= 1L << i;
+                }
+            }
+            assertEquals(wff.valuate(map), program.evaluate(values, new boolean[program.getDepth()]));
+        }
+        final long result = program.evaluate(words, new long[program.getDepth()]);
+        for (int i = 0; i < 1 << predicates.size(); i++) {
+            final boolean[] values = new boolean[predicates.size()];
+            for (int atom = 0; atom < values.length; atom++) {
+                values[atom] = (i >> atom & 1) == 1;
+            }
+            assertEquals(program.evaluate(values, new boolean[program.getDepth()]), (result >>> i & 1) == 1);
+        }
+    }
+
+    @Test
+    void testOperandOrder() {
+        final SymbolTable symbols = new SymbolTable();
+        symbols.addAtom(F_N);
+        symbols.addAtom(G_N);
+        symbols.addAtom(H_N);
+        // ((Fn ∨ Gn) ∧ Hn) evaluates Hn first, which is more likely to be false at a lower cost
+        final Program program = Program.compile(new Conjunction(new Disjunction(F_N, G_N), H_N), symbols);
+        assertEquals("2 0 1 ∨ ∧", program.toString());
+        assertEquals(0.375, program.getProbability(), 1e-9);
+        assertEquals(3.25, program.getCost(), 1e-9);
+        // the operands of → keep their order
+        assertEquals("0 1 2 ∧ →", Program.compile(new Conditional(F_N, new Conjunction(G_N, H_N)), symbols)
+                .toString());
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Program.compile(null, new SymbolTable()));
+        assertThrows(IllegalArgumentException.class, () -> Program.compile(F_N, null));
+    }
+}
@@ -0,0 +1,62 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SignatureTest {
+
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate L_XY = new KPredicate("L", List.of("x", "y"));
+
+    @Test
+    void testOf() {
+        // Fn, ∀x∃yLxy, ∃xFx ∴ ∃x(Fx ∧ ¬Fn)
+        final Signature signature = Signature.of(List.of(F_N,
+                new UniversalQuantifier("x", new ExistentialQuantifier("y", L_XY)),
+                new ExistentialQuantifier("x", F_X),
+                new ExistentialQuantifier("x", new Conjunction(F_X, new Negation(F_N)))));
+        assertEquals(Map.of("F", 1, "L", 2), signature.predicates());
+        assertEquals(Set.of("n"), signature.names());
+        assertEquals(Set.of("x", "y"), signature.bound());
+        assertEquals(Set.of("x"), signature.universals());
+        // ∃yLxy and ∃xFx are given a dummy name, ∃x(Fx ∧ ¬Fn) is not
+        assertEquals(2, signature.existentials());
+        assertEquals(2, signature.depth());
+        assertTrue(signature.hasQuantifiers());
+        assertFalse(Signature.of(List.of(F_N, Constant.TRUE)).hasQuantifiers());
+    }
+
+    @Test
+    void testOfCountsSharedSubformulae() {
+        // ∃xFx occurs twice in each conjunction, and each occurrence is given a dummy name
+        WellFormedFormula wff = new ExistentialQuantifier("x", F_X);
+        for (int i = 0; i < 3; i++) {
+            wff = new Conjunction(wff, wff);
+        }
+        assertEquals(8, Signature.of(List.of(wff)).existentials());
+        assertEquals(1, Signature.of(List.of(wff)).depth());
+    }
+
+    @Test
+    void testGetSignatureIsCached() {
+        final Argument argument = new Argument(F_N, new UniversalQuantifier("x", F_X));
+        assertSame(argument.getSignature(), argument.getSignature());
+        assertEquals(Set.of("n"), argument.getSignature().names());
+        argument.addPremise(new KPredicate("G", "m"));
+        assertEquals(Set.of("m", "n"), argument.getSignature().names());
+    }
+
+    @Test
+    void testOfFailsIllegalArgumentException() {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Signature.of(null));
+        assertEquals("formulae cannot be null", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Signature.of(Arrays.asList(F_N, null)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimplifierTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+
+    @ParameterizedTest
+    @ArgumentsSource(SimplifyArgumentsProvider.class)
+    void testSimplify(final WellFormedFormula wff, final WellFormedFormula expected) {
+        assertEquals(expected, new Simplifier().simplify(wff));
+    }
+
+    @Test
+    void testSimplifyIsMemoized() {
+        final FormulaFactory factory = new FormulaFactory();
+        final Simplifier simplifier = new Simplifier(factory);
+        final WellFormedFormula shared = new Negation(new Negation(new Conditional(F_N, G_N)));
+        final WellFormedFormula simplified = simplifier.simplify(shared);
+        assertEquals(new Disjunction(new Negation(F_N), G_N), simplified);
+        final int rewrites = simplifier.getRewrites().get("negation normal form");
+        assertTrue(rewrites > 0);
+        assertTrue(simplifier.getRewrites().get("double negation") > 0);
+        // the shared subformula is simplified once, and the simplified formulae are interned
+        assertSame(simplified, simplifier.simplify(new Conjunction(shared, shared)));
+        assertSame(simplified, simplifier.simplify(simplified));
+        assertEquals(rewrites, simplifier.getRewrites().get("negation normal form"));
+        assertEquals(1, simplifier.getRewrites().get("idempotence"));
+        assertTrue(factory.isInterned(simplified));
+    }
+
+    @Test
+    void testSimplifyDeepFormula() {
+        WellFormedFormula wff = F_N;
+        for (int i = 0; i < 1000; i++) {
+            wff = new Negation(new Negation(new Conjunction(wff, new Disjunction(G_N, Constant.TRUE))));
+        }
+        assertEquals(F_N, new Simplifier().simplify(wff));
+    }
+
+    @Test
+    void testSimplifyFailsIllegalArgumentException() {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new Simplifier().simplify(null));
+        assertEquals("wff cannot be null", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new Simplifier(null));
+    }
+
+    static class SimplifyArgumentsProvider implements ArgumentsProvider {
+        @Override
+        public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+            return Stream.of(
+                    // ¬⊤ = ⊥
+                    Arguments.of(new Negation(Constant.TRUE), Constant.FALSE),
+                    // (Fn ∧ ⊤) = Fn
+                    Arguments.of(new Conjunction(F_N, Constant.TRUE), F_N),
+                    // (⊥ ∨ Fn) = Fn
+                    Arguments.of(new Disjunction(Constant.FALSE, F_N), F_N),
+                    // (Fn → ⊥) = ¬Fn
+                    Arguments.of(new Conditional(F_N, Constant.FALSE), new Negation(F_N)),
+                    // ∀x(Fx ∨ ⊤) = ⊤
+                    Arguments.of(new UniversalQuantifier("x", new Disjunction(F_X, Constant.TRUE)), Constant.TRUE),
+                    // ¬¬¬Fn = ¬Fn
+                    Arguments.of(new Negation(new Negation(new Negation(F_N))), new Negation(F_N)),
+                    // (Fn ∧ Fn) = Fn
+                    Arguments.of(new Conjunction(F_N, F_N), F_N),
+                    // (¬Fn ∨ Fn) = ⊤
+                    Arguments.of(new Disjunction(new Negation(F_N), F_N), Constant.TRUE),
+                    // (Fn → Fn) = ⊤
+                    Arguments.of(new Conditional(F_N, F_N), Constant.TRUE),
+                    // ((Fn ∨ Gn) ∧ Fn) = Fn
+                    Arguments.of(new Conjunction(new Disjunction(F_N, G_N), F_N), F_N),
+                    // (Fn ∨ (Gn ∧ Fn)) = Fn
+                    Arguments.of(new Disjunction(F_N, new Conjunction(G_N, F_N)), F_N),
+                    // ¬(Fn → Gn) = (Fn ∧ ¬Gn)
+                    Arguments.of(new Negation(new Conditional(F_N, G_N)), new Conjunction(F_N, new Negation(G_N))),
+                    // ¬(Fn ∧ ¬Gn) = (¬Fn ∨ Gn)
+                    Arguments.of(new Negation(new Conjunction(F_N, new Negation(G_N))),
+                            new Disjunction(new Negation(F_N), G_N)),
+                    // ¬∀x¬∃y(Fx ∨ Gn) = ∃x∃y(Fx ∨ Gn)
+                    Arguments.of(new Negation(new UniversalQuantifier("x", new Negation(
+                                    new ExistentialQuantifier("y", new Disjunction(F_X, G_N))))),
+                            new ExistentialQuantifier("x", new ExistentialQuantifier("y",
+                                    new Disjunction(F_X, G_N)))),
+                    // ¬∃x(Fx ∧ ¬Fx) = ⊤
+                    Arguments.of(new Negation(new ExistentialQuantifier("x",
+                            new Conjunction(F_X, new Negation(F_X)))), Constant.TRUE)
+            );
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.exception.MissingSymbolException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolTableTest {
+
+    @Test
+    void testDenseIds() {
+        final SymbolTable symbols = new SymbolTable();
+        assertEquals(0, symbols.addAtom(new KPredicate("F", "n")));
+        assertEquals(1, symbols.addAtom(new KPredicate("G", List.of("m", "n"))));
+        assertEquals(0, symbols.addAtom(new KPredicate("F", "n")));
+        assertEquals(2, symbols.addAtom(new KPredicate("F", "x")));
+        assertEquals(3, symbols.getAtomCount());
+        assertEquals(List.of("F", "G"), List.of(symbols.getLetter(0), symbols.getLetter(1)));
+        // variables are not names
+        assertEquals(2, symbols.getNameCount());
+        assertEquals(1, symbols.getNameId("m"));
+        assertEquals(-1, symbols.getNameId("x"));
+        assertEquals(2, symbols.addName("a"));
+        assertEquals(new KPredicate("G", List.of("m", "n")), symbols.getAtom(1));
+        assertEquals(-1, symbols.getAtomId(new KPredicate("H", "n")));
+    }
+
+    @Test
+    void testFactoryAtoms() {
+        final FormulaFactory factory = new FormulaFactory();
+        final KPredicate f = factory.predicate("F", List.of("n"));
+        final KPredicate g = factory.predicate("G", List.of("n"));
+        assertEquals(0, f.getAtom());
+        assertEquals(1, g.getAtom());
+        assertSame(f, factory.predicate("F", List.of("n")));
+        assertEquals(1, factory.getSymbols().getAtomId(new KPredicate("G", "n")));
+        assertEquals(-1, new KPredicate("F", "n").getAtom());
+    }
+
+    @Test
+    void testFactoryAtomsAddedBefore() {
+        final FormulaFactory factory = new FormulaFactory();
+        final SymbolTable symbols = factory.getSymbols();
+        assertEquals(0, symbols.addAtom(new KPredicate("G", "n")));
+        assertEquals(1, symbols.addAtom(new KPredicate("F", "n")));
+        // the factory creates atoms which were added to its table before, and stamps them with their ids
+        final KPredicate f = factory.predicate("F", List.of("n"));
+        final KPredicate h = factory.predicate("H", List.of("n"));
+        assertEquals(1, f.getAtom());
+        assertEquals(1, symbols.getAtomId(f));
+        assertEquals(1, symbols.getAtomId(new KPredicate("F", "n")));
+        assertEquals(2, h.getAtom());
+        assertEquals(3, symbols.getAtomCount());
+        assertSame(f, symbols.getAtom(1));
+    }
+
+    @Test
+    void testValuate() throws ArisException {
+        // the valuation by ids agrees with the valuation by map
+        final FormulaFactory factory = new FormulaFactory();
+        final KPredicate f = factory.predicate("F", List.of("n"));
+        final KPredicate g = factory.predicate("G", List.of("n"));
+        final WellFormedFormula wff = factory.intern(new Conditional(new Negation(new Conjunction(f, g)),
+                new UniversalQuantifier("x", new Disjunction(g, f))));
+        for (int i = 0; i < 4; i++) {
+            final boolean[] values = {(i & 1) == 1, (i & 2) == 2};
+            final Map<KPredicate, Boolean> map = new HashMap<>(Map.of(f, values[0], g, values[1]));
+            assertEquals(wff.valuate(map), wff.valuate(factory.getSymbols(), values));
+        }
+        assertThrows(MissingSymbolException.class,
+                () -> new KPredicate("H", "n").valuate(factory.getSymbols(), new boolean[2]));
+    }
+}
@@ -0,0 +1,76 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TableauTest {
+
+    private static final KPredicate F_N = new KPredicate("F", "n");
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate G_N = new KPredicate("G", "n");
+    private static final KPredicate G_X = new KPredicate("G", "x");
+    private static final KPredicate H_N = new KPredicate("H", "n");
+
+    @Test
+    void testCounts() {
+        final Tableau tableau = new Tableau();
+        // Fn ∴ Fn closes the trunk
+        assertTrue(tableau.proves(List.of(F_N), F_N));
+        assertEquals(1, tableau.getBranches());
+        assertEquals(2, tableau.getNodes());
+        // (Fn ∨ Gn), ¬Fn ∴ Gn needs no branch, since ¬Fn closes the left alternative
+        assertTrue(tableau.proves(List.of(new Disjunction(F_N, G_N), new Negation(F_N)), G_N));
+        assertEquals(1, tableau.getBranches());
+        // (Fn ∨ Gn), (Fn → Hn), (Gn → Hn) ∴ Hn
+        assertTrue(tableau.proves(List.of(new Disjunction(F_N, G_N), new Conditional(F_N, H_N),
+                new Conditional(G_N, H_N)), H_N));
+        assertEquals(2, tableau.getBranches());
+        assertFalse(tableau.isBounded());
+        // (Fn ∨ Gn) ∴ Fn leaves the right branch open
+        assertFalse(tableau.proves(List.of(new Disjunction(F_N, G_N)), F_N));
+        assertEquals(1, tableau.getBranches());
+    }
+
+    @Test
+    void testQuantifiers() {
+        final Tableau tableau = new Tableau();
+        // ∀x(Fx → Gx), ∃xFx ∴ ∃xGx
+        assertTrue(tableau.proves(List.of(new UniversalQuantifier("x", new Conditional(F_X, G_X)),
+                new ExistentialQuantifier("x", F_X)), new ExistentialQuantifier("x", G_X)));
+        // ∃xFx, ∃xGx ∴ ∃x(Fx ∧ Gx) is invalid, and its open branch is complete
+        assertFalse(tableau.proves(List.of(new ExistentialQuantifier("x", F_X), new ExistentialQuantifier("x", G_X)),
+                new ExistentialQuantifier("x", new Conjunction(F_X, G_X))));
+        assertFalse(tableau.isBounded());
+        // ¬∃xFx ∴ ∀x¬Fx
+        assertTrue(tableau.proves(List.of(new Negation(new ExistentialQuantifier("x", F_X))),
+                new UniversalQuantifier("x", new Negation(F_X))));
+    }
+
+    @Test
+    void testBounded() {
+        // ∀x∃yLxy ∴ Fn needs a new name for each instance of the universal quantifier
+        final WellFormedFormula serial = new UniversalQuantifier("x", new ExistentialQuantifier("y",
+                new KPredicate("L", List.of("x", "y"))));
+        final Tableau tableau = new Tableau(4);
+        assertFalse(tableau.proves(List.of(serial), F_N));
+        assertTrue(tableau.isBounded());
+    }
+
+    @Test
+    void testSubstitute() {
+        // ∀x(Fx ∧ ∃xGx)[n/x] is (Fn ∧ ∃xGx)
+        final WellFormedFormula wff = new Conjunction(F_X, new ExistentialQuantifier("x", G_X));
+        assertEquals(new Conjunction(F_N, new ExistentialQuantifier("x", G_X)), Tableau.substitute(wff, "x", "n"));
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Tableau(0));
+        assertThrows(IllegalArgumentException.class, () -> new Tableau().proves(null, F_N));
+        assertThrows(UnsupportedOperationException.class,
+                () -> new Tableau().proves(List.of(new AtomicCondition(F_N)), F_N));
+    }
+}
@@ -0,0 +1,37 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValuationEnumeratorTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 5, 10})
+    void testNext(final int n) {
+        final ValuationEnumerator enumerator = new ValuationEnumerator(n);
+        final Set<Long> visited = new HashSet<>();
+        visited.add(encode(enumerator.getValues()));
+        int i;
+        while ((i = enumerator.next()) != -1) {
+            final long previous = encode(enumerator.getValues()) ^ (1L << i);
+            assertTrue(visited.contains(previous));
+            assertTrue(visited.add(encode(enumerator.getValues())));
+        }
+        assertEquals(1L << n, visited.size());
+    }
+
+    private static long encode(final boolean[] values) {
+        long l = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i]) {
+                l |= 1L << i;
+            }
+        }
+        return l;
+    }
+}
@@ -0,0 +1,66 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VariablesTest {
+
+    private static final KPredicate F_X = new KPredicate("F", "x");
+    private static final KPredicate G_Y = new KPredicate("G", "y");
+    private static final KPredicate L_XN = new KPredicate("L", List.of("x", "n"));
+
+    @ParameterizedTest
+    @ArgumentsSource(GetVariablesArgumentsProvider.class)
+    void testGetVariables(final WellFormedFormula wff, final Variables expected) {
+        assertEquals(expected, wff.getVariables());
+    }
+
+    @Test
+    void testGetVariablesIsCached() {
+        final WellFormedFormula wff = new UniversalQuantifier("x", new Conjunction(F_X, L_XN));
+        assertSame(wff.getVariables(), wff.getVariables());
+        assertThrows(UnsupportedOperationException.class, () -> wff.getVariables().free().add("z"));
+    }
+
+    @Test
+    void testVariablesFailsIllegalArgumentException() {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new Variables(null, Set.of(), Set.of()));
+        assertEquals("free, bound and names cannot be null", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Variables.of(null));
+    }
+
+    static class GetVariablesArgumentsProvider implements ArgumentsProvider {
+        @Override
+        public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+            return Stream.of(
+                    // Lxn
+                    Arguments.of(L_XN, new Variables(Set.of("x"), Set.of(), Set.of("n"))),
+                    // ⊤
+                    Arguments.of(Constant.TRUE, Variables.NONE),
+                    // ¬(Fx ∨ Gy)
+                    Arguments.of(new Negation(new Disjunction(F_X, G_Y)),
+                            new Variables(Set.of("x", "y"), Set.of(), Set.of())),
+                    // ∀x(Fx → Gy)
+                    Arguments.of(new UniversalQuantifier("x", new Conditional(F_X, G_Y)),
+                            new Variables(Set.of("y"), Set.of("x"), Set.of())),
+                    // (∃xFx ∧ Lxn), whose x is both bound and free
+                    Arguments.of(new Conjunction(new ExistentialQuantifier("x", F_X), L_XN),
+                            new Variables(Set.of("x"), Set.of("x"), Set.of("n"))),
+                    // ∀x∃y(Lxn ∧ Gy)
+                    Arguments.of(new UniversalQuantifier("x", new ExistentialQuantifier("y",
+                            new Conjunction(L_XN, G_Y))), new Variables(Set.of(), Set.of("x", "y"), Set.of("n")))
+            );
+        }
+    }
+}
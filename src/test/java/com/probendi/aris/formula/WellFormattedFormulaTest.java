@@ -29,10 +29,10 @@ public class WellFormattedFormulaTest {
     private static final Negation NOT_Q = new Negation(Q);
     private static final Disjunction DIS_NOT_P_NOT_Q = new Disjunction(NOT_P, NOT_Q);
 
-    static final Condition P_FALSE = new AtomicCondition(PRED_P).setFalse();
-    static final Condition P_TRUE = new AtomicCondition(PRED_P).setTrue();
-    static final Condition Q_FALSE = new AtomicCondition(PRED_Q).setFalse();
-    static final Condition Q_TRUE = new AtomicCondition(PRED_Q).setTrue();
+    static final Condition P_FALSE = AtomicCondition.valueOf(PRED_P, false);
+    static final Condition P_TRUE = AtomicCondition.valueOf(PRED_P, true);
+    static final Condition Q_FALSE = AtomicCondition.valueOf(PRED_Q, false);
+    static final Condition Q_TRUE = AtomicCondition.valueOf(PRED_Q, true);
 
     @ParameterizedTest
     @ArgumentsSource(ParseArgumentsProvider.class)
@@ -55,6 +55,26 @@ public class WellFormattedFormulaTest {
         assertEquals(expected, wff.valuate(values));
     }
 
+    @Test
+    void testConditionsAreShared() {
+        assertSame(AtomicCondition.valueOf(PRED_P, true), AtomicCondition.valueOf(PRED_P, true));
+        assertSame(AtomicCondition.valueOf(PRED_P, true), PRED_P.determineTruthnessConditions().get(0));
+        assertNotEquals(AtomicCondition.valueOf(PRED_P, true), AtomicCondition.valueOf(PRED_P, false));
+        final Conjunction conjunction = new Conjunction(PRED_P, PRED_Q);
+        assertSame(conjunction.determineFalsehoodConditions(), conjunction.determineFalsehoodConditions());
+        // the conditions of the conjunction share the literals of its operands
+        final BinaryCondition c = (BinaryCondition) conjunction.determineFalsehoodConditions().get(1);
+        assertSame(AtomicCondition.valueOf(PRED_P, false), c.c1());
+        assertSame(AtomicCondition.valueOf(PRED_Q, true), c.c2());
+        // deep nesting takes linear time
+        WellFormedFormula wff = PRED_P;
+        for (int i = 0; i < 1000; i++) {
+            wff = i % 2 == 0 ? new Conjunction(wff, PRED_Q) : new Disjunction(PRED_Q, wff);
+        }
+        assertEquals(3, wff.determineTruthnessConditions().size());
+        assertEquals(1, wff.determineFalsehoodConditions().size());
+    }
+
     @Test
     void testValuationFailsMissingSymbolException() {
         final Map<KPredicate, Boolean> values = Map.of(PRED_Q, true);
@@ -72,6 +92,13 @@ public class WellFormattedFormulaTest {
                             new LinkedList<>(List.of(NOT, PRED_F, N)),
                             new Negation(new KPredicate("F","n"))
                     ),
+                    // (Fn ∧ true)
+                    Arguments.of(
+                            new LinkedList<>(List.of(L_BRACKET, PRED_F, N, AND, new True(), R_BRACKET)),
+                            new Conjunction(new KPredicate("F", "n"), Constant.TRUE)
+                    ),
+                    // ¬false
+                    Arguments.of(new LinkedList<>(List.of(NOT, new False())), new Negation(Constant.FALSE)),
                     // (Fn ∧ Fo)
                     Arguments.of(
                             new LinkedList<>(List.of(L_BRACKET, PRED_F, N, AND, PRED_F, O, R_BRACKET)),
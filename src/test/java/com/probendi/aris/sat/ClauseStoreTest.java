@@ -0,0 +1,33 @@
+package com.probendi.aris.sat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClauseStoreTest {
+
+    @Test
+    void testAdd() {
+        final ClauseStore clauses = new ClauseStore();
+        clauses.add(1, -2);
+        clauses.add(-3);
+        assertEquals(2, clauses.size());
+        assertEquals(3, clauses.getVariables());
+        assertArrayEquals(new int[]{1, -2}, clauses.get(0));
+        assertArrayEquals(new int[]{-3}, clauses.get(1));
+    }
+
+    @Test
+    void testAddFailsIllegalArgumentException() {
+        final ClauseStore clauses = new ClauseStore();
+        clauses.add(1, -2);
+        assertThrows(IllegalArgumentException.class, () -> clauses.add((int[]) null));
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> clauses.add(7, 0, 3));
+        assertEquals("a literal cannot be 0", e.getMessage());
+        // a rejected clause leaves the store as it was
+        assertEquals(1, clauses.size());
+        assertEquals(2, clauses.getVariables());
+        clauses.add(-1);
+        assertArrayEquals(new int[]{-1}, clauses.get(1));
+    }
+}
@@ -0,0 +1,115 @@
+package com.probendi.aris.sat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 5, 6})
+    void testPigeonholes(final int holes) {
+        // n + 1 pigeons do not fit into n holes, while n pigeons do
+        assertFalse(pigeonholes(holes + 1, holes).solve());
+        final Solver solver = pigeonholes(holes, holes);
+        assertTrue(solver.solve());
+        for (int p = 0; p < holes; p++) {
+            int count = 0;
+            for (int h = 0; h < holes; h++) {
+                count += solver.value(p * holes + h + 1) ? 1 : 0;
+            }
+            assertTrue(count >= 1);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10})
+    void testRandomClauses(final int seed) {
+        final Random random = new Random(seed);
+        final int n = 12;
+        final List<int[]> clauses = new ArrayList<>();
+        final Solver solver = new Solver();
+        for (int i = 0; i < 55; i++) {
+            final int[] clause = new int[3];
+            for (int j = 0; j < clause.length; j++) {
+                clause[j] = (random.nextInt(n) + 1) * (random.nextBoolean() ? 1 : -1);
+            }
+            clauses.add(clause);
+            solver.addClause(clause);
+        }
+        final boolean expected = bruteForce(clauses, n);
+        assertEquals(expected, solver.solve());
+        if (expected) {
+            for (final int[] clause : clauses) {
+                boolean satisfied = false;
+                for (final int l : clause) {
+                    satisfied |= solver.value(Math.abs(l)) == l > 0;
+                }
+                assertTrue(satisfied);
+            }
+        }
+    }
+
+    @Test
+    void testAssumptions() {
+        final Solver solver = new Solver();
+        solver.addClause(1, 2);
+        solver.addClause(-1, 3);
+        assertTrue(solver.solve(-3));
+        assertFalse(solver.value(1));
+        assertTrue(solver.value(2));
+        assertFalse(solver.solve(-2, -3));
+        // the assumptions do not hold after the call
+        assertTrue(solver.solve());
+        solver.addClause(-2);
+        assertTrue(solver.solve());
+        assertTrue(solver.value(3));
+        solver.addClause(-3);
+        assertFalse(solver.solve());
+    }
+
+    private static Solver pigeonholes(final int pigeons, final int holes) {
+        final Solver solver = new Solver();
+        for (int p = 0; p < pigeons; p++) {
+            final int[] clause = new int[holes];
+            for (int h = 0; h < holes; h++) {
+                clause[h] = p * holes + h + 1;
+            }
+            solver.addClause(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    solver.addClause(-(p * holes + h + 1), -(q * holes + h + 1));
+                }
+            }
+        }
+        return solver;
+    }
+
+    private static boolean bruteForce(final List<int[]> clauses, final int n) {
+        for (int m = 0; m < 1 << n; m++) {
+            boolean all = true;
+            for (final int[] clause : clauses) {
+                boolean satisfied = false;
+                for (final int l : clause) {
+                    satisfied |= ((m >> (Math.abs(l) - 1)) & 1) == 1 == l > 0;
+                }
+                if (!satisfied) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+}